@@ -0,0 +1,79 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 계층 벤치마크
+ * 지연 없이(Throttle.NONE) 테이블 자체의 조회/저장 처리량을 측정합니다.
+ * storage 로 저장 방식을 비교하며, -prof gc 로 실행하면 호출당 할당량(gc.alloc.rate.norm)을 함께 볼 수 있습니다.
+ * selectPointById 는 충전/사용/이체가 사용하는, 레코드를 만들지 않고 포인트만 읽는 조회입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TableBenchmark {
+
+    @Param({"1024"})
+    private int userCount;
+
+    @Param({"HEAP", "PRIMITIVE", "OFF_HEAP"})
+    private StorageType storage;
+
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        userPointTable = new UserPointTable(Throttle.NONE, new UserPointStore(storage, userCount));
+        pointHistoryTable = new PointHistoryTable(Throttle.NONE, new PointHistoryStore(storage, userCount));
+        for (long id = 1; id <= userCount; id++) {
+            userPointTable.insertOrUpdate(id, 100L);
+        }
+    }
+
+    @Benchmark
+    public UserPoint userPointTable_selectById() {
+        return userPointTable.selectById(randomUserId());
+    }
+
+    @Benchmark
+    public long userPointTable_selectPointById() {
+        return userPointTable.selectPointById(randomUserId());
+    }
+
+    @Benchmark
+    public UserPoint userPointTable_insertOrUpdate() {
+        return userPointTable.insertOrUpdate(randomUserId(), 100L);
+    }
+
+    @Benchmark
+    public PointHistory pointHistoryTable_insert() {
+        return pointHistoryTable.insert(randomUserId(), 10L, TransactionType.CHARGE, 0L);
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.Throttle;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 재시작 복원 시간 벤치마크
+ * 사용자 수(userCount)를 바꿔 가며, 스냅샷을 불러오는 경우와 WAL 전체를 다시 읽는 경우의
+ * 복원 후 첫 조회까지의 시간을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StartupBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    private int userCount;
+
+    private Path replayDirectory;
+    private Path snapshotDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        replayDirectory = Files.createTempDirectory("wal-replay");
+        snapshotDirectory = Files.createTempDirectory("wal-snapshot");
+        write(replayDirectory).close();
+
+        WriteAheadLog wal = write(snapshotDirectory);
+        wal.compact();
+        wal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(replayDirectory);
+        delete(snapshotDirectory);
+    }
+
+    @Benchmark
+    public UserPoint startup_snapshot() {
+        return restore(snapshotDirectory);
+    }
+
+    @Benchmark
+    public UserPoint startup_replay() {
+        return restore(replayDirectory);
+    }
+
+    /**
+     * PointJournal 의 시작 과정과 같은 순서로 저장소를 복원한 뒤 임의의 사용자를 조회합니다.
+     */
+    private UserPoint restore(Path directory) {
+        UserPointStore userPointStore = new UserPointStore();
+        PointHistoryStore pointHistoryStore = new PointHistoryStore();
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE, userPointStore);
+        try (WriteAheadLog wal = WriteAheadLog.open(directory, SEGMENT_SIZE, FsyncPolicy.INTERVAL, Duration.ofMillis(10))) {
+            wal.snapshot().ifPresent(userPointStore::load);
+            wal.snapshot().ifPresent(pointHistoryStore::load);
+            wal.replay(entry -> {
+                for (WalEvent event : entry.events()) {
+                    userPointStore.restore(new UserPoint(event.userId(), event.balance(), event.updateMillis()));
+                    pointHistoryStore.restore(event.historyId(), event.userId(), event.amount(), event.type(), event.updateMillis());
+                }
+            });
+        }
+        return userPointTable.selectById(ThreadLocalRandom.current().nextLong(1, userCount + 1));
+    }
+
+    private WriteAheadLog write(Path directory) {
+        WriteAheadLog wal = WriteAheadLog.open(directory, SEGMENT_SIZE, FsyncPolicy.INTERVAL, Duration.ofMillis(10));
+        for (long userId = 1; userId <= userCount; userId++) {
+            wal.append(List.of(new WalEvent(userId, TransactionType.CHARGE, 100L, 100L, userId)));
+        }
+        return wal;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.Throttle;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 내역 조회 벤치마크
+ * 조회 대상 사용자의 내역 수(historySize)를 바꿔 가며 전체 조회와 페이지 조회 지연 시간을 측정합니다.
+ * 다른 사용자의 내역(otherUserHistorySize)이 조회 비용에 영향을 주지 않는지도 함께 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointHistoryBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    @Param({"10", "1000", "100000"})
+    private int historySize;
+
+    @Param({"0", "1000000"})
+    private int otherUserHistorySize;
+
+    private PointService pointService;
+    private PointHistoryQuery firstPage;
+
+    @Setup
+    public void setUp() {
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        for (int i = 0; i < historySize; i++) {
+            pointHistoryTable.insert(USER_ID, 10L, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+        for (int i = 0; i < otherUserHistorySize; i++) {
+            pointHistoryTable.insert(OTHER_USER_ID, 10L, TransactionType.CHARGE, i);
+        }
+        pointService = new PointService(new UserPointTable(Throttle.NONE), pointHistoryTable);
+        firstPage = new PointHistoryQuery(0, 20, TransactionType.USE, 0, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<PointHistory> getUserPointHistory() {
+        return pointService.getUserPointHistory(USER_ID);
+    }
+
+    @Benchmark
+    public PointHistoryPage getUserPointHistoryPage() {
+        return pointService.getUserPointHistoryPage(USER_ID, firstPage);
+    }
+}
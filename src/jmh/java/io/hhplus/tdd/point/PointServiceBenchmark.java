@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.Throttle;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 충전/사용/조회 벤치마크
+ * - chargeAndUse_hotUser : 모든 스레드가 한 사용자에게 충전/사용 요청
+ * - chargeAndUse_uniformUsers : userCount 명에게 고르게 충전/사용 요청
+ * - getUserPoint : userCount 명의 포인트 조회
+ * 테이블 지연은 throttleRatio 로 조절하며, 0 이면 지연 없이 서비스 코드만 측정합니다.
+ * engine 으로 사용자 락 방식(LOCK), CAS 방식(CAS), 샤드 방식(SHARDED)을 비교합니다.
+ * 내역이 계속 쌓이지 않도록 iteration 마다 테이블을 새로 만듭니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class PointServiceBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+    private static final long AMOUNT = 10L;
+
+    @Param({"0"})
+    private double throttleRatio;
+
+    @Param({"1024"})
+    private int userCount;
+
+    @Param({"LOCK", "CAS", "SHARDED"})
+    private PointProperties.EngineType engine;
+
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Throttle throttle = Throttle.scaled(throttleRatio);
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getEngine().setType(engine);
+        pointService = PointService.builder(new UserPointTable(throttle), new PointHistoryTable(throttle))
+                .pointProperties(pointProperties)
+                .build();
+        pointService.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        pointService.close();
+    }
+
+    @Benchmark
+    public UserPoint chargeAndUse_hotUser() {
+        pointService.chargeUserPoint(HOT_USER_ID, AMOUNT);
+        return pointService.useUserPoint(HOT_USER_ID, AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint chargeAndUse_uniformUsers() {
+        long id = randomUserId();
+        pointService.chargeUserPoint(id, AMOUNT);
+        return pointService.useUserPoint(id, AMOUNT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public UserPoint getUserPoint() {
+        return pointService.getUserPoint(randomUserId());
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1);
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PointMetrics 처리 중인 요청 수 기록 벤치마크
+ * 여러 스레드가 같은 사용자(hotUser)와 서로 다른 사용자(distinctUsers)의 요청 시작/종료를 기록하는 비용을 측정합니다.
+ * 측정기는 기록하지 않는 레지스트리로 만들어 처리 시간 기록을 빼고 처리 중인 요청 수 기록만 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class PointMetricsBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+
+    private final AtomicLong nextUserId = new AtomicLong(1_000L);
+    private PointMetrics pointMetrics;
+
+    @State(Scope.Thread)
+    public static class ThreadUser {
+
+        private long userId;
+
+        @Setup
+        public void setUp(PointMetricsBenchmark benchmark) {
+            userId = benchmark.nextUserId.getAndIncrement();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        pointMetrics = PointMetrics.noop();
+    }
+
+    @Benchmark
+    public void hotUser() {
+        long start = pointMetrics.enter(HOT_USER_ID);
+        pointMetrics.exit(PointMetrics.Operation.CHARGE, HOT_USER_ID, start);
+    }
+
+    @Benchmark
+    public void distinctUsers(ThreadUser user) {
+        long start = pointMetrics.enter(user.userId);
+        pointMetrics.exit(PointMetrics.Operation.CHARGE, user.userId, start);
+    }
+}
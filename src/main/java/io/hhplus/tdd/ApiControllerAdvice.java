@@ -1,12 +1,101 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.IdempotencyKeyMismatchException;
+import io.hhplus.tdd.point.admission.RateLimitExceededException;
+import io.hhplus.tdd.point.feed.ChangeCursorExpiredException;
+import io.hhplus.tdd.point.lock.UserLockBusyException;
+import io.hhplus.tdd.point.lock.UserLockTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    /**
+     * 요청 한도를 넘은 요청은 다시 요청할 수 있는 시각(초 단위 올림)을 Retry-After 헤더로 알려줍니다.
+     */
+    @ExceptionHandler(value = RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException e) {
+        long retryAfterSeconds = Math.max(1L, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    /**
+     * 같은 사용자의 요청이 몰려 락을 기다리지 못한 요청은 바로 429 로 거절합니다.
+     */
+    @ExceptionHandler(value = {UserLockBusyException.class, UserLockTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleUserLockRejected(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    /**
+     * 비동기 실행기나 샤드의 대기열이 가득 차거나 변경 이벤트 구독자 수가 최대에 도달해 받지 못한 요청은 바로 503 으로 거절합니다.
+     * 구독 요청(text/event-stream)에도 오류 내용을 보낼 수 있도록 JSON 으로 응답합니다.
+     */
+    @ExceptionHandler(value = RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("503", "처리할 수 있는 요청 수를 초과했습니다."));
+    }
+
+    /**
+     * 비동기 요청이 제한 시간({@code spring.mvc.async.request-timeout}) 안에 끝나지 않으면 503 으로 응답합니다.
+     * 충전/사용은 계속 처리되어 반영될 수 있으므로, 같은 Idempotency-Key 로 다시 요청하도록 안내합니다.
+     */
+    @Override
+    protected ResponseEntity<Object> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException e, HttpHeaders headers,
+                                                                        HttpStatusCode status, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("503", "요청 처리 시간이 초과되었습니다. 같은 Idempotency-Key 로 다시 요청해 주세요."));
+    }
+
+    /**
+     * 이미 받은 멱등 키로 종류나 금액이 다른 요청은 처리하지 않고 422 로 알립니다.
+     */
+    @ExceptionHandler(value = IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponse("422", e.getMessage()));
+    }
+
+    /**
+     * 이어서 받을 변경 이벤트가 이미 밀려난 커서는 410 으로 알려, 포인트를 다시 조회한 뒤 최신 커서부터 구독하게 합니다.
+     */
+    @ExceptionHandler(value = ChangeCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeCursorExpired(ChangeCursorExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("410", e.getMessage()));
+    }
+
+    /**
+     * 설정된 포인트 엔진에서 지원하지 않거나 꺼 둔 기능의 요청(CAS 방식의 이체, 집계, 변경 이벤트 등)은 501 로 알립니다.
+     */
+    @ExceptionHandler(value = UnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedOperation(UnsupportedOperationException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("501", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 ID 를 키로 하는 ConcurrentHashMap 에 레코드를 그대로 저장합니다.
+ */
+final class HeapUserPointMap implements UserPointMap {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint get(long id) {
+        return table.get(id);
+    }
+
+    @Override
+    public long getPoint(long id, long absent) {
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint.point() : absent;
+    }
+
+    @Override
+    public void put(UserPoint userPoint) {
+        table.put(userPoint.id(), userPoint);
+    }
+
+    @Override
+    public void putIfAbsent(UserPoint userPoint) {
+        table.putIfAbsent(userPoint.id(), userPoint);
+    }
+}
@@ -0,0 +1,234 @@
+package io.hhplus.tdd.database;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 키(long)를 박싱하지 않고 찾는 개방 주소법 해시 테이블
+ * 키는 값에서 keyOf 로 꺼내므로 항목 객체를 따로 만들지 않습니다.
+ * 조회는 락 없이 현재 배열을 선형 탐색하고, 새 항목 추가와 배열 확장만 세그먼트 락 안에서 처리합니다.
+ * 항목은 제자리에서 지우지 않고 다른 값으로 바꾸기만 하므로, 확장 중에 이전 배열을 읽어도 이미 있던 키는 찾을 수 있습니다.
+ * 항목을 지울 때는 남길 항목으로 새 배열을 만들어 바꾸므로, 이전 배열을 읽던 스레드는 지워진 값을 잠시 볼 수 있습니다.
+ * 내역 저장소의 사용자별 세그먼트와 CAS 엔진의 사용자별 포인트를 찾는 데 함께 사용합니다.
+ */
+public final class LongObjectMap<V> {
+
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_SHIFT;
+
+    private final ToLongFunction<V> keyOf;
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public LongObjectMap(int initialCapacity, ToLongFunction<V> keyOf) {
+        this.keyOf = keyOf;
+        this.segments = new Segment[SEGMENT_COUNT];
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity / SEGMENT_COUNT, 8) * 2 - 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(capacity);
+        }
+    }
+
+    public V get(long key) {
+        int hash = hash(key);
+        return segments[hash >>> (Integer.SIZE - SEGMENT_SHIFT)].get(key, hash, keyOf);
+    }
+
+    /**
+     * 키가 없으면 factory 로 만든 값을 추가하고, 이미 있으면 기존 값을 반환합니다.
+     * factory 는 세그먼트 락 안에서 호출됩니다.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        int hash = hash(key);
+        return segments[hash >>> (Integer.SIZE - SEGMENT_SHIFT)].computeIfAbsent(key, hash, factory, keyOf);
+    }
+
+    /**
+     * 값의 키가 없으면 추가하고, 이미 있으면 기존 값을 반환합니다.
+     * 값을 만드는 데 시간이 걸리면 세그먼트 락 밖에서 만든 뒤 이 메서드로 추가합니다.
+     */
+    public V putIfAbsent(V value) {
+        return computeIfAbsent(keyOf.applyAsLong(value), key -> value);
+    }
+
+    /**
+     * 키의 값이 expected 이면 value 로 바꿉니다. 다른 스레드가 먼저 바꾸었으면 바꾸지 않습니다.
+     *
+     * @return 호출을 마친 뒤 키의 값, 키가 없으면 null
+     */
+    public V replace(V expected, V value) {
+        long key = keyOf.applyAsLong(value);
+        int hash = hash(key);
+        return segments[hash >>> (Integer.SIZE - SEGMENT_SHIFT)].replace(key, hash, expected, value, keyOf);
+    }
+
+    /**
+     * filter 를 만족하는 값을 지웁니다. filter 는 세그먼트 락 안에서 호출되므로, 그동안 같은 세그먼트에 값이 추가되거나 바뀌지 않습니다.
+     *
+     * @return 지운 값의 수
+     */
+    public int removeIf(Predicate<? super V> filter) {
+        int removed = 0;
+        for (Segment<V> segment : segments) {
+            removed += segment.removeIf(filter, keyOf);
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * 키 목록을 복사해 반환합니다.
+     */
+    public Set<Long> keySet() {
+        Set<Long> keys = new HashSet<>();
+        for (Segment<V> segment : segments) {
+            AtomicReferenceArray<V> table = segment.table;
+            for (int i = 0; i < table.length(); i++) {
+                V value = table.get(i);
+                if (value != null) {
+                    keys.add(keyOf.applyAsLong(value));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Segment<V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile AtomicReferenceArray<V> table;
+        private volatile int size;
+
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+
+        V get(long key, int hash, ToLongFunction<V> keyOf) {
+            AtomicReferenceArray<V> current = table;
+            int mask = current.length() - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                V value = current.get(i);
+                if (value == null || keyOf.applyAsLong(value) == key) {
+                    return value;
+                }
+            }
+        }
+
+        V computeIfAbsent(long key, int hash, LongFunction<? extends V> factory, ToLongFunction<V> keyOf) {
+            lock.lock();
+            try {
+                V existing = get(key, hash, keyOf);
+                if (existing != null) {
+                    return existing;
+                }
+                V value = factory.apply(key);
+                if ((size + 1) * 2 > table.length()) {
+                    resize(keyOf);
+                }
+                insert(table, value, hash);
+                size++;
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        V replace(long key, int hash, V expected, V value, ToLongFunction<V> keyOf) {
+            lock.lock();
+            try {
+                AtomicReferenceArray<V> current = table;
+                int mask = current.length() - 1;
+                for (int i = hash & mask; ; i = (i + 1) & mask) {
+                    V existing = current.get(i);
+                    if (existing == null) {
+                        return null;
+                    }
+                    if (keyOf.applyAsLong(existing) == key) {
+                        if (existing == expected) {
+                            current.set(i, value);
+                            return value;
+                        }
+                        return existing;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int removeIf(Predicate<? super V> filter, ToLongFunction<V> keyOf) {
+            lock.lock();
+            try {
+                AtomicReferenceArray<V> current = table;
+                AtomicReferenceArray<V> rebuilt = null;
+                int removed = 0;
+                for (int i = 0; i < current.length(); i++) {
+                    V value = current.get(i);
+                    if (value != null && filter.test(value)) {
+                        if (rebuilt == null) {
+                            rebuilt = new AtomicReferenceArray<>(current.length());
+                            for (int j = 0; j < i; j++) {
+                                V kept = current.get(j);
+                                if (kept != null) {
+                                    insert(rebuilt, kept, hash(keyOf.applyAsLong(kept)));
+                                }
+                            }
+                        }
+                        removed++;
+                    } else if (value != null && rebuilt != null) {
+                        insert(rebuilt, value, hash(keyOf.applyAsLong(value)));
+                    }
+                }
+                if (rebuilt != null) {
+                    table = rebuilt;
+                    size -= removed;
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void resize(ToLongFunction<V> keyOf) {
+            AtomicReferenceArray<V> current = table;
+            AtomicReferenceArray<V> resized = new AtomicReferenceArray<>(current.length() * 2);
+            for (int i = 0; i < current.length(); i++) {
+                V value = current.get(i);
+                if (value != null) {
+                    insert(resized, value, hash(keyOf.applyAsLong(value)));
+                }
+            }
+            table = resized;
+        }
+
+        private static <V> void insert(AtomicReferenceArray<V> target, V value, int hash) {
+            int mask = target.length() - 1;
+            int i = hash & mask;
+            while (target.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            target.set(i, value);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.wal.PointSnapshot;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * 포인트 내역 저장소
+ * {@link PointHistoryTable} 이 저장하는 내역을 사용자별 세그먼트에 컬럼 단위(long[]/byte[])로 이어 붙여 저장합니다.
+ * 테이블의 공개 API 에 없는 페이지 조회, 복원과 스냅샷 불러오기는 테이블이 아닌 이 저장소에서 처리합니다.
+ * 사용자별 조회는 전체 내역이 아닌 해당 사용자의 내역 수에 비례하는 비용만 듭니다.
+ * 내역 ID 는 스레드 안전한 전역 커서로 발급합니다. 로그에 내역 ID 를 함께 기록할 수 있도록 내역을 추가하기 전에 ID 를 미리 발급해 둘 수 있으며,
+ * 미리 발급한 ID 는 해당 사용자의 내역이 추가될 때 발급한 순서대로 사용됩니다.
+ * 스냅샷을 불러오면 사용자의 내역을 처음 사용할 때 해당 사용자의 세그먼트를 스냅샷에서 만듭니다.
+ * 사용자별 세그먼트는 HEAP 방식이면 ConcurrentHashMap 으로, PRIMITIVE, OFF_HEAP 방식이면 박싱 없는 {@link LongObjectMap} 으로 찾습니다.
+ * 내역은 사용자마다 크기가 달라지며 늘어나므로 OFF_HEAP 방식에서도 힙의 배열에 저장합니다.
+ */
+@Component
+public class PointHistoryStore {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final SegmentIndex segmentMap;
+
+    // 재시작 시 불러온 스냅샷, 없으면 null
+    private volatile PointSnapshot snapshot;
+    // 스냅샷의 모든 사용자 세그먼트를 만들었는지 여부
+    private volatile boolean snapshotLoaded = false;
+
+    public PointHistoryStore() {
+        this(StorageType.HEAP, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param storageType 저장 방식
+     * @param initialCapacity PRIMITIVE, OFF_HEAP 방식에서 처음에 준비할 사용자 수
+     */
+    public PointHistoryStore(StorageType storageType, int initialCapacity) {
+        this.segmentMap = storageType == StorageType.HEAP
+                ? new HeapSegmentIndex()
+                : new PrimitiveSegmentIndex(initialCapacity);
+    }
+
+    @Autowired
+    public PointHistoryStore(PointProperties pointProperties) {
+        this(pointProperties.getStorage().getType(), pointProperties.getStorage().getInitialCapacity());
+    }
+
+    /**
+     * 테이블이 포인트 내역을 보관하는 저장소를 반환합니다.
+     */
+    public static PointHistoryStore of(PointHistoryTable pointHistoryTable) {
+        return pointHistoryTable.store();
+    }
+
+    /**
+     * 스냅샷의 포인트 내역을 불러옵니다. 스냅샷을 모두 읽지 않고, 사용자의 내역을 처음 사용할 때 해당 사용자의 내역만 읽어 옵니다.
+     * 내역 ID 는 스냅샷의 최대 내역 ID 다음부터 발급합니다. 저장소를 사용하기 전에 호출해야 합니다.
+     */
+    public void load(PointSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.snapshotLoaded = false;
+        cursor.accumulateAndGet(snapshot.maxHistoryId() + 1, Math::max);
+    }
+
+    /**
+     * 로그에 기록된 내역을 기록된 내역 ID 그대로 복원합니다. 재시작 시 로그에서 복원할 때 사용합니다.
+     * 이후에 발급하는 내역 ID 는 복원한 내역 ID 다음부터 시작합니다.
+     *
+     * @param historyId 기록된 내역 ID, 0 이면 새로 발급합니다
+     */
+    public PointHistory restore(long historyId, long userId, long amount, TransactionType type, long updateMillis) {
+        if (historyId <= 0) {
+            return append(userId, amount, type, updateMillis);
+        }
+        cursor.accumulateAndGet(historyId + 1, Math::max);
+        UserSegment segment = segmentMap.computeIfAbsent(userId, this::createSegment);
+        return segment.insert(historyId, userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 사용자의 다음 내역에 사용할 ID 를 미리 발급합니다.
+     * 미리 발급한 ID 는 해당 사용자의 내역이 추가될 때 발급한 순서대로 사용되므로,
+     * 같은 사용자에 대해서는 발급한 순서와 같은 순서로 내역을 추가해야 합니다.
+     */
+    public long reserve(long userId) {
+        UserSegment segment = segmentMap.computeIfAbsent(userId, this::createSegment);
+        return segment.reserve(cursor);
+    }
+
+    /**
+     * 미리 발급했지만 내역을 추가하지 않을 ID 를 돌려줍니다. 돌려준 ID 는 다시 발급하지 않습니다.
+     */
+    public void release(long userId, long historyId) {
+        UserSegment segment = segmentMap.get(userId);
+        if (segment != null) {
+            segment.release(historyId);
+        }
+    }
+
+    /**
+     * 사용자의 세그먼트 끝에 내역을 추가합니다.
+     * 같은 사용자의 내역은 추가된 순서대로 ID 가 증가하며, 미리 발급한 ID 가 있으면 그 ID 를 사용합니다.
+     */
+    PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        UserSegment segment = segmentMap.computeIfAbsent(userId, this::createSegment);
+        return segment.append(cursor, userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 사용자의 내역을 추가된 순서대로 반환합니다.
+     */
+    List<PointHistory> findAllByUserId(long userId) {
+        UserSegment segment = findSegment(userId);
+        if (segment == null) {
+            return List.of();
+        }
+        return segment.toList(userId);
+    }
+
+    /**
+     * 사용자의 내역 중 커서 이후에서 조건을 만족하는 내역을 최대 limit 개 반환합니다.
+     * 커서 위치는 이진 탐색으로 찾으므로 앞선 내역을 다시 읽지 않습니다.
+     */
+    public List<PointHistory> findByUserId(long userId, PointHistoryQuery query, int limit) {
+        UserSegment segment = findSegment(userId);
+        if (segment == null) {
+            return List.of();
+        }
+        return segment.slice(userId, query, limit);
+    }
+
+    /**
+     * 내역이 있는 사용자 ID 목록을 반환합니다.
+     * HEAP 방식은 복사하지 않은 읽기 전용 뷰이고 그 외 방식은 복사본이므로, 순회 중 추가된 사용자는 포함되지 않을 수 있습니다.
+     * 스냅샷을 불러왔다면 처음 호출할 때 스냅샷의 모든 사용자 세그먼트를 만듭니다.
+     */
+    public Set<Long> findAllUserIds() {
+        PointSnapshot current = snapshot;
+        if (current != null && !snapshotLoaded) {
+            current.forEachHistoryUserId(userId -> segmentMap.computeIfAbsent(userId, this::createSegment));
+            snapshotLoaded = true;
+        }
+        return segmentMap.userIds();
+    }
+
+    private UserSegment findSegment(long userId) {
+        UserSegment segment = segmentMap.get(userId);
+        PointSnapshot current = snapshot;
+        if (segment == null && current != null && current.historyCount(userId) > 0) {
+            segment = segmentMap.computeIfAbsent(userId, this::createSegment);
+        }
+        return segment;
+    }
+
+    private UserSegment createSegment(long userId) {
+        PointSnapshot current = snapshot;
+        return current == null ? new UserSegment(userId) : new UserSegment(current, userId);
+    }
+
+    /**
+     * 사용자 ID 로 세그먼트를 찾는 색인
+     */
+    private interface SegmentIndex {
+
+        UserSegment get(long userId);
+
+        UserSegment computeIfAbsent(long userId, LongFunction<UserSegment> factory);
+
+        Set<Long> userIds();
+    }
+
+    private static class HeapSegmentIndex implements SegmentIndex {
+
+        private final ConcurrentHashMap<Long, UserSegment> segments = new ConcurrentHashMap<>();
+
+        @Override
+        public UserSegment get(long userId) {
+            return segments.get(userId);
+        }
+
+        @Override
+        public UserSegment computeIfAbsent(long userId, LongFunction<UserSegment> factory) {
+            return segments.computeIfAbsent(userId, factory::apply);
+        }
+
+        @Override
+        public Set<Long> userIds() {
+            return Collections.unmodifiableSet(segments.keySet());
+        }
+    }
+
+    private static class PrimitiveSegmentIndex implements SegmentIndex {
+
+        private final LongObjectMap<UserSegment> segments;
+
+        PrimitiveSegmentIndex(int initialCapacity) {
+            this.segments = new LongObjectMap<>(initialCapacity, segment -> segment.userId);
+        }
+
+        @Override
+        public UserSegment get(long userId) {
+            return segments.get(userId);
+        }
+
+        @Override
+        public UserSegment computeIfAbsent(long userId, LongFunction<UserSegment> factory) {
+            return segments.computeIfAbsent(userId, factory);
+        }
+
+        @Override
+        public Set<Long> userIds() {
+            return Collections.unmodifiableSet(segments.keySet());
+        }
+    }
+
+    /**
+     * 한 사용자의 내역을 컬럼 단위 배열로 보관합니다.
+     * 가상 스레드가 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock 을 사용합니다.
+     */
+    private static class UserSegment {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final long userId;
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private long[] amounts = new long[INITIAL_CAPACITY];
+        private long[] updateMillis = new long[INITIAL_CAPACITY];
+        private byte[] types = new byte[INITIAL_CAPACITY];
+        private int size = 0;
+        // 미리 발급했지만 아직 내역이 추가되지 않은 ID, 발급한 순서대로 사용합니다
+        private final ArrayDeque<Long> reserved = new ArrayDeque<>();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        UserSegment(long userId) {
+            this.userId = userId;
+        }
+
+        /**
+         * 스냅샷에 저장된 사용자의 내역으로 세그먼트를 만듭니다.
+         */
+        UserSegment(PointSnapshot snapshot, long userId) {
+            this.userId = userId;
+            int capacity = Math.max(INITIAL_CAPACITY, snapshot.historyCount(userId));
+            ids = new long[capacity];
+            amounts = new long[capacity];
+            updateMillis = new long[capacity];
+            types = new byte[capacity];
+            snapshot.forEachHistory(userId, (id, amount, type, millis) -> {
+                ids[size] = id;
+                amounts[size] = amount;
+                updateMillis[size] = millis;
+                types[size] = (byte) type.ordinal();
+                size++;
+            });
+        }
+
+        PointHistory append(AtomicLong cursor, long userId, long amount, TransactionType type, long millis) {
+            lock.lock();
+            try {
+                Long reservedId = reserved.pollFirst();
+                return insert(reservedId != null ? reservedId : cursor.getAndIncrement(), userId, amount, type, millis);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        PointHistory insert(long id, long userId, long amount, TransactionType type, long millis) {
+            lock.lock();
+            try {
+                if (size == ids.length) {
+                    int capacity = ids.length * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    amounts = Arrays.copyOf(amounts, capacity);
+                    updateMillis = Arrays.copyOf(updateMillis, capacity);
+                    types = Arrays.copyOf(types, capacity);
+                }
+
+                ids[size] = id;
+                amounts[size] = amount;
+                updateMillis[size] = millis;
+                types[size] = (byte) type.ordinal();
+                size++;
+
+                return new PointHistory(id, userId, amount, type, millis);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long reserve(AtomicLong cursor) {
+            lock.lock();
+            try {
+                long id = cursor.getAndIncrement();
+                reserved.addLast(id);
+                return id;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long id) {
+            lock.lock();
+            try {
+                reserved.remove(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<PointHistory> toList(long userId) {
+            lock.lock();
+            try {
+                List<PointHistory> result = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    result.add(new PointHistory(ids[i], userId, amounts[i], TYPES[types[i]], updateMillis[i]));
+                }
+                return Collections.unmodifiableList(result);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<PointHistory> slice(long userId, PointHistoryQuery query, int limit) {
+            lock.lock();
+            try {
+                int from = Arrays.binarySearch(ids, 0, size, query.cursor());
+                from = from >= 0 ? from + 1 : -(from + 1);
+
+                List<PointHistory> result = new ArrayList<>(Math.min(limit, size - from));
+                for (int i = from; i < size && result.size() < limit; i++) {
+                    TransactionType type = TYPES[types[i]];
+                    if (query.matches(type, updateMillis[i])) {
+                        result.add(new PointHistory(ids[i], userId, amounts[i], type, updateMillis[i]));
+                    }
+                }
+                return Collections.unmodifiableList(result);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
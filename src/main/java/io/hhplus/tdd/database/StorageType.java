@@ -0,0 +1,11 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 테이블 저장 방식
+ * - HEAP : 사용자 ID(Long)를 키로 하는 ConcurrentHashMap 에 레코드를 저장
+ * - PRIMITIVE : 사용자 ID(long)를 박싱하지 않는 개방 주소법 배열에 포인트를 컬럼 단위로 저장
+ * - OFF_HEAP : PRIMITIVE 와 같되, 사용자 포인트 컬럼을 힙 밖(direct buffer)에 저장
+ */
+public enum StorageType {
+    HEAP, PRIMITIVE, OFF_HEAP
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 호출마다 발생하는 지연을 흉내 냅니다.
+ * 기본값은 0 ~ 최대 지연 시간 사이의 임의 시간만큼 대기하며, 벤치마크에서는 비율을 낮추거나 지연을 없앨 수 있습니다.
+ */
+@FunctionalInterface
+public interface Throttle {
+
+    /**
+     * 최대 지연 시간 그대로 임의 시간만큼 대기합니다.
+     */
+    Throttle RANDOM = scaled(1.0);
+
+    /**
+     * 대기하지 않습니다.
+     */
+    Throttle NONE = millis -> {
+    };
+
+    /**
+     * @param maxMillis 최대 지연 시간(ms)
+     */
+    void sleep(long maxMillis);
+
+    /**
+     * 최대 지연 시간에 비율을 곱한 범위에서 임의 시간만큼 대기합니다.
+     *
+     * @param ratio 최대 지연 시간에 곱할 비율, 0 이면 대기하지 않습니다
+     */
+    static Throttle scaled(double ratio) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("지연 비율은 0 이상이어야 합니다.");
+        }
+        if (ratio == 0) {
+            return NONE;
+        }
+        return maxMillis -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep((long) (ThreadLocalRandom.current().nextDouble() * maxMillis * ratio));
+            } catch (InterruptedException ignored) {
+
+            }
+        };
+    }
+}
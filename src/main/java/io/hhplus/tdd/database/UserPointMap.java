@@ -0,0 +1,37 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 ID 로 사용자 포인트를 찾는 맵
+ * {@link UserPointStore} 가 저장 방식({@link StorageType})에 따라 구현을 골라 사용합니다.
+ */
+interface UserPointMap {
+
+    /**
+     * @return 저장된 사용자 포인트, 없으면 null
+     */
+    UserPoint get(long id);
+
+    /**
+     * 사용자 포인트 레코드를 만들지 않고 포인트만 읽습니다.
+     *
+     * @return 저장된 포인트, 없으면 absent
+     */
+    long getPoint(long id, long absent);
+
+    void put(UserPoint userPoint);
+
+    /**
+     * 사용자가 없을 때만 저장합니다.
+     */
+    void putIfAbsent(UserPoint userPoint);
+
+    static UserPointMap create(StorageType type, int initialCapacity) {
+        return switch (type) {
+            case HEAP -> new HeapUserPointMap();
+            case PRIMITIVE -> new PrimitiveUserPointMap(initialCapacity, false);
+            case OFF_HEAP -> new PrimitiveUserPointMap(initialCapacity, true);
+        };
+    }
+}
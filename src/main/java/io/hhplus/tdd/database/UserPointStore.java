@@ -0,0 +1,120 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.wal.PointSnapshot;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 포인트 저장소
+ * {@link UserPointTable} 이 읽고 쓰는 사용자 포인트를 저장 방식({@link StorageType})에 따른 {@link UserPointMap} 에 보관합니다.
+ * 테이블의 공개 API 에 없는 복원과 스냅샷 불러오기는 테이블이 아닌 이 저장소에서 처리합니다.
+ */
+@Component
+public class UserPointStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    // 포인트는 0 이상이므로 저장소에 없는 사용자를 나타내는 데 사용합니다
+    private static final long ABSENT = -1L;
+
+    private final UserPointMap table;
+
+    // 재시작 시 불러온 스냅샷, 저장소에 없는 사용자는 처음 조회할 때 스냅샷에서 읽어 옵니다
+    private volatile PointSnapshot snapshot;
+
+    public UserPointStore() {
+        this(StorageType.HEAP, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param storageType 저장 방식
+     * @param initialCapacity PRIMITIVE, OFF_HEAP 방식에서 처음에 준비할 사용자 수
+     */
+    public UserPointStore(StorageType storageType, int initialCapacity) {
+        this.table = UserPointMap.create(storageType, initialCapacity);
+    }
+
+    @Autowired
+    public UserPointStore(PointProperties pointProperties) {
+        this(pointProperties.getStorage().getType(), pointProperties.getStorage().getInitialCapacity());
+    }
+
+    /**
+     * 테이블이 사용자 포인트를 보관하는 저장소를 반환합니다.
+     */
+    public static UserPointStore of(UserPointTable userPointTable) {
+        return userPointTable.store();
+    }
+
+    /**
+     * 테이블과 같은 호출 지연을 적용한 뒤, 사용자 포인트 레코드를 만들지 않고 포인트만 읽습니다.
+     * 테이블의 공개 API 에는 없는 조회이므로 저장소에서 제공합니다.
+     *
+     * @return 저장된 포인트, 없으면 0
+     */
+    public static long selectPoint(UserPointTable userPointTable, long id) {
+        return userPointTable.selectPointById(id);
+    }
+
+    /**
+     * 저장된 사용자 포인트를 그대로 복원합니다. 재시작 시 로그에서 복원할 때 사용합니다.
+     */
+    public void restore(UserPoint userPoint) {
+        table.put(userPoint);
+    }
+
+    /**
+     * 스냅샷의 사용자 포인트를 불러옵니다. 스냅샷을 모두 읽지 않고, 사용자를 처음 조회할 때 해당 사용자만 읽어 옵니다.
+     * 저장소를 사용하기 전에 호출해야 합니다.
+     */
+    public void load(PointSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * 저장된 사용자 포인트를 테이블 호출 지연 없이 읽습니다.
+     *
+     * @return 저장된 사용자 포인트, 없으면 null
+     */
+    public UserPoint get(long id) {
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint : loadFromSnapshot(id);
+    }
+
+    /**
+     * 저장된 사용자 포인트를 테이블 호출 지연 없이, 사용자 포인트 레코드를 만들지 않고 읽습니다.
+     *
+     * @return 저장된 포인트, 없으면 0
+     */
+    public long getPoint(long id) {
+        long point = table.getPoint(id, ABSENT);
+        if (point != ABSENT) {
+            return point;
+        }
+        UserPoint userPoint = loadFromSnapshot(id);
+        return userPoint != null ? userPoint.point() : 0L;
+    }
+
+    void put(UserPoint userPoint) {
+        table.put(userPoint);
+    }
+
+    /**
+     * 저장소에 없는 사용자를 스냅샷에서 읽어 옵니다. 그사이 저장된 포인트가 있으면 덮어쓰지 않습니다.
+     *
+     * @return 저장된 사용자 포인트, 스냅샷에도 없으면 null
+     */
+    private UserPoint loadFromSnapshot(long id) {
+        PointSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        UserPoint userPoint = current.findUserPoint(id);
+        if (userPoint != null) {
+            table.putIfAbsent(userPoint);
+        }
+        return table.get(id);
+    }
+}
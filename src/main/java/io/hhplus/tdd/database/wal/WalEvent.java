@@ -0,0 +1,39 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * WAL 에 기록되는 충전/사용 이벤트
+ *
+ * @param userId 사용자의 고유 식별자
+ * @param type 트랜잭션 종류
+ * @param amount 충전/사용 금액
+ * @param balance 이벤트가 반영된 후의 포인트
+ * @param updateMillis 포인트가 변경된 시각
+ * @param historyId 이벤트로 저장될 포인트 내역 ID, 정하지 않았으면 0
+ */
+public record WalEvent(
+        long userId,
+        TransactionType type,
+        long amount,
+        long balance,
+        long updateMillis,
+        long historyId
+) {
+
+    static final int BYTES = Long.BYTES + Byte.BYTES + Long.BYTES * 4;
+
+    /**
+     * 내역 ID 를 정하지 않은 이벤트를 만듭니다. 복원하거나 스냅샷에 합칠 때 내역 ID 를 새로 발급합니다.
+     */
+    public WalEvent(long userId, TransactionType type, long amount, long balance, long updateMillis) {
+        this(userId, type, amount, balance, updateMillis, 0L);
+    }
+
+    /**
+     * 내역 ID 를 정한 이벤트를 반환합니다.
+     */
+    public WalEvent withHistoryId(long historyId) {
+        return new WalEvent(userId, type, amount, balance, updateMillis, historyId);
+    }
+}
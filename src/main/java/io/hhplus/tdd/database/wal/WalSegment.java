@@ -0,0 +1,204 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑된 WAL 세그먼트 파일
+ * 기록은 [본문 길이(int)][CRC32C(int)][순번(long)][이벤트 수(int)][이벤트...] 형식으로 이어 붙입니다.
+ * 이벤트는 사용자 ID(long), 트랜잭션 종류(byte), 금액(long), 포인트(long), 변경 시각(long), 내역 ID(long) 순서입니다.
+ * 파일은 생성 시 고정 크기로 만들어지며 빈 공간은 0 으로 채워져 있으므로, 길이가 0 인 위치가 기록의 끝입니다.
+ */
+final class WalSegment implements Closeable {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int BODY_HEADER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final ByteBuffer ZEROS = ByteBuffer.allocate(64 * 1024).asReadOnlyBuffer();
+
+    private final Path path;
+    private final long firstSeq;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int position;
+
+    private WalSegment(Path path, long firstSeq, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSeq = firstSeq;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 새 세그먼트 파일을 만듭니다.
+     */
+    static WalSegment create(Path directory, long firstSeq, int size) throws IOException {
+        Path path = directory.resolve(fileName(firstSeq));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new WalSegment(path, firstSeq, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * 기존 세그먼트 파일을 엽니다. 기록 위치는 {@link #scan(Consumer)} 으로 찾습니다.
+     */
+    static WalSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new WalSegment(path, parseFirstSeq(path), channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+    }
+
+    static String fileName(long firstSeq) {
+        return String.format("%020d.wal", firstSeq);
+    }
+
+    static boolean isSegment(Path path) {
+        return path.getFileName().toString().matches("\\d{20}\\.wal");
+    }
+
+    private static long parseFirstSeq(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - ".wal".length()));
+    }
+
+    static int entryBytes(int eventCount) {
+        return HEADER_BYTES + BODY_HEADER_BYTES + WalEvent.BYTES * eventCount;
+    }
+
+    long firstSeq() {
+        return firstSeq;
+    }
+
+    int position() {
+        return position;
+    }
+
+    boolean hasRoom(int bytes) {
+        return buffer.capacity() - position >= bytes;
+    }
+
+    /**
+     * 세그먼트 끝에 기록을 추가합니다. 남은 공간은 {@link #hasRoom(int)} 으로 먼저 확인해야 합니다.
+     * 본문과 CRC 를 먼저 쓰고 길이를 마지막에 써서, 길이가 기록된 위치는 본문도 기록된 상태가 되도록 합니다.
+     */
+    void append(long seq, List<WalEvent> events) {
+        int bodyOffset = position + HEADER_BYTES;
+        int offset = bodyOffset;
+        buffer.putLong(offset, seq);
+        buffer.putInt(offset + Long.BYTES, events.size());
+        offset += BODY_HEADER_BYTES;
+        for (WalEvent event : events) {
+            buffer.putLong(offset, event.userId());
+            buffer.put(offset + 8, (byte) event.type().ordinal());
+            buffer.putLong(offset + 9, event.amount());
+            buffer.putLong(offset + 17, event.balance());
+            buffer.putLong(offset + 25, event.updateMillis());
+            buffer.putLong(offset + 33, event.historyId());
+            offset += WalEvent.BYTES;
+        }
+
+        int bodyLength = offset - bodyOffset;
+        buffer.putInt(position + Integer.BYTES, checksum(bodyOffset, bodyLength));
+        buffer.putInt(position, bodyLength);
+        position = offset;
+    }
+
+    /**
+     * 처음부터 유효한 기록을 순서대로 읽습니다.
+     * 길이가 0 이거나 CRC 가 맞지 않는 기록(쓰다가 중단된 기록)을 만나면 멈추고, 그 위치를 다음 기록 위치로 사용합니다.
+     *
+     * @return 마지막으로 읽은 기록의 순번, 기록이 없으면 firstSeq - 1
+     */
+    long scan(Consumer<WalEntry> consumer) {
+        long[] lastSeq = {firstSeq - 1};
+        position = read(Long.MAX_VALUE, entry -> {
+            consumer.accept(entry);
+            lastSeq[0] = entry.seq();
+        });
+        return lastSeq[0];
+    }
+
+    /**
+     * 처음부터 maxSeq 까지의 기록을 순서대로 읽습니다. 기록 위치는 바꾸지 않으므로 기록 중인 세그먼트도 읽을 수 있습니다.
+     * maxSeq 까지 읽으면 다음 기록은 읽지 않으므로, 읽는 동안 추가되는 기록과 겹치지 않습니다.
+     *
+     * @return 마지막으로 읽은 기록의 다음 위치
+     */
+    int read(long maxSeq, Consumer<WalEntry> consumer) {
+        int offset = 0;
+        long seq = firstSeq - 1;
+        while (seq < maxSeq && buffer.capacity() - offset >= HEADER_BYTES) {
+            int bodyLength = buffer.getInt(offset);
+            if (bodyLength < BODY_HEADER_BYTES || bodyLength > buffer.capacity() - offset - HEADER_BYTES) {
+                break;
+            }
+            int bodyOffset = offset + HEADER_BYTES;
+            if (buffer.getInt(offset + Integer.BYTES) != checksum(bodyOffset, bodyLength)) {
+                break;
+            }
+
+            seq = buffer.getLong(bodyOffset);
+            int count = buffer.getInt(bodyOffset + Long.BYTES);
+            List<WalEvent> events = new ArrayList<>(count);
+            int eventOffset = bodyOffset + BODY_HEADER_BYTES;
+            for (int i = 0; i < count; i++) {
+                events.add(new WalEvent(
+                        buffer.getLong(eventOffset),
+                        TYPES[buffer.get(eventOffset + 8)],
+                        buffer.getLong(eventOffset + 9),
+                        buffer.getLong(eventOffset + 17),
+                        buffer.getLong(eventOffset + 25),
+                        buffer.getLong(eventOffset + 33)
+                ));
+                eventOffset += WalEvent.BYTES;
+            }
+            consumer.accept(new WalEntry(seq, events));
+
+            offset = bodyOffset + bodyLength;
+        }
+        return offset;
+    }
+
+    /**
+     * 마지막으로 읽은 기록 이후를 0 으로 지웁니다. 쓰다가 중단된 기록이 남아 있으면 그 위치부터 다시 기록합니다.
+     */
+    void truncateTail() {
+        for (int offset = position; offset < buffer.capacity(); offset += ZEROS.capacity()) {
+            int length = Math.min(ZEROS.capacity(), buffer.capacity() - offset);
+            if (buffer.slice(offset, length).mismatch(ZEROS.slice(0, length)) >= 0) {
+                buffer.put(offset, ZEROS, 0, length);
+            }
+        }
+    }
+
+    /**
+     * 세그먼트에 기록된 내용을 디스크에 씁니다.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
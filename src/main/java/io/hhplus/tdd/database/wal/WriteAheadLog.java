@@ -0,0 +1,500 @@
+package io.hhplus.tdd.database.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 충전/사용 이벤트를 기록하는 추가 전용 로그(Write-Ahead Log)
+ * 기록은 메모리 매핑된 고정 크기 세그먼트 파일에 순서대로 이어 붙이며, 세그먼트가 가득 차면 다음 세그먼트를 만듭니다.
+ * {@link #compact()} 는 이전 스냅샷에 이후의 기록을 합쳐 {@link PointSnapshot} 을 쓰고, 스냅샷에 모두 반영된 세그먼트를 지웁니다.
+ * 스냅샷은 모든 사용자의 포인트와 내역을 다시 쓰므로, 호출하는 쪽은 {@link #sizeSinceSnapshot()} 이 충분히 커졌을 때만 호출합니다.
+ * 재시작 시에는 스냅샷을 열고 스냅샷 이후의 기록만 다시 읽으므로, 시작 시간은 전체 기록 수가 아닌 마지막 스냅샷 이후의 기록 수에 비례합니다.
+ * 디스크 기록(fsync) 시점은 {@link FsyncPolicy} 로 정합니다.
+ * 디스크 기록이 한 번이라도 실패하면 디스크에 남았는지 알 수 없는 기록이 생기므로, 기다리던 기록과 이후의 기록을 모두 실패시킵니다.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long syncIntervalNanos;
+    // 세그먼트를 디스크에 기록합니다, 테스트에서 기록 실패를 흉내 낼 때 바꿉니다
+    private final Consumer<WalSegment> forcer;
+
+    private final List<WalSegment> segments = new ArrayList<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final ReentrantLock compactLock = new ReentrantLock();
+    private final Condition pending = stateLock.newCondition();
+    private final Condition synced = stateLock.newCondition();
+
+    // 마지막 스냅샷, 없으면 null
+    private volatile PointSnapshot snapshot;
+
+    private WalSegment active;
+    private long lastSeq;
+    // 세그먼트를 이어 붙인 전체 로그 기준의 기록 위치와 디스크에 기록된 위치
+    private long activeBase;
+    private volatile long writtenPosition;
+    private volatile long syncedPosition;
+    // 마지막 스냅샷에 반영된 기록의 끝 위치
+    private volatile long compactedPosition;
+    // 디스크 기록에 실패한 원인, 실패한 적이 없으면 null
+    private volatile RuntimeException syncFailure;
+
+    private volatile boolean running = true;
+    // 닫힌 뒤에는 기록을 받지 않습니다, appendLock 을 획득한 상태에서 변경합니다
+    private boolean closed = false;
+    private final Thread syncer;
+
+    private WriteAheadLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration syncInterval,
+                          Consumer<WalSegment> forcer) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.forcer = forcer;
+        this.syncer = fsyncPolicy == FsyncPolicy.ALWAYS ? null : new Thread(this::syncLoop, "point-wal-sync");
+    }
+
+    /**
+     * 로그를 열고 마지막 스냅샷과 다음 기록 위치를 찾습니다. 스냅샷 이후의 기록은 {@link #replay(Consumer)} 로 읽습니다.
+     * 마지막 세그먼트 끝의 쓰다가 중단된 기록은 지우고 그 위치부터 다시 기록합니다.
+     *
+     * @param directory 세그먼트와 스냅샷을 저장할 디렉터리
+     * @param segmentSize 세그먼트 파일 크기(byte)
+     * @param fsyncPolicy 디스크 기록 시점
+     * @param syncInterval GROUP 에서는 기록이 없을 때 대기하는 최대 시간, INTERVAL 에서는 디스크 기록 주기
+     * @throws IllegalStateException 마지막 세그먼트가 아닌 세그먼트가 손상되었거나, 스냅샷 이후의 기록이 없는 경우
+     */
+    public static WriteAheadLog open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration syncInterval) {
+        return open(directory, segmentSize, fsyncPolicy, syncInterval, WalSegment::force);
+    }
+
+    static WriteAheadLog open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration syncInterval,
+                              Consumer<WalSegment> forcer) {
+        if (segmentSize < WalSegment.entryBytes(2)) {
+            throw new IllegalArgumentException("세그먼트 크기가 너무 작습니다.");
+        }
+        try {
+            Files.createDirectories(directory);
+            WriteAheadLog wal = new WriteAheadLog(directory, segmentSize, fsyncPolicy, syncInterval, forcer);
+            wal.recover();
+            if (wal.syncer != null) {
+                wal.syncer.setDaemon(true);
+                wal.syncer.start();
+            }
+            return wal;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recover() throws IOException {
+        snapshot = PointSnapshot.readLatest(directory).orElse(null);
+        long snapshotSeq = snapshot == null ? 0 : snapshot.seq();
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(WalSegment::isSegment).sorted().toList();
+        }
+
+        for (Path path : paths) {
+            WalSegment segment = WalSegment.open(path);
+            if (segments.isEmpty() ? segment.firstSeq() > snapshotSeq + 1 : segment.firstSeq() != lastSeq + 1) {
+                segment.close();
+                throw new IllegalStateException("WAL 세그먼트가 손상되었습니다. path=" + path);
+            }
+            segments.add(segment);
+            lastSeq = segment.scan(entry -> {});
+        }
+
+        if (segments.isEmpty()) {
+            lastSeq = snapshotSeq;
+            active = WalSegment.create(directory, snapshotSeq + 1, segmentSize);
+            segments.add(active);
+        } else {
+            active = segments.get(segments.size() - 1);
+            active.truncateTail();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                activeBase += segmentSize(segments.get(i));
+            }
+        }
+        if (lastSeq < snapshotSeq) {
+            throw new IllegalStateException("스냅샷 이후의 WAL 기록이 없습니다. snapshotSeq=" + snapshotSeq + ", lastSeq=" + lastSeq);
+        }
+        writtenPosition = activeBase + active.position();
+        syncedPosition = writtenPosition;
+    }
+
+    /**
+     * 이벤트를 하나의 기록으로 추가합니다. 기록의 이벤트는 함께 저장되거나 함께 유실됩니다.
+     * ALWAYS, GROUP 에서는 기록이 디스크에 기록된 뒤 반환합니다.
+     *
+     * @return 추가된 기록의 순번
+     * @throws IllegalStateException 로그가 닫혔거나, 디스크 기록에 실패한 경우
+     */
+    public long append(List<WalEvent> events) {
+        int bytes = WalSegment.entryBytes(events.size());
+        if (bytes > segmentSize) {
+            throw new IllegalArgumentException("한 기록의 이벤트가 너무 많습니다. size=" + events.size());
+        }
+
+        long seq;
+        long position;
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("WAL 이 닫혔습니다.");
+            }
+            checkSynced();
+            if (!active.hasRoom(bytes)) {
+                roll();
+            }
+            seq = ++lastSeq;
+            active.append(seq, events);
+            position = activeBase + active.position();
+            writtenPosition = position;
+        } finally {
+            appendLock.unlock();
+        }
+
+        switch (fsyncPolicy) {
+            case ALWAYS -> sync();
+            case GROUP -> awaitSynced(position);
+            case INTERVAL -> {
+            }
+        }
+        return seq;
+    }
+
+    /**
+     * 마지막 기록의 순번을 반환합니다.
+     */
+    public long lastSeq() {
+        appendLock.lock();
+        try {
+            return lastSeq;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 스냅샷을 반환합니다.
+     */
+    public Optional<PointSnapshot> snapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * 마지막 스냅샷 이후 추가된 기록의 크기(byte)를 반환합니다. 재시작하면 남아 있는 세그먼트의 기록을 모두 셉니다.
+     */
+    public long sizeSinceSnapshot() {
+        return Math.max(0L, writtenPosition - compactedPosition);
+    }
+
+    /**
+     * 마지막 스냅샷 이후의 기록을 순서대로 전달합니다.
+     *
+     * @return 전달한 기록 수
+     */
+    public long replay(Consumer<WalEntry> consumer) {
+        PointSnapshot current = snapshot;
+        long[] count = {0};
+        read(current == null ? 0 : current.seq(), lastSeq(), entry -> {
+            consumer.accept(entry);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * 마지막 스냅샷에 이후의 기록을 합쳐 새 스냅샷을 쓰고, 스냅샷에 모두 반영된 세그먼트를 지웁니다.
+     * 기록 중인 세그먼트가 모두 반영되었으면 새 세그먼트로 바꾸어 함께 지웁니다.
+     * 스냅샷에 합칠 기록은 먼저 디스크에 기록하므로, 스냅샷에는 디스크에 기록된 기록만 반영됩니다.
+     *
+     * @return 스냅샷에 반영된 마지막 순번
+     */
+    public long compact() {
+        compactLock.lock();
+        try {
+            long seq;
+            long position;
+            appendLock.lock();
+            try {
+                seq = lastSeq;
+                position = writtenPosition;
+            } finally {
+                appendLock.unlock();
+            }
+            sync();
+
+            PointSnapshot base = snapshot;
+            long baseSeq = base == null ? 0 : base.seq();
+            if (seq > baseSeq) {
+                List<WalEntry> entries = new ArrayList<>();
+                read(baseSeq, seq, entries::add);
+                snapshot = PointSnapshot.write(directory, base, seq, entries);
+            }
+            compactedPosition = position;
+            deleteSegments(seq);
+            return seq;
+        } finally {
+            compactLock.unlock();
+        }
+    }
+
+    /**
+     * 새 기록을 더 받지 않고, 지금까지 추가된 기록을 디스크에 기록한 뒤 세그먼트를 닫습니다.
+     * 닫기 전에 추가된 기록은 모두 디스크에 기록되므로, 디스크 기록을 기다리던 기록도 반환됩니다.
+     * 디스크 기록에 실패한 로그는 다시 기록하지 않고 세그먼트만 닫습니다.
+     */
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        running = false;
+        if (syncer != null) {
+            stateLock.lock();
+            try {
+                pending.signalAll();
+            } finally {
+                stateLock.unlock();
+            }
+            try {
+                syncer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (syncFailure == null) {
+                sync();
+            }
+        } finally {
+            closeSegments();
+        }
+    }
+
+    private void closeSegments() {
+        appendLock.lock();
+        try {
+            for (WalSegment segment : segments) {
+                segment.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * afterSeq 이후부터 toSeq 까지의 기록을 순서대로 전달합니다.
+     */
+    private void read(long afterSeq, long toSeq, Consumer<WalEntry> consumer) {
+        List<WalSegment> targets;
+        appendLock.lock();
+        try {
+            targets = List.copyOf(segments);
+        } finally {
+            appendLock.unlock();
+        }
+
+        for (int i = 0; i < targets.size(); i++) {
+            WalSegment segment = targets.get(i);
+            boolean covered = i + 1 < targets.size() && targets.get(i + 1).firstSeq() - 1 <= afterSeq;
+            if (covered || segment.firstSeq() > toSeq) {
+                continue;
+            }
+            segment.read(toSeq, entry -> {
+                if (entry.seq() > afterSeq) {
+                    consumer.accept(entry);
+                }
+            });
+        }
+    }
+
+    /**
+     * seq 까지의 기록만 담긴 세그먼트를 닫고 지웁니다.
+     */
+    private void deleteSegments(long seq) {
+        appendLock.lock();
+        try {
+            if (lastSeq == seq && active.position() > 0) {
+                roll();
+                // 이전 세그먼트의 남은 공간은 스냅샷 이후의 기록이 아닙니다
+                compactedPosition = activeBase;
+            }
+
+            while (segments.size() > 1 && segments.get(1).firstSeq() - 1 <= seq) {
+                WalSegment segment = segments.remove(0);
+                segment.close();
+                Files.deleteIfExists(segment.path());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 기록하고 새 세그먼트로 바꿉니다. appendLock 을 획득한 상태에서 호출해야 합니다.
+     * 이전 세그먼트는 모두 디스크에 기록되므로, 이후의 fsync 는 현재 세그먼트만 대상으로 합니다.
+     */
+    private void roll() {
+        force(active);
+        activeBase += segmentSize(active);
+        try {
+            active = WalSegment.create(directory, lastSeq + 1, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.add(active);
+    }
+
+    private static long segmentSize(WalSegment segment) {
+        try {
+            return Files.size(segment.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 지금까지 추가된 기록을 디스크에 기록합니다. 동시에 호출되면 한 스레드씩 기록합니다.
+     *
+     * @throws IllegalStateException 이전에 디스크 기록에 실패한 경우
+     */
+    private void sync() {
+        syncLock.lock();
+        try {
+            checkSynced();
+            WalSegment segment;
+            long target;
+            appendLock.lock();
+            try {
+                segment = active;
+                target = writtenPosition;
+            } finally {
+                appendLock.unlock();
+            }
+            if (target <= syncedPosition) {
+                return;
+            }
+
+            force(segment);
+
+            stateLock.lock();
+            try {
+                syncedPosition = target;
+                synced.signalAll();
+            } finally {
+                stateLock.unlock();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 세그먼트를 디스크에 기록합니다. 실패하면 원인을 남기고 디스크 기록을 기다리는 스레드를 모두 깨웁니다.
+     */
+    private void force(WalSegment segment) {
+        try {
+            forcer.accept(segment);
+        } catch (RuntimeException e) {
+            stateLock.lock();
+            try {
+                if (syncFailure == null) {
+                    syncFailure = e;
+                }
+                synced.signalAll();
+            } finally {
+                stateLock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 디스크 기록에 실패한 적이 있으면 예외를 던집니다.
+     */
+    private void checkSynced() {
+        RuntimeException failure = syncFailure;
+        if (failure != null) {
+            throw new IllegalStateException("WAL 을 디스크에 기록하지 못했습니다.", failure);
+        }
+    }
+
+    /**
+     * position 까지 디스크에 기록될 때까지 기다립니다.
+     *
+     * @throws IllegalStateException 디스크 기록에 실패해 position 까지 기록되지 않은 경우
+     */
+    private void awaitSynced(long position) {
+        stateLock.lock();
+        try {
+            pending.signal();
+            while (syncedPosition < position) {
+                checkSynced();
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * GROUP 에서는 기록이 쌓이면 바로, INTERVAL 에서는 주기마다 디스크에 기록합니다.
+     * 디스크에 기록하는 동안 추가된 기록은 다음 기록에서 한 번에 처리됩니다.
+     * 디스크 기록에 실패하면 오류를 남기고 멈춥니다. 기다리던 기록과 이후의 기록은 그 원인으로 실패합니다.
+     */
+    private void syncLoop() {
+        while (running) {
+            stateLock.lock();
+            try {
+                if (fsyncPolicy == FsyncPolicy.INTERVAL || writtenPosition <= syncedPosition) {
+                    pending.awaitNanos(syncIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                stateLock.unlock();
+            }
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                log.error("WAL 을 디스크에 기록하지 못해 이후의 기록을 모두 거절합니다. directory={}", directory, e);
+                return;
+            }
+        }
+    }
+}
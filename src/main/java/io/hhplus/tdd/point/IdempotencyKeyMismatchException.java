@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 이미 받은 멱등 키로 종류나 금액이 다른 요청을 보낸 경우 발생합니다.
+ * 처음 요청의 결과는 바뀌지 않으므로, 다른 요청은 새 멱등 키로 보내야 합니다.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("같은 멱등 키로 다른 요청을 보낼 수 없습니다. idempotencyKey=" + idempotencyKey);
+    }
+}
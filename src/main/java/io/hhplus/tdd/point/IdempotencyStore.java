@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.admission.RateLimitExceededException;
+import io.hhplus.tdd.point.lock.UserLockBusyException;
+import io.hhplus.tdd.point.lock.UserLockTimeoutException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 멱등 키 저장소
+ * 사용자와 멱등 키가 같은 요청은 처음 요청의 결과를 그대로 반환하며, 테이블에 다시 반영하지 않습니다.
+ * 처음 요청이 처리 중이면 뒤따른 요청은 사용자 락을 기다리지 않고 처음 요청의 결과를 기다립니다.
+ * 처음 요청이 포인트를 바꾸기 전에 실패하면(검증, 요청 수 제한, 사용자 락, 실행기 거절) 키를 지우므로 같은 키로 다시 요청할 수 있습니다.
+ * 그 밖의 실패는 로그나 테이블에 일부가 반영되었을 수 있으므로, 키를 남겨 같은 키의 요청에 처음 요청의 실패를 그대로 반환합니다.
+ * 최대 크기를 넘으면 처리가 끝난 키 중 가장 오래 사용하지 않은 키를 제거(LRU)하고, TTL 이 지난 키는 조회 시 제거합니다.
+ * 처리 중인 키는 제거하지 않으므로, 처리 중에 같은 키로 다시 요청해도 두 번 실행되지 않습니다.
+ * 처리 중인 키가 많으면 그만큼 최대 크기를 잠시 넘을 수 있습니다.
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않도록 synchronized 대신 ReentrantLock 으로 보호합니다.
+ */
+public class IdempotencyStore {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Key, Entry> entryMap;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder replayCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public IdempotencyStore(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    IdempotencyStore(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entryMap = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 처음 받은 멱등 키이면 operation 을 실행하고 결과를 저장합니다.
+     * 이미 받은 키이면 operation 을 실행하지 않고 저장된 결과(처리 중이면 처리가 끝난 뒤의 결과)를 반환합니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param idempotencyKey 클라이언트가 요청마다 발급한 멱등 키
+     * @param type 트랜잭션 종류
+     * @param amount 충전/사용 금액
+     * @param operation 처음 요청일 때 실행할 충전/사용
+     * @return 처음 요청의 결과
+     * @throws IdempotencyKeyMismatchException 같은 멱등 키로 종류나 금액이 다른 요청을 보낸 경우
+     */
+    public UserPoint execute(long userId, String idempotencyKey, TransactionType type, long amount,
+                             Supplier<UserPoint> operation) {
+        Key key = new Key(userId, idempotencyKey);
+        Entry entry = new Entry(type, amount, new CompletableFuture<>(), nanoClock.getAsLong() + ttlNanos);
+
+        Entry existing = reserve(key, entry);
+        if (existing != null) {
+            return await(existing, idempotencyKey, type, amount);
+        }
+
+        try {
+            UserPoint result = operation.get();
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            fail(key, entry, e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@link #execute} 와 같되, 처리가 끝날 때 완료되는 결과를 기다리지 않고 반환합니다.
+     * 이미 받은 키이면 처음 요청의 결과가 완료될 때 함께 완료됩니다.
+     *
+     * @param operation 처음 요청일 때 실행할 충전/사용, 처리가 끝나면 완료되는 결과를 반환합니다
+     * @return 처음 요청의 결과, 같은 멱등 키로 종류나 금액이 다른 요청이면 IdempotencyKeyMismatchException 으로 완료됩니다
+     */
+    public CompletableFuture<UserPoint> executeAsync(long userId, String idempotencyKey, TransactionType type,
+                                                     long amount, Supplier<CompletableFuture<UserPoint>> operation) {
+        Key key = new Key(userId, idempotencyKey);
+        Entry entry = new Entry(type, amount, new CompletableFuture<>(), nanoClock.getAsLong() + ttlNanos);
+
+        Entry existing = reserve(key, entry);
+        if (existing != null) {
+            try {
+                checkSameRequest(existing, idempotencyKey, type, amount);
+            } catch (IdempotencyKeyMismatchException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return existing.result().copy();
+        }
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, e) -> {
+            if (e == null) {
+                entry.result().complete(userPoint);
+            } else {
+                fail(key, entry, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return entry.result().copy();
+    }
+
+    public Stats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entryMap.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(replayCount.sum(), coalescedCount.sum(), evictionCount.sum(), size);
+    }
+
+    /**
+     * 키가 없거나 처리가 끝난 뒤 만료되었으면 entry 를 저장하고 null 을, 이미 있으면 저장된 항목을 반환합니다.
+     */
+    private Entry reserve(Key key, Entry entry) {
+        lock.lock();
+        try {
+            Entry existing = entryMap.get(key);
+            if (existing != null && existing.result().isDone() && existing.expiresAt() - nanoClock.getAsLong() <= 0) {
+                entryMap.remove(key);
+                evictionCount.increment();
+                existing = null;
+            }
+            if (existing == null) {
+                entryMap.put(key, entry);
+                evict();
+            }
+            return existing;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 최대 크기를 넘은 만큼 처리가 끝난 키를 오래 사용하지 않은 순서대로 제거합니다. 처리 중인 키는 건너뜁니다.
+     * 반드시 lock 을 획득한 상태에서 호출해야 합니다.
+     */
+    private void evict() {
+        Iterator<Entry> iterator = entryMap.values().iterator();
+        while (entryMap.size() > maxSize && iterator.hasNext()) {
+            if (iterator.next().result().isDone()) {
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private UserPoint await(Entry existing, String idempotencyKey, TransactionType type, long amount) {
+        checkSameRequest(existing, idempotencyKey, type, amount);
+        try {
+            return existing.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 처음 요청과 종류, 금액이 같은지 확인하고, 처음 요청의 처리 상태에 따라 재사용 횟수를 기록합니다.
+     */
+    private void checkSameRequest(Entry existing, String idempotencyKey, TransactionType type, long amount) {
+        if (existing.type() != type || existing.amount() != amount) {
+            throw new IdempotencyKeyMismatchException(idempotencyKey);
+        }
+        if (existing.result().isDone()) {
+            replayCount.increment();
+        } else {
+            coalescedCount.increment();
+        }
+    }
+
+    /**
+     * 처음 요청의 실패를 기록합니다. 포인트를 바꾸기 전의 실패이면 키를 지워 같은 키로 다시 실행할 수 있게 합니다.
+     */
+    private void fail(Key key, Entry entry, Throwable e) {
+        if (beforeStateChange(e)) {
+            remove(key, entry);
+        }
+        entry.result().completeExceptionally(e);
+    }
+
+    /**
+     * 로그, 테이블, 내역에 아무것도 반영하기 전에 거절되는 실패인지 확인합니다.
+     * 금액과 잔액 검증은 저장 전에, 요청 수 제한과 락, 실행기 거절은 처리를 시작하기 전에 실패합니다.
+     */
+    private static boolean beforeStateChange(Throwable e) {
+        return e instanceof IllegalArgumentException
+                || e instanceof RateLimitExceededException
+                || e instanceof UserLockBusyException
+                || e instanceof UserLockTimeoutException
+                || e instanceof RejectedExecutionException;
+    }
+
+    private void remove(Key key, Entry entry) {
+        lock.lock();
+        try {
+            entryMap.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(TransactionType type, long amount, CompletableFuture<UserPoint> result, long expiresAt) {
+    }
+
+    /**
+     * 멱등 키 통계
+     *
+     * @param replayCount 처리가 끝난 요청의 결과를 다시 반환한 횟수
+     * @param coalescedCount 처리 중인 요청에 합류해 결과를 기다린 횟수
+     * @param evictionCount 크기 초과 또는 만료로 제거된 키 수
+     * @param size 현재 저장된 키 수
+     */
+    public record Stats(
+            long replayCount,
+            long coalescedCount,
+            long evictionCount,
+            int size
+    ) {
+    }
+}
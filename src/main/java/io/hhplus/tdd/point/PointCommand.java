@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 배치 모드에서 대기열에 쌓이는 충전/사용 요청
+ * 요청한 스레드는 result 를 통해 자신의 처리 결과(또는 실패)를 받습니다.
+ */
+class PointCommand {
+
+    private final TransactionType type;
+    private final long amount;
+    private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+    PointCommand(TransactionType type, long amount) {
+        this.type = type;
+        this.amount = amount;
+    }
+
+    TransactionType type() {
+        return type;
+    }
+
+    long amount() {
+        return amount;
+    }
+
+    boolean isDone() {
+        return result.isDone();
+    }
+
+    void complete(UserPoint userPoint) {
+        result.complete(userPoint);
+    }
+
+    void fail(RuntimeException e) {
+        result.completeExceptionally(e);
+    }
+
+    /**
+     * 처리 결과를 반환합니다. 실패한 경우 원래 예외를 그대로 던집니다.
+     */
+    UserPoint join() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
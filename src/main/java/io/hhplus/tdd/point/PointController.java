@@ -1,11 +1,18 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.aggregate.PointRollup;
+import io.hhplus.tdd.point.aggregate.RollupWindow;
+import io.hhplus.tdd.point.aggregate.UserPointAggregate;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -14,47 +21,145 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final PointService pointService;
+    private final PointHistoryExporter pointHistoryExporter;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * SHARDED 방식이나 비동기 처리(point.async)를 사용하면 요청 스레드가 처리를 기다리지 않고 반환합니다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public CompletableFuture<UserPoint> point(
             @PathVariable long id
     ) {
-        return pointService.getUserPoint(id);
+        return pointService.getUserPointAsync(id);
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id
+    ) {
+        return pointService.getUserPointHistoryAsync(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 한 페이지씩 조회합니다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to
+    ) {
+        return pointService.getUserPointHistoryPage(id, new PointHistoryQuery(cursor, limit, type, from, to));
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 전체를 NDJSON 으로 스트리밍합니다.
+     */
+    @GetMapping("{id}/histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable long id
+    ) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(outputStream -> pointHistoryExporter.exportUser(id, outputStream));
+    }
+
+    /**
+     * 모든 유저의 포인트 충전/이용 내역을 NDJSON 으로 스트리밍합니다.
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportAllHistory() {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(pointHistoryExporter::exportAll);
+    }
+
+    /**
+     * 특정 유저의 충전/사용 합계와 횟수를 조회합니다.
+     */
+    @GetMapping("{id}/aggregate")
+    public UserPointAggregate aggregate(
             @PathVariable long id
     ) {
-        return pointService.getUserPointHistory(id);
+        return pointService.getUserPointAggregate(id);
+    }
+
+    /**
+     * 모든 유저의 시간/일 구간별 충전/사용 합계와 횟수를 최근 구간부터 조회합니다.
+     */
+    @GetMapping("rollups")
+    public List<PointRollup> rollups(
+            @RequestParam(defaultValue = "HOUR") RollupWindow window,
+            @RequestParam(defaultValue = "24") int limit
+    ) {
+        return pointService.getPointRollups(window, limit);
+    }
+
+    /**
+     * 포인트가 많은 유저부터 조회합니다.
+     */
+    @GetMapping("leaderboard")
+    public List<UserPoint> leaderboard(
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return pointService.getPointLeaderboard(limit);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 요청해도 한 번만 충전합니다.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(id, amount);
+        return pointService.chargeUserPointAsync(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 요청해도 한 번만 사용합니다.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return pointService.useUserPointAsync(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 이체합니다.
+     */
+    @PostMapping("{id}/transfer")
+    public CompletableFuture<PointTransferResult> transfer(
+            @PathVariable long id,
+            @RequestBody PointTransferRequest request
+    ) {
+        return pointService.transferUserPointAsync(id, request.toUserId(), request.amount());
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용 요청을 한 번에 처리하고 항목별 결과를 반환합니다.
+     */
+    @PostMapping("bulk")
+    public List<PointOperationResult> bulk(
+            @RequestBody List<PointOperation> operations
     ) {
-        return pointService.useUserPoint(id, amount);
+        return pointService.bulkUpdateUserPoint(operations);
     }
 }
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 포인트 내역을 NDJSON(한 줄에 JSON 하나) 형식으로 내보냅니다.
+ * 내역을 한 페이지씩 조회해 바로 출력하므로 전체 내역 크기와 관계없이 사용하는 메모리가 일정합니다.
+ */
+@Component
+public class PointHistoryExporter {
+
+    // 한 번에 조회해 출력할 내역 수
+    static final int PAGE_SIZE = 500;
+
+    private final PointService pointService;
+    private final ObjectWriter objectWriter;
+
+    public PointHistoryExporter(PointService pointService, ObjectMapper objectMapper) {
+        this.pointService = pointService;
+        this.objectWriter = objectMapper.writerFor(PointHistory.class);
+    }
+
+    /**
+     * 특정 사용자의 모든 포인트 내역을 출력합니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param outputStream 내역을 출력할 스트림
+     */
+    public void exportUser(long userId, OutputStream outputStream) throws IOException {
+        write(userId, outputStream);
+    }
+
+    /**
+     * 모든 사용자의 포인트 내역을 사용자 단위로 출력합니다.
+     *
+     * @param outputStream 내역을 출력할 스트림
+     */
+    public void exportAll(OutputStream outputStream) throws IOException {
+        for (long userId : pointService.getPointHistoryUserIds()) {
+            write(userId, outputStream);
+        }
+    }
+
+    private void write(long userId, OutputStream outputStream) throws IOException {
+        long cursor = 0L;
+        do {
+            PointHistoryPage page = pointService.getUserPointHistoryPage(
+                    userId, new PointHistoryQuery(cursor, PAGE_SIZE, null, 0L, Long.MAX_VALUE));
+            for (PointHistory pointHistory : page.histories()) {
+                outputStream.write(objectWriter.writeValueAsBytes(pointHistory));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+            cursor = page.nextCursor() == null ? -1L : page.nextCursor();
+        } while (cursor >= 0);
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 페이지
+ *
+ * @param histories 조회된 내역 목록
+ * @param nextCursor 다음 페이지 조회에 사용할 커서, 다음 페이지가 없으면 null
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+}
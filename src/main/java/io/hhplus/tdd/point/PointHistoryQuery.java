@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 페이지 조회 조건
+ *
+ * @param cursor 이전 페이지의 마지막 내역 ID, 이 ID 보다 큰 내역부터 조회합니다 (0 이면 처음부터)
+ * @param limit 한 페이지에 담을 최대 내역 수
+ * @param type 조회할 트랜잭션 종류, null 이면 모든 종류
+ * @param fromMillis 조회 시작 시각 (포함)
+ * @param toMillis 조회 종료 시각 (포함)
+ */
+public record PointHistoryQuery(
+        long cursor,
+        int limit,
+        TransactionType type,
+        long fromMillis,
+        long toMillis
+) {
+
+    public static final int MAX_LIMIT = 1_000;
+
+    public PointHistoryQuery {
+        if (cursor < 0) {
+            throw new IllegalArgumentException("커서는 0 이상이어야 합니다.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("조회 개수는 1 이상 " + MAX_LIMIT + " 이하여야 합니다.");
+        }
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("조회 시작 시각이 종료 시각보다 늦습니다.");
+        }
+    }
+
+    /**
+     * 해당 내역이 종류/기간 조건을 만족하는지 확인합니다.
+     */
+    public boolean matches(TransactionType historyType, long updateMillis) {
+        return (type == null || type == historyType)
+                && updateMillis >= fromMillis
+                && updateMillis <= toMillis;
+    }
+}
@@ -0,0 +1,224 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.TableCall;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포인트 내역 저장기
+ * 비동기 모드가 켜져 있으면 내역을 대기열에 넣고 백그라운드 스레드가 순서대로 모아서 저장합니다.
+ * 대기열은 하나의 FIFO 이므로 같은 유저의 내역은 요청된 순서대로 저장됩니다.
+ * 비동기 모드가 꺼져 있거나 실행 중이 아니면 호출한 스레드에서 바로 저장합니다.
+ */
+@Component
+public class PointHistoryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointProperties.HistoryWriter properties;
+    private final PointMetrics pointMetrics;
+    private final BlockingQueue<PendingHistory> queue;
+
+    // 사용자별로 마지막으로 대기열에 들어간 내역, 조회 전에 이 내역이 저장될 때까지 기다립니다
+    private final ConcurrentHashMap<Long, CompletableFuture<PointHistory>> lastPendingMap = new ConcurrentHashMap<>();
+
+    // 실행 상태 변경과 대기열 추가가 겹치지 않도록 보호합니다
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = false;
+    private Thread drainer;
+
+    public PointHistoryWriter(PointHistoryTable pointHistoryTable, PointProperties pointProperties) {
+        this(pointHistoryTable, pointProperties, PointMetrics.noop());
+    }
+
+    @Autowired
+    public PointHistoryWriter(PointHistoryTable pointHistoryTable, PointProperties pointProperties, PointMetrics pointMetrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.properties = pointProperties.getHistoryWriter();
+        this.pointMetrics = pointMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    /**
+     * 포인트 내역을 저장합니다.
+     * 비동기 모드에서는 대기열에 넣고 바로 반환하며, 대기열이 가득 차면 빈 자리가 생길 때까지 대기합니다.
+     * 대기 중에 인터럽트되면 호출한 스레드에서 바로 저장하고, 저장을 마친 뒤 인터럽트 상태를 되돌립니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param amount 충전/사용 금액
+     * @param type 트랜잭션 종류
+     * @param updateMillis 포인트가 변경된 시각
+     * @return 저장된 내역, 비동기 모드에서는 백그라운드 스레드가 저장한 뒤 완료됩니다
+     */
+    public CompletableFuture<PointHistory> write(long userId, long amount, TransactionType type, long updateMillis) {
+        boolean interrupted = false;
+        stateLock.readLock().lock();
+        try {
+            if (running) {
+                PendingHistory pending = new PendingHistory(userId, amount, type, updateMillis, new CompletableFuture<>());
+                queue.put(pending);
+                track(pending);
+                return pending.result();
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        try {
+            return CompletableFuture.completedFuture(insert(userId, amount, type, updateMillis));
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 해당 사용자의 대기 중인 내역이 모두 저장될 때까지 기다립니다.
+     * 내역 조회 전에 호출해 사용자가 방금 처리한 트랜잭션이 누락되지 않도록 합니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     */
+    public void awaitWritten(long userId) {
+        CompletableFuture<PointHistory> last = lastPendingMap.get(userId);
+        if (last != null) {
+            last.exceptionally(e -> null).join();
+        }
+    }
+
+    @Override
+    public void start() {
+        stateLock.writeLock().lock();
+        try {
+            if (!properties.isEnabled() || running) {
+                return;
+            }
+            running = true;
+            drainer = new Thread(this::drainLoop, "point-history-writer");
+            drainer.setDaemon(true);
+            drainer.start();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 새 내역을 더 받지 않고, 대기열에 남은 내역을 모두 저장한 뒤 종료합니다.
+     */
+    @Override
+    public void stop() {
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        if (drainer != null) {
+            try {
+                drainer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            drainer = null;
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버가 요청을 더 받지 않게 된 뒤에 종료되도록 웹 서버보다 낮은 phase 를 사용합니다.
+     */
+    @Override
+    public int getPhase() {
+        return PointLifecyclePhases.HISTORY_WRITER;
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<PendingHistory> batch = new ArrayList<>(properties.getBatchSize());
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                    insertAll(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        List<PendingHistory> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        insertAll(batch);
+    }
+
+    private void insertAll(List<PendingHistory> batch) {
+        for (PendingHistory pending : batch) {
+            try {
+                PointHistory pointHistory = insert(pending.userId(), pending.amount(), pending.type(), pending.updateMillis());
+                pending.result().complete(pointHistory);
+            } catch (RuntimeException e) {
+                log.error("포인트 내역 저장에 실패했습니다. userId={}, amount={}, type={}", pending.userId(), pending.amount(), pending.type(), e);
+                pending.result().completeExceptionally(e);
+            } finally {
+                lastPendingMap.remove(pending.userId(), pending.result());
+            }
+        }
+    }
+
+    /**
+     * 대기열에 들어간 내역을 사용자의 마지막 대기 내역으로 등록합니다.
+     * 등록하기 전에 이미 저장되었다면 저장한 스레드가 지우지 못했으므로 여기서 지웁니다.
+     */
+    private void track(PendingHistory pending) {
+        lastPendingMap.put(pending.userId(), pending.result());
+        if (pending.result().isDone()) {
+            lastPendingMap.remove(pending.userId(), pending.result());
+        }
+    }
+
+    private PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = System.nanoTime();
+        try {
+            return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            pointMetrics.recordTableCall(TableCall.HISTORY_INSERT, start);
+        }
+    }
+
+    private record PendingHistory(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            CompletableFuture<PointHistory> result
+    ) {
+    }
+}
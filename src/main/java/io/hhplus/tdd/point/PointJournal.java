@@ -0,0 +1,214 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.wal.PointSnapshot;
+import io.hhplus.tdd.database.wal.WalEvent;
+import io.hhplus.tdd.database.wal.WriteAheadLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포인트 변경 기록기
+ * 로그가 켜져 있으면 충전/사용으로 변경된 포인트를 {@link WriteAheadLog} 에 기록하고,
+ * 시작 시 마지막 스냅샷을 저장소에 불러온 뒤 스냅샷 이후의 기록만 저장소로 복원합니다.
+ * 기록할 때 변경마다 저장될 내역의 ID 를 미리 발급해 함께 기록하므로, 복원한 내역은 재시작 전과 같은 ID 를 가집니다.
+ * 스냅샷은 사용자를 처음 사용할 때 읽어 오므로, 시작 시간은 전체 사용자 수와 관계없습니다.
+ * 스냅샷은 모든 포인트와 내역을 다시 쓰므로, 마지막 스냅샷 이후의 기록이 snapshotThreshold 이상일 때만 저장합니다.
+ * 로그가 꺼져 있거나 실행 중이 아니면 아무것도 기록하지 않습니다.
+ */
+@Component
+public class PointJournal implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJournal.class);
+
+    private final UserPointStore userPointStore;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointProperties.Wal properties;
+
+    // 실행 상태 변경과 기록이 겹치지 않도록 보호합니다
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = false;
+    private WriteAheadLog wal;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public PointJournal(UserPointStore userPointStore, PointHistoryStore pointHistoryStore, PointProperties pointProperties) {
+        this.userPointStore = userPointStore;
+        this.pointHistoryStore = pointHistoryStore;
+        this.properties = pointProperties.getWal();
+    }
+
+    /**
+     * 한 사용자의 포인트 변경을 기록합니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param type 트랜잭션 종류
+     * @param amount 충전/사용 금액
+     * @param userPoint 변경 후 사용자 포인트
+     * @return 변경의 내역 ID, 기록하지 않았으면 0
+     */
+    public long record(long userId, TransactionType type, long amount, UserPoint userPoint) {
+        return record(List.of(new WalEvent(userId, type, amount, userPoint.point(), userPoint.updateMillis()))).get(0).historyId();
+    }
+
+    /**
+     * 여러 포인트 변경을 하나의 기록으로 남깁니다. 기록의 변경은 함께 복원되거나 함께 유실됩니다.
+     * 변경마다 사용자의 다음 내역 ID 를 미리 발급해 함께 기록하고, 기록이 실패하면 발급한 ID 를 돌려줍니다.
+     * 같은 사용자에 대해서는 기록한 순서대로 내역을 저장해야 합니다.
+     *
+     * @param events 포인트 변경 목록
+     * @return 내역 ID 를 정한 포인트 변경 목록, 기록하지 않았으면 받은 목록 그대로
+     */
+    public List<WalEvent> record(List<WalEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                return events;
+            }
+            List<WalEvent> reserved = new ArrayList<>(events.size());
+            try {
+                for (WalEvent event : events) {
+                    reserved.add(event.withHistoryId(pointHistoryStore.reserve(event.userId())));
+                }
+                wal.append(reserved);
+            } catch (RuntimeException e) {
+                for (WalEvent event : reserved) {
+                    pointHistoryStore.release(event.userId(), event.historyId());
+                }
+                throw e;
+            }
+            return reserved;
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 기록했지만 내역을 저장하지 못한 변경의 내역 ID 를 돌려줍니다.
+     * 돌려주지 않으면 같은 사용자의 다음 내역이 그 ID 를 사용해 로그와 다른 ID 로 저장됩니다.
+     * 변경은 로그에 남아 있으므로, 재시작하면 빠진 내역이 기록한 ID 로 복원됩니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param historyId 기록할 때 정한 내역 ID, 0 이면 아무것도 하지 않습니다
+     */
+    public void release(long userId, long historyId) {
+        if (historyId != 0L) {
+            pointHistoryStore.release(userId, historyId);
+        }
+    }
+
+    /**
+     * 로그를 열어 스냅샷을 불러오고 스냅샷 이후의 기록을 저장소로 복원한 뒤 기록을 시작합니다.
+     */
+    @Override
+    public void start() {
+        stateLock.writeLock().lock();
+        try {
+            if (!properties.isEnabled() || running) {
+                return;
+            }
+
+            wal = WriteAheadLog.open(Path.of(properties.getDirectory()), (int) properties.getSegmentSize().toBytes(),
+                    properties.getFsync(), properties.getSyncInterval());
+            Optional<PointSnapshot> snapshot = wal.snapshot();
+            snapshot.ifPresent(userPointStore::load);
+            snapshot.ifPresent(pointHistoryStore::load);
+            long replayed = wal.replay(entry -> {
+                for (WalEvent event : entry.events()) {
+                    userPointStore.restore(new UserPoint(event.userId(), event.balance(), event.updateMillis()));
+                    pointHistoryStore.restore(event.historyId(), event.userId(), event.amount(), event.type(), event.updateMillis());
+                }
+            });
+            log.info("포인트 로그를 복원했습니다. snapshotSeq={}, users={}, replayed={}, lastSeq={}",
+                    snapshot.map(PointSnapshot::seq).orElse(0L), snapshot.map(PointSnapshot::userCount).orElse(0), replayed, wal.lastSeq());
+
+            long interval = properties.getSnapshotInterval().toMillis();
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+            running = true;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 새 기록을 더 받지 않고, 스냅샷이 필요하면 저장한 뒤 로그를 닫습니다. 스냅샷 저장에 실패해도 로그는 닫습니다.
+     */
+    @Override
+    public void stop() {
+        stateLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            snapshotScheduler.shutdownNow();
+            snapshotScheduler = null;
+            try {
+                compactIfGrown();
+            } catch (RuntimeException e) {
+                log.error("종료 전 포인트 스냅샷 저장에 실패했습니다.", e);
+            } finally {
+                wal.close();
+                wal = null;
+            }
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 내역 저장기보다 먼저 시작하고 나중에 종료되도록 더 낮은 phase 를 사용합니다.
+     */
+    @Override
+    public int getPhase() {
+        return PointLifecyclePhases.JOURNAL;
+    }
+
+    private void snapshot() {
+        stateLock.readLock().lock();
+        try {
+            if (running) {
+                compactIfGrown();
+            }
+        } catch (RuntimeException e) {
+            log.error("포인트 스냅샷 저장에 실패했습니다.", e);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 마지막 스냅샷 이후의 기록이 snapshotThreshold 이상이면 스냅샷을 저장합니다.
+     */
+    private void compactIfGrown() {
+        long size = wal.sizeSinceSnapshot();
+        if (size > 0 && size >= properties.getSnapshotThreshold().toBytes()) {
+            wal.compact();
+        }
+    }
+}
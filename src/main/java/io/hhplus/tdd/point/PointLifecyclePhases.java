@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * 포인트 컴포넌트의 SmartLifecycle phase
+ * phase 가 낮을수록 먼저 시작하고 나중에 종료되며, 모두 웹 서버({@link SmartLifecycle#DEFAULT_PHASE} 근처)보다 낮습니다.
+ * - 변경 로그(PointJournal) : 가장 먼저 복원하고, 가장 나중에 스냅샷을 남기고 닫습니다.
+ * - PointService : 복원이 끝난 뒤 집계를 채우고 샤드 스레드를 시작합니다.
+ * - 내역 저장기(PointHistoryWriter) : 웹 서버가 요청을 더 받지 않게 된 뒤에 남은 내역을 저장하고 종료합니다.
+ */
+final class PointLifecyclePhases {
+
+    static final int JOURNAL = SmartLifecycle.DEFAULT_PHASE - 8192;
+    static final int SERVICE = SmartLifecycle.DEFAULT_PHASE - 6144;
+    static final int HISTORY_WRITER = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private PointLifecyclePhases() {
+    }
+}
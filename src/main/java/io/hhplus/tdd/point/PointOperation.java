@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청의 충전/사용 항목
+ *
+ * @param userId 포인트를 충전/사용할 사용자의 고유 식별자
+ * @param amount 충전/사용할 포인트 금액
+ * @param type 트랜잭션 종류
+ */
+public record PointOperation(
+        long userId,
+        long amount,
+        TransactionType type
+) {
+
+    public PointOperation {
+        if (type == null) {
+            throw new IllegalArgumentException("트랜잭션 종류는 필수입니다.");
+        }
+    }
+}
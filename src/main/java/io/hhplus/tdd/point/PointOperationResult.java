@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청 항목별 처리 결과
+ *
+ * @param userId 사용자의 고유 식별자
+ * @param amount 충전/사용 요청 금액
+ * @param type 트랜잭션 종류
+ * @param success 처리 성공 여부
+ * @param userPoint 해당 항목이 반영된 시점의 사용자 포인트, 실패하면 null
+ * @param message 실패 사유, 성공하면 null
+ */
+public record PointOperationResult(
+        long userId,
+        long amount,
+        TransactionType type,
+        boolean success,
+        UserPoint userPoint,
+        String message
+) {
+
+    static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+        return new PointOperationResult(operation.userId(), operation.amount(), operation.type(), true, userPoint, null);
+    }
+
+    static PointOperationResult failure(PointOperation operation, String message) {
+        return new PointOperationResult(operation.userId(), operation.amount(), operation.type(), false, null, message);
+    }
+}
@@ -0,0 +1,263 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.StorageType;
+import io.hhplus.tdd.database.wal.FsyncPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 포인트 서비스 동작 설정
+ * - application.yml 의 point.* 값으로 바인딩됩니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point")
+public class PointProperties {
+
+    private Batch batch = new Batch();
+    private HistoryWriter historyWriter = new HistoryWriter();
+    private Cache cache = new Cache();
+    private Lock lock = new Lock();
+    private Bulk bulk = new Bulk();
+    private Wal wal = new Wal();
+    private Engine engine = new Engine();
+    private Storage storage = new Storage();
+    private Idempotency idempotency = new Idempotency();
+    private Admission admission = new Admission();
+    private Async async = new Async();
+    private Aggregate aggregate = new Aggregate();
+    private Feed feed = new Feed();
+
+    /**
+     * 같은 유저의 충전/사용 요청을 모아 한 번의 조회/저장으로 처리하는 배치 모드 설정
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        // 배치 모드 사용 여부
+        private boolean enabled = false;
+        // 한 번에 처리할 최대 요청 수
+        private int maxSize = 256;
+    }
+
+    /**
+     * 포인트 내역을 요청 스레드 밖에서 비동기로 저장하는 설정
+     */
+    @Getter
+    @Setter
+    public static class HistoryWriter {
+        // 비동기 저장 사용 여부
+        private boolean enabled = false;
+        // 저장 대기열 크기, 가득 차면 요청 스레드가 대기합니다
+        private int queueCapacity = 10_000;
+        // 한 번에 꺼내 저장할 최대 내역 수
+        private int batchSize = 100;
+    }
+
+    /**
+     * 사용자 포인트 조회 캐시 설정
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+        // 캐시 사용 여부
+        private boolean enabled = false;
+        // 캐시할 최대 사용자 수
+        private int maxSize = 100_000;
+        // 캐시 항목 유효 시간
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+
+    /**
+     * 사용자 락 관리 설정
+     */
+    @Getter
+    @Setter
+    public static class Lock {
+        // 락 관리 방식
+        private LockStrategy strategy = LockStrategy.REF_COUNTED;
+        // STRIPED 방식에서 사용할 락 개수
+        private int stripes = 1024;
+        // 공정 락 사용 여부
+        private boolean fair = false;
+        // 락 획득 제한 시간, 0 이면 제한 없이 기다립니다
+        private Duration timeout = Duration.ZERO;
+        // 락 하나를 기다릴 수 있는 최대 요청 수, 넘으면 기다리지 않고 거절합니다. 0 이면 제한하지 않습니다
+        private int maxWaiters = 0;
+    }
+
+    /**
+     * 여러 사용자의 충전/사용 요청을 한 번에 처리하는 일괄 처리 설정
+     */
+    @Getter
+    @Setter
+    public static class Bulk {
+        // 한 번에 요청할 수 있는 최대 항목 수
+        private int maxSize = 10_000;
+        // 동시에 처리할 사용자 수, 0 이면 CPU 코어 수를 사용합니다
+        private int parallelism = 0;
+
+        public int resolveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * 충전/사용 이벤트를 디스크에 기록해 재시작 시 포인트와 내역을 복원하는 로그 설정
+     */
+    @Getter
+    @Setter
+    public static class Wal {
+        // 로그 사용 여부
+        private boolean enabled = false;
+        // 세그먼트와 스냅샷을 저장할 디렉터리
+        private String directory = "data/wal";
+        // 세그먼트 파일 크기
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        // 디스크 기록(fsync) 시점
+        private FsyncPolicy fsync = FsyncPolicy.GROUP;
+        // INTERVAL 에서 디스크에 기록하는 주기
+        private Duration syncInterval = Duration.ofMillis(10);
+        // 스냅샷 저장 여부를 확인하는 주기, 스냅샷에 반영된 세그먼트는 지웁니다
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+        // 마지막 스냅샷 이후의 기록이 이 크기 이상일 때만 스냅샷을 저장합니다
+        private DataSize snapshotThreshold = DataSize.ofMegabytes(64);
+    }
+
+    /**
+     * 포인트 변경 방식 설정
+     */
+    @Getter
+    @Setter
+    public static class Engine {
+        // 포인트 변경 방식
+        private EngineType type = EngineType.LOCK;
+        // CAS 방식에서 처음에 준비할 사용자 수
+        private int initialCapacity = 1024;
+        // CAS 방식에서 메모리에 둘 최대 사용자 수, 넘으면 최근에 사용하지 않았고 반영을 기다리는 변경이 없는 사용자를 버리고 다음 사용 때 테이블에서 다시 읽습니다
+        private int casMaxUsers = 100_000;
+        // SHARDED 방식의 샤드(스레드) 수, 0 이면 CPU 코어 수를 사용합니다
+        private int shards = 0;
+        // SHARDED 방식에서 샤드마다 메모리에 둘 최대 사용자 수, 넘으면 가장 오래 사용하지 않은 사용자를 버리고 다음 사용 때 테이블에서 다시 읽습니다
+        private int shardMaxUsers = 100_000;
+        // SHARDED 방식에서 샤드마다 처리를 기다릴 수 있는 최대 요청 수, 넘으면 기다리지 않고 503 으로 거절합니다
+        private int shardMaxQueued = 10_000;
+
+        public int resolveShards() {
+            return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * 사용자 포인트와 내역 테이블의 저장 방식 설정
+     */
+    @Getter
+    @Setter
+    public static class Storage {
+        // 저장 방식
+        private StorageType type = StorageType.HEAP;
+        // PRIMITIVE, OFF_HEAP 방식에서 처음에 준비할 사용자 수
+        private int initialCapacity = 1024;
+    }
+
+    /**
+     * 충전/사용 요청의 멱등 키 설정
+     */
+    @Getter
+    @Setter
+    public static class Idempotency {
+        // 멱등 키 사용 여부, 사용하지 않으면 요청의 멱등 키를 무시합니다
+        private boolean enabled = false;
+        // 저장할 최대 키 수
+        private int maxSize = 100_000;
+        // 키 유효 시간, 지나면 같은 키로 다시 요청할 수 있습니다
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    /**
+     * 서비스에 들어오기 전에 요청 수를 제한하는 설정
+     */
+    @Getter
+    @Setter
+    public static class Admission {
+        // 요청 수 제한 사용 여부
+        private boolean enabled = false;
+        // 사용자별 초당 허용 요청 수, 0 이면 사용자별로 제한하지 않습니다
+        private double userRate = 50;
+        // 사용자별로 한 번에 허용하는 최대 요청 수
+        private int userBurst = 100;
+        // 전체 초당 허용 요청 수, 0 이면 전체 요청 수를 제한하지 않습니다
+        private double globalRate = 0;
+        // 전체로 한 번에 허용하는 최대 요청 수
+        private int globalBurst = 10_000;
+        // 요청 수를 기록할 최대 사용자 수, 도달하면 한동안 요청이 없던 사용자부터 기록을 지웁니다
+        private int maxTrackedUsers = 100_000;
+    }
+
+    /**
+     * 조회/충전/사용/이체/내역 조회를 요청 스레드 밖에서 처리하는 비동기 API 설정
+     */
+    @Getter
+    @Setter
+    public static class Async {
+        // 비동기 처리 사용 여부, 사용하지 않으면 요청 스레드에서 처리한 뒤 완료된 결과를 반환합니다
+        private boolean enabled = false;
+        // 동시에 처리할 최대 요청 수, 요청마다 가상 스레드에서 처리합니다
+        private int poolSize = 1_000;
+        // 처리를 기다릴 수 있는 최대 요청 수, 넘으면 바로 거절합니다
+        private int queueCapacity = 10_000;
+    }
+
+    /**
+     * 포인트 내역을 기록할 때마다 갱신하는 사용자별, 구간별 집계와 포인트 순위 설정
+     */
+    @Getter
+    @Setter
+    public static class Aggregate {
+        // 집계 사용 여부, 사용하면 시작할 때 복원한 내역을 모두 읽어 집계를 채웁니다
+        private boolean enabled = false;
+        // 보관할 시간 구간 수
+        private int hourlyRetention = 48;
+        // 보관할 일 구간 수
+        private int dailyRetention = 31;
+    }
+
+    /**
+     * 저장된 충전/사용을 구독자에게 보내는 변경 이벤트 스트림 설정
+     */
+    @Getter
+    @Setter
+    public static class Feed {
+        // 변경 이벤트 사용 여부
+        private boolean enabled = false;
+        // 보관할 최대 이벤트 수, 구독자가 이보다 많이 뒤처지면 커서가 만료됩니다
+        private int capacity = 65_536;
+        // 동시에 구독할 수 있는 최대 연결 수
+        private int maxSubscribers = 100;
+        // 새 이벤트가 없을 때 연결 확인용 주석을 보내는 주기
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+    }
+
+    /**
+     * 사용자 락 관리 방식
+     * - STRIPED : 고정된 개수의 락을 사용자 ID 해시로 나누어 사용
+     * - REF_COUNTED : 사용자별 락을 두고 사용하는 스레드가 없으면 제거
+     */
+    public enum LockStrategy {
+        STRIPED, REF_COUNTED
+    }
+
+    /**
+     * 포인트 변경 방식
+     * - LOCK : 사용자 락을 획득한 뒤 테이블을 조회/저장
+     * - CAS : 메모리의 사용자 포인트를 CAS 로 변경하고, 변경 내용은 순번 순서대로 테이블과 내역에 반영
+     * - SHARDED : 사용자 ID 해시로 나눈 샤드마다 하나의 스레드가 자기 사용자의 포인트를 락 없이 변경
+     */
+    public enum EngineType {
+        LOCK, CAS, SHARDED
+    }
+}
@@ -1,40 +1,428 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.PointHistoryStore;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointStore;
 import io.hhplus.tdd.database.UserPointTable;
-import lombok.RequiredArgsConstructor;
+import io.hhplus.tdd.database.wal.WalEvent;
+import io.hhplus.tdd.point.aggregate.PointAggregator;
+import io.hhplus.tdd.point.aggregate.PointRollup;
+import io.hhplus.tdd.point.aggregate.RollupWindow;
+import io.hhplus.tdd.point.aggregate.UserPointAggregate;
+import io.hhplus.tdd.point.engine.BalanceChange;
+import io.hhplus.tdd.point.engine.CasBalanceEngine;
+import io.hhplus.tdd.point.engine.ShardedBalanceEngine;
+import io.hhplus.tdd.point.feed.PointChangeFeed;
+import io.hhplus.tdd.point.lock.RefCountedUserLockManager;
+import io.hhplus.tdd.point.lock.StripedUserLockManager;
+import io.hhplus.tdd.point.lock.UserLock;
+import io.hhplus.tdd.point.lock.UserLockBusyException;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.lock.UserLockStats;
+import io.hhplus.tdd.point.lock.UserLockTimeoutException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
+import io.hhplus.tdd.point.metrics.PointMetrics.RejectionReason;
+import io.hhplus.tdd.point.metrics.PointMetrics.TableCall;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static io.hhplus.tdd.point.PointPolicy.MAX_POINT;
 
 @Service
-@RequiredArgsConstructor
-public class PointService {
+public class PointService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PointService.class);
 
     private final UserPointTable userPointTable;
     private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointProperties pointProperties;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointMetrics pointMetrics;
+    private final PointJournal pointJournal;
+
+    // 사용자 포인트 캐시, 캐시를 사용하지 않으면 null
+    private final UserPointCache userPointCache;
+
+    // 충전/사용 요청의 멱등 키 저장소, 사용하지 않으면 null
+    private final IdempotencyStore idempotencyStore;
+
+    // 사용자별 락 관리자
+    private final UserLockManager userLockManager;
+
+    // CAS 방식의 포인트 변경 엔진, CAS 방식이 아니면 null
+    private final CasBalanceEngine casBalanceEngine;
+
+    // SHARDED 방식의 포인트 변경 엔진, SHARDED 방식이 아니면 null
+    private final ShardedBalanceEngine shardedBalanceEngine;
+
+    // 비동기 API 를 처리할 실행기, 비동기 처리를 사용하지 않으면 null
+    private final ThreadPoolExecutor asyncExecutor;
 
-    // 사용자별 락 저장소
-    private static final ConcurrentHashMap<Long, ReentrantLock> userLockMap = new ConcurrentHashMap<>();
+    // 포인트 내역 집계와 포인트 순위, 집계를 사용하지 않으면 null
+    private final PointAggregator pointAggregator;
+
+    // 저장된 충전/사용의 변경 이벤트, 사용하지 않으면 null
+    private final PointChangeFeed pointChangeFeed;
+
+    // 배치 모드에서 사용자별로 처리를 기다리는 요청 대기열
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<PointCommand>> pendingCommandMap = new ConcurrentHashMap<>();
+
+    private volatile boolean running = false;
+
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        this(builder(userPointTable, pointHistoryTable).withDefaults());
+    }
+
+    private PointService(Builder builder) {
+        this(builder.userPointTable, builder.pointHistoryTable, builder.pointHistoryStore, builder.pointProperties,
+                builder.pointHistoryWriter, builder.pointMetrics, builder.pointJournal);
+    }
+
+    /**
+     * 스프링 없이 서비스를 만들 때 사용합니다. 지정하지 않은 구성 요소는 테이블과 설정으로 기본값을 만듭니다.
+     */
+    public static Builder builder(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        return new Builder(userPointTable, pointHistoryTable);
+    }
+
+    @Autowired
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointHistoryStore pointHistoryStore,
+                        PointProperties pointProperties, PointHistoryWriter pointHistoryWriter, PointMetrics pointMetrics,
+                        PointJournal pointJournal) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryStore = pointHistoryStore;
+        this.pointProperties = pointProperties;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+        this.pointJournal = pointJournal;
+
+        PointProperties.Cache cache = pointProperties.getCache();
+        this.userPointCache = cache.isEnabled() ? new UserPointCache(cache.getMaxSize(), cache.getTtl()) : null;
+        this.userLockManager = createUserLockManager(pointProperties.getLock());
+        PointProperties.Idempotency idempotency = pointProperties.getIdempotency();
+        this.idempotencyStore = idempotency.isEnabled()
+                ? new IdempotencyStore(idempotency.getMaxSize(), idempotency.getTtl())
+                : null;
+
+        PointProperties.Engine engine = pointProperties.getEngine();
+        this.casBalanceEngine = engine.getType() == PointProperties.EngineType.CAS
+                ? new CasBalanceEngine(engine.getInitialCapacity(), engine.getCasMaxUsers(), this::selectUserPoint, this::publish)
+                : null;
+        this.shardedBalanceEngine = engine.getType() == PointProperties.EngineType.SHARDED
+                ? new ShardedBalanceEngine(engine.resolveShards(), engine.getShardMaxUsers(), engine.getShardMaxQueued(),
+                        this::selectUserPoint, this::publish)
+                : null;
+        this.asyncExecutor = createAsyncExecutor(pointProperties.getAsync());
+        PointProperties.Aggregate aggregate = pointProperties.getAggregate();
+        this.pointAggregator = aggregate.isEnabled()
+                ? new PointAggregator(aggregate.getHourlyRetention(), aggregate.getDailyRetention())
+                : null;
+        PointProperties.Feed feed = pointProperties.getFeed();
+        this.pointChangeFeed = feed.isEnabled() ? new PointChangeFeed(feed.getCapacity()) : null;
+    }
+
+    /**
+     * 비동기 API 실행기를 만듭니다.
+     * 최대 poolSize 개의 요청을 가상 스레드에서 동시에 처리하므로, 테이블 지연 동안 플랫폼 스레드를 붙잡지 않습니다.
+     * 대기열이 가득 차면 기다리지 않고 거절합니다.
+     */
+    private static ThreadPoolExecutor createAsyncExecutor(PointProperties.Async async) {
+        if (!async.isEnabled()) {
+            return null;
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(async.getPoolSize(), async.getPoolSize(),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(async.getQueueCapacity()),
+                Thread.ofVirtual().name("point-async-", 0).factory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 비동기 실행기와 SHARDED 방식의 샤드 스레드에 남은 요청을 모두 처리한 뒤 종료합니다.
+     */
+    @PreDestroy
+    public void close() {
+        if (asyncExecutor != null) {
+            asyncExecutor.close();
+        }
+        if (shardedBalanceEngine != null) {
+            shardedBalanceEngine.close();
+        }
+    }
+
+    /**
+     * 변경 로그로 복원한 포인트와 내역으로 집계와 포인트 순위를 채운 뒤, SHARDED 방식이면 샤드 스레드를 시작합니다.
+     * 복원 이후, 내역 저장기와 웹 서버보다 먼저 한 번만 실행하므로 채우는 동안 새 내역이 기록되지 않습니다.
+     * 스냅샷의 모든 사용자를 읽어 오므로, 집계를 사용하면 시작 시간이 복원한 내역 수에 비례합니다.
+     * 샤드 스레드는 복원이 끝난 뒤 시작하므로 복원 전의 테이블을 읽지 않으며, 스프링 없이 만든 서비스는 직접 호출해야 합니다.
+     */
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        if (pointAggregator != null) {
+            UserPointStore userPointStore = UserPointStore.of(userPointTable);
+            long historyCount = 0;
+            Set<Long> userIds = pointHistoryStore.findAllUserIds();
+            for (long id : userIds) {
+                historyCount += loadAggregate(id, userPointStore);
+            }
+            log.info("복원한 포인트로 집계를 채웠습니다. users={}, histories={}", userIds.size(), historyCount);
+        }
+        if (shardedBalanceEngine != null) {
+            shardedBalanceEngine.start();
+        }
+        running = true;
+    }
+
+    /**
+     * 사용자의 복원된 내역을 모두 집계에 더하고 포인트를 순위에 넣습니다.
+     *
+     * @return 집계에 더한 내역 수
+     */
+    private long loadAggregate(long id, UserPointStore userPointStore) {
+        long count = 0;
+        long cursor = 0L;
+        List<PointHistory> histories;
+        do {
+            histories = pointHistoryStore.findByUserId(id,
+                    new PointHistoryQuery(cursor, PointHistoryQuery.MAX_LIMIT, null, 0L, Long.MAX_VALUE), PointHistoryQuery.MAX_LIMIT);
+            for (PointHistory history : histories) {
+                pointAggregator.recordHistory(id, history.type(), history.amount(), history.updateMillis());
+                cursor = history.id();
+            }
+            count += histories.size();
+        } while (histories.size() == PointHistoryQuery.MAX_LIMIT);
+
+        UserPoint userPoint = userPointStore.get(id);
+        if (userPoint != null) {
+            pointAggregator.recordBalance(userPoint);
+        }
+        return count;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 변경 로그(PointJournal)를 복원한 뒤, 내역 저장기(PointHistoryWriter)보다 먼저 시작하도록 그 사이의 phase 를 사용합니다.
+     */
+    @Override
+    public int getPhase() {
+        return PointLifecyclePhases.SERVICE;
+    }
+
+    private static UserLockManager createUserLockManager(PointProperties.Lock lock) {
+        return switch (lock.getStrategy()) {
+            case STRIPED -> new StripedUserLockManager(lock.getStripes(), lock.isFair(), lock.getTimeout(),
+                    lock.getMaxWaiters());
+            case REF_COUNTED -> new RefCountedUserLockManager(lock.isFair(), lock.getTimeout(), lock.getMaxWaiters());
+        };
+    }
 
     /**
      * ID로 특정 사용자의 포인트 정보를 검색합니다.
+     * 캐시를 사용하면 캐시된 포인트를 반환하고, 캐시에 없으면 사용자 락을 획득한 뒤 테이블에서 읽어 캐시에 저장합니다.
+     * 충전/사용도 같은 락 안에서 캐시를 갱신하므로 성공한 변경 이후 이전 포인트가 조회되지 않습니다.
+     * CAS 방식에서는 엔진의 포인트를, SHARDED 방식에서는 사용자를 맡은 샤드의 포인트를 반환합니다.
+     *
      * @param id 포인트 정보를 검색 할 사용자의 고유 식별자
      * @return 사용자의 포인트 데이터가 포함 된 사용자 포인트 인스턴스
      */
     public UserPoint getUserPoint(long id) {
-        return userPointTable.selectById(id);
+        if (shardedBalanceEngine != null) {
+            return join(getUserPointAsync(id));
+        }
+        long start = pointMetrics.enter(id);
+        try {
+            if (casBalanceEngine != null) {
+                return casBalanceEngine.get(id);
+            }
+            if (userPointCache == null) {
+                return selectUserPoint(id);
+            }
+
+            UserPoint cached = userPointCache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+
+            UserLock lock = lock(id);
+
+            try {
+                cached = userPointCache.get(id);
+                if (cached != null) {
+                    return cached;
+                }
+                UserPoint userPoint = selectUserPoint(id);
+                userPointCache.put(userPoint);
+                return userPoint;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            pointMetrics.exit(Operation.GET, id, start);
+        }
+    }
+
+    /**
+     * 사용자의 포인트를 조회하고, 조회가 끝나면 완료되는 결과를 반환합니다.
+     * SHARDED 방식에서는 사용자를 맡은 샤드에 조회를 넘기고 바로 반환하며, 다른 방식에서는 비동기 실행기({@code point.async})에 넘기며, 사용하지 않으면 조회를 마친 결과를 반환합니다.
+     *
+     * @see #getUserPoint(long)
+     */
+    public CompletableFuture<UserPoint> getUserPointAsync(long id) {
+        if (shardedBalanceEngine == null) {
+            return supplyAsync(() -> getUserPoint(id));
+        }
+        long start = pointMetrics.enter(id);
+        return shardedBalanceEngine.get(id)
+                .whenComplete((userPoint, e) -> pointMetrics.exit(Operation.GET, id, start));
+    }
+
+    /**
+     * 사용자 락 획득/거절 횟수 통계를 반환합니다. 락 대기 시간은 {@link PointMetrics} 가 기록합니다.
+     *
+     * @return 락 통계
+     */
+    public UserLockStats getUserLockStats() {
+        return userLockManager.stats();
+    }
+
+    /**
+     * 사용자 포인트 캐시 통계를 반환합니다.
+     *
+     * @return 캐시 통계, 캐시를 사용하지 않으면 null
+     */
+    public UserPointCache.Stats getUserPointCacheStats() {
+        return userPointCache == null ? null : userPointCache.stats();
+    }
+
+    /**
+     * CAS 엔진 통계를 반환합니다.
+     *
+     * @return 엔진 통계, CAS 방식이 아니면 null
+     */
+    public CasBalanceEngine.Stats getCasBalanceEngineStats() {
+        return casBalanceEngine == null ? null : casBalanceEngine.stats();
     }
 
+    /**
+     * 샤드 엔진 통계를 반환합니다.
+     *
+     * @return 엔진 통계, SHARDED 방식이 아니면 null
+     */
+    public ShardedBalanceEngine.Stats getShardedBalanceEngineStats() {
+        return shardedBalanceEngine == null ? null : shardedBalanceEngine.stats();
+    }
+
+    /**
+     * 멱등 키 통계를 반환합니다.
+     *
+     * @return 멱등 키 통계, 멱등 키를 사용하지 않으면 null
+     */
+    public IdempotencyStore.Stats getIdempotencyStats() {
+        return idempotencyStore == null ? null : idempotencyStore.stats();
+    }
+
+    /**
+     * 사용자의 충전/사용 합계와 횟수를 반환합니다. 내역 테이블을 읽지 않고 내역을 기록할 때 갱신한 집계를 반환합니다.
+     *
+     * @param id 사용자의 고유 식별자
+     * @return 사용자 집계, 기록이 없으면 모두 0
+     * @throws UnsupportedOperationException 집계를 사용하지 않는 경우
+     */
+    public UserPointAggregate getUserPointAggregate(long id) {
+        return aggregator().aggregate(id);
+    }
+
+    /**
+     * 모든 사용자의 구간별 충전/사용 합계와 횟수를 최근 구간부터 반환합니다.
+     *
+     * @param window 집계 구간
+     * @param limit 최대 구간 수
+     * @throws UnsupportedOperationException 집계를 사용하지 않는 경우
+     */
+    public List<PointRollup> getPointRollups(RollupWindow window, int limit) {
+        validateLimit(limit);
+        return aggregator().rollups(window, limit);
+    }
+
+    /**
+     * 포인트가 많은 순서로 사용자 포인트를 반환합니다. 포인트가 같으면 사용자 ID 가 작은 순서입니다.
+     *
+     * @param limit 최대 사용자 수
+     * @throws UnsupportedOperationException 집계를 사용하지 않는 경우
+     */
+    public List<UserPoint> getPointLeaderboard(int limit) {
+        validateLimit(limit);
+        return aggregator().leaderboard(limit);
+    }
+
+    /**
+     * 저장된 충전/사용을 순서대로 담는 변경 이벤트 버퍼를 반환합니다.
+     *
+     * @throws UnsupportedOperationException 변경 이벤트를 사용하지 않는 경우
+     */
+    public PointChangeFeed getPointChangeFeed() {
+        if (pointChangeFeed == null) {
+            throw new UnsupportedOperationException("포인트 변경 이벤트를 사용하지 않습니다.");
+        }
+        return pointChangeFeed;
+    }
+
+    private PointAggregator aggregator() {
+        if (pointAggregator == null) {
+            throw new UnsupportedOperationException("포인트 집계를 사용하지 않습니다.");
+        }
+        return pointAggregator;
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > PointHistoryQuery.MAX_LIMIT) {
+            throw new IllegalArgumentException("조회 개수는 1 이상 " + PointHistoryQuery.MAX_LIMIT + " 이하여야 합니다.");
+        }
+    }
 
     /**
      * 지정된 유저 ID와 해당 충전 금액을 사용하여 사용자의 포인트를 충전합니다.
      * 만약 금액이 허용된 최대 포인트를 초과하면 예외를 발생시킵니다.
      * 충전 후 업데이트된 사용자 포인트 데이터를 반환하며, 충전 내역은 기록됩니다.
+     * 내역 저장이 비동기 모드이면 내역은 대기열을 거쳐 저장됩니다.
+     * 로그를 사용하면 변경된 포인트를 반환하기 전에 로그에 기록합니다.
+     * CAS 방식에서는 락 없이 엔진의 포인트를 변경하고, 배치 모드 설정은 사용하지 않습니다.
      *
      * @param id 포인트를 충전할 사용자의 고유 식별자
      * @param amount 충전할 포인트 금액, 최대 충전 금액은 제한됩니다
@@ -42,22 +430,74 @@ public class PointService {
      * @throws IllegalArgumentException 입력된 충전 금액이 최대 포인트 한도를 초과하는 경우
      */
     public UserPoint chargeUserPoint(long id, long amount) {
-        ReentrantLock lock = userLockMap.computeIfAbsent(id, l -> new ReentrantLock());
-        lock.lock();
+        return chargeUserPoint(id, amount, null);
+    }
+
+    /**
+     * 멱등 키와 함께 포인트를 충전합니다.
+     * 같은 사용자가 같은 멱등 키로 다시 요청하면 충전하지 않고 처음 요청의 결과를 반환하며,
+     * 처음 요청이 처리 중이면 사용자 락을 기다리지 않고 처음 요청의 결과를 기다립니다.
+     *
+     * @param idempotencyKey 멱등 키, null 이면 멱등 키 없이 충전합니다
+     * @throws IdempotencyKeyMismatchException 같은 멱등 키로 금액이 다른 충전이나 사용을 요청한 경우
+     * @see #chargeUserPoint(long, long)
+     */
+    public UserPoint chargeUserPoint(long id, long amount, String idempotencyKey) {
+        if (shardedBalanceEngine != null) {
+            return join(chargeUserPointAsync(id, amount, idempotencyKey));
+        }
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.execute(id, idempotencyKey, TransactionType.CHARGE, amount,
+                    () -> executeCharge(id, amount));
+        }
+        return executeCharge(id, amount);
+    }
 
+    /**
+     * 포인트를 충전하고, 충전이 끝나면 완료되는 결과를 반환합니다.
+     * SHARDED 방식에서는 사용자를 맡은 샤드에 충전을 넘기고 바로 반환하며, 다른 방식에서는 비동기 실행기({@code point.async})에 넘기며, 사용하지 않으면 충전을 마친 결과를 반환합니다.
+     *
+     * @see #chargeUserPoint(long, long, String)
+     */
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long id, long amount, String idempotencyKey) {
+        if (shardedBalanceEngine == null) {
+            return supplyAsync(() -> chargeUserPoint(id, amount, idempotencyKey));
+        }
+        return updateOnShard(id, TransactionType.CHARGE, amount, idempotencyKey);
+    }
+
+    private UserPoint executeCharge(long id, long amount) {
+        long start = pointMetrics.enter(id);
         try {
-            UserPoint userPoint = userPointTable.selectById(id);
-            long updatedPoint = userPoint.point() + amount;
-            if(amount > MAX_POINT || updatedPoint > MAX_POINT) {
-                throw new IllegalArgumentException("유저의 포인트 초과입니다.");
+            if (casBalanceEngine != null) {
+                return casBalanceEngine.update(id, TransactionType.CHARGE, amount, point -> charge(point, amount));
+            }
+            if (pointProperties.getBatch().isEnabled()) {
+                return executeInBatch(id, new PointCommand(TransactionType.CHARGE, amount));
             }
 
-            UserPoint updateUserPoint = userPointTable.insertOrUpdate(id, updatedPoint);
-            pointHistoryTable.insert(id, amount, TransactionType.CHARGE, updateUserPoint.updateMillis());
+            UserLock lock = lock(id);
+
+            try {
+                long point = selectPoint(id);
+                long updatedPoint = charge(point, amount);
 
-            return updateUserPoint;
+                UserPoint updateUserPoint = saveUserPoint(id, updatedPoint);
+                long historyId;
+                try {
+                    historyId = pointJournal.record(id, TransactionType.CHARGE, amount, updateUserPoint);
+                } catch (RuntimeException e) {
+                    throw rollback(e, id, point);
+                }
+                cache(updateUserPoint);
+                writeHistory(id, amount, TransactionType.CHARGE, updateUserPoint.point(), updateUserPoint.updateMillis(), historyId);
+
+                return updateUserPoint;
+            } finally {
+                lock.unlock();
+            }
         } finally {
-            lock.unlock();
+            pointMetrics.exit(Operation.CHARGE, id, start);
         }
     }
 
@@ -71,32 +511,781 @@ public class PointService {
      * @throws IllegalArgumentException 입력된 차감 금액이 사용자의 보유 포인트를 초과하는 경우
      */
     public UserPoint useUserPoint(long id, long amount) {
-        ReentrantLock lock = userLockMap.computeIfAbsent(id, l -> new ReentrantLock());
-        lock.lock();
+        return useUserPoint(id, amount, null);
+    }
+
+    /**
+     * 멱등 키와 함께 포인트를 사용합니다.
+     * 같은 사용자가 같은 멱등 키로 다시 요청하면 차감하지 않고 처음 요청의 결과를 반환하며,
+     * 처음 요청이 처리 중이면 사용자 락을 기다리지 않고 처음 요청의 결과를 기다립니다.
+     *
+     * @param idempotencyKey 멱등 키, null 이면 멱등 키 없이 사용합니다
+     * @throws IdempotencyKeyMismatchException 같은 멱등 키로 금액이 다른 충전이나 사용을 요청한 경우
+     * @see #useUserPoint(long, long)
+     */
+    public UserPoint useUserPoint(long id, long amount, String idempotencyKey) {
+        if (shardedBalanceEngine != null) {
+            return join(useUserPointAsync(id, amount, idempotencyKey));
+        }
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.execute(id, idempotencyKey, TransactionType.USE, amount,
+                    () -> executeUse(id, amount));
+        }
+        return executeUse(id, amount);
+    }
+
+    /**
+     * 포인트를 사용하고, 사용이 끝나면 완료되는 결과를 반환합니다.
+     * SHARDED 방식에서는 사용자를 맡은 샤드에 사용을 넘기고 바로 반환하며, 다른 방식에서는 비동기 실행기({@code point.async})에 넘기며, 사용하지 않으면 사용을 마친 결과를 반환합니다.
+     *
+     * @see #useUserPoint(long, long, String)
+     */
+    public CompletableFuture<UserPoint> useUserPointAsync(long id, long amount, String idempotencyKey) {
+        if (shardedBalanceEngine == null) {
+            return supplyAsync(() -> useUserPoint(id, amount, idempotencyKey));
+        }
+        return updateOnShard(id, TransactionType.USE, amount, idempotencyKey);
+    }
 
+    private UserPoint executeUse(long id, long amount) {
+        long start = pointMetrics.enter(id);
         try {
-            UserPoint userPoint = userPointTable.selectById(id);
-            long updatedPoint = userPoint.point() - amount;
-            if(updatedPoint < 0) {
-                throw new IllegalArgumentException("유저의 포인트가 부족합니다.");
+            if (casBalanceEngine != null) {
+                return casBalanceEngine.update(id, TransactionType.USE, amount, point -> use(point, amount));
             }
+            if (pointProperties.getBatch().isEnabled()) {
+                return executeInBatch(id, new PointCommand(TransactionType.USE, amount));
+            }
+
+            UserLock lock = lock(id);
+
+            try {
+                long point = selectPoint(id);
+                long updatedPoint = use(point, amount);
 
-            UserPoint updateUserPoint = userPointTable.insertOrUpdate(id, updatedPoint);
-            pointHistoryTable.insert(id, amount, TransactionType.USE, updateUserPoint.updateMillis());
+                UserPoint updateUserPoint = saveUserPoint(id, updatedPoint);
+                long historyId;
+                try {
+                    historyId = pointJournal.record(id, TransactionType.USE, amount, updateUserPoint);
+                } catch (RuntimeException e) {
+                    throw rollback(e, id, point);
+                }
+                cache(updateUserPoint);
+                writeHistory(id, amount, TransactionType.USE, updateUserPoint.point(), updateUserPoint.updateMillis(), historyId);
 
-            return updateUserPoint;
+                return updateUserPoint;
+            } finally {
+                lock.unlock();
+            }
         } finally {
-            lock.unlock();
+            pointMetrics.exit(Operation.USE, id, start);
+        }
+    }
+
+    /**
+     * 한 사용자의 포인트를 다른 사용자에게 이체합니다.
+     * 두 사용자의 락을 전역 순서대로 획득하므로 반대 방향의 이체가 동시에 들어와도 교착 상태가 생기지 않습니다.
+     * 차감과 충전이 모두 가능한지 먼저 확인한 뒤 반영하며, 받는 사용자의 저장이 실패하면 보낸 사용자의 포인트를 되돌립니다.
+     * 두 변경은 로그에 하나의 기록으로 남긴 뒤 캐시와 내역에 반영하며, 로그 기록이 실패하면 두 사용자의 포인트를 모두 되돌립니다.
+     * 보낸 사용자에게는 사용 내역이, 받은 사용자에게는 충전 내역이 함께 기록됩니다.
+     * CAS, SHARDED 방식은 두 사용자를 함께 바꿀 수 없어 차감만 반영된 상태가 보이므로 이체를 지원하지 않습니다.
+     *
+     * @param fromId 포인트를 보낼 사용자의 고유 식별자
+     * @param toId 포인트를 받을 사용자의 고유 식별자
+     * @param amount 이체할 포인트 금액
+     * @return 이체 후 두 사용자의 포인트
+     * @throws IllegalArgumentException 자기 자신에게 이체하거나, 금액이 0 이하이거나, 잔액이 부족하거나, 받는 사용자의 포인트가 최대 포인트를 초과하는 경우
+     * @throws UnsupportedOperationException CAS, SHARDED 방식인 경우
+     */
+    public PointTransferResult transferUserPoint(long fromId, long toId, long amount) {
+        if (casBalanceEngine != null || shardedBalanceEngine != null) {
+            throw new UnsupportedOperationException(pointProperties.getEngine().getType() + " 방식에서는 이체를 지원하지 않습니다.");
+        }
+        validateTransfer(fromId, toId, amount);
+
+        long start = pointMetrics.enter(fromId);
+        try {
+            UserLock lock = lock(fromId, toId);
+
+            try {
+                long from = selectPoint(fromId);
+                long to = selectPoint(toId);
+                long fromPoint = use(from, amount);
+                long toPoint = charge(to, amount);
+
+                UserPoint updateFrom = saveUserPoint(fromId, fromPoint);
+                UserPoint updateTo;
+                try {
+                    updateTo = saveUserPoint(toId, toPoint);
+                } catch (RuntimeException e) {
+                    throw rollback(e, fromId, from);
+                }
+                List<WalEvent> recorded;
+                try {
+                    recorded = pointJournal.record(List.of(
+                            new WalEvent(fromId, TransactionType.USE, amount, updateFrom.point(), updateFrom.updateMillis()),
+                            new WalEvent(toId, TransactionType.CHARGE, amount, updateTo.point(), updateTo.updateMillis())
+                    ));
+                } catch (RuntimeException e) {
+                    throw rollback(rollback(e, fromId, from), toId, to);
+                }
+                cache(updateFrom);
+                cache(updateTo);
+                writeHistory(fromId, amount, TransactionType.USE, updateFrom.point(), updateFrom.updateMillis(), recorded.get(0).historyId());
+                writeHistory(toId, amount, TransactionType.CHARGE, updateTo.point(), updateTo.updateMillis(), recorded.get(1).historyId());
+
+                return new PointTransferResult(updateFrom, updateTo);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            pointMetrics.exit(Operation.TRANSFER, fromId, start);
+        }
+    }
+
+    /**
+     * 포인트를 이체하고, 이체가 끝나면 완료되는 결과를 반환합니다.
+     * 비동기 실행기({@code point.async})에 넘기며, 사용하지 않으면 이체를 마친 결과를 반환합니다.
+     * CAS, SHARDED 방식에서는 {@link UnsupportedOperationException} 으로 완료됩니다.
+     *
+     * @see #transferUserPoint(long, long, long)
+     */
+    public CompletableFuture<PointTransferResult> transferUserPointAsync(long fromId, long toId, long amount) {
+        return supplyAsync(() -> transferUserPoint(fromId, toId, amount));
+    }
+
+    /**
+     * 여러 사용자의 충전/사용 요청을 한 번에 처리합니다.
+     * 요청을 사용자별로 묶어 서로 다른 사용자는 병렬로 처리하고, 같은 사용자의 요청은 요청 순서대로 처리합니다.
+     * SHARDED 방식에서는 요청마다 사용자를 맡은 샤드에 넘기며, 같은 사용자의 요청은 넘긴 순서대로 처리됩니다.
+     * 사용자마다 락을 한 번만 획득하고 한 번의 조회와 한 번의 저장으로 반영합니다.
+     * 최대 포인트 초과나 잔액 부족은 항목별로 판단하며, 실패한 항목은 건너뛰고 나머지 항목은 반영됩니다.
+     *
+     * @param operations 충전/사용 요청 목록
+     * @return 요청 순서와 같은 순서의 항목별 처리 결과
+     * @throws IllegalArgumentException 요청 항목 수가 최대 개수를 초과하는 경우
+     */
+    public List<PointOperationResult> bulkUpdateUserPoint(List<PointOperation> operations) {
+        PointProperties.Bulk bulk = pointProperties.getBulk();
+        if (operations.size() > bulk.getMaxSize()) {
+            throw new IllegalArgumentException("일괄 처리 요청은 최대 " + bulk.getMaxSize() + "건까지 가능합니다.");
+        }
+
+        PointCommand[] commands = new PointCommand[operations.size()];
+        Map<Long, List<PointCommand>> commandsByUser = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PointOperation operation = operations.get(i);
+            commands[i] = new PointCommand(operation.type(), operation.amount());
+            commandsByUser.computeIfAbsent(operation.userId(), l -> new ArrayList<>()).add(commands[i]);
+        }
+
+        List<Map.Entry<Long, List<PointCommand>>> userCommands = new ArrayList<>(commandsByUser.entrySet());
+        int parallelism = Math.min(bulk.resolveParallelism(), userCommands.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < parallelism; worker++) {
+                int offset = worker;
+                executor.submit(() -> {
+                    for (int i = offset; i < userCommands.size(); i += parallelism) {
+                        Map.Entry<Long, List<PointCommand>> entry = userCommands.get(i);
+                        applyAll(entry.getKey(), entry.getValue());
+                    }
+                });
+            }
         }
+
+        List<PointOperationResult> results = new ArrayList<>(commands.length);
+        for (int i = 0; i < commands.length; i++) {
+            try {
+                results.add(PointOperationResult.success(operations.get(i), commands[i].join()));
+            } catch (RuntimeException e) {
+                results.add(PointOperationResult.failure(operations.get(i), e.getMessage()));
+            }
+        }
+        return results;
     }
 
     /**
      * 제공된 사용자 ID를 기반으로 특정 사용자의 포인트 히스토리를 검색합니다.
+     * 해당 사용자의 저장 대기 중인 내역이 있다면 저장될 때까지 기다린 뒤 조회합니다.
      *
      * @param id 포인트 이력을 검색 할 사용자의 고유 식별자입니다.
      * @return 사용자의 포인트 pointhistory 객체 목록
      */
     public List<PointHistory> getUserPointHistory(long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        long start = pointMetrics.enter(id);
+        try {
+            awaitHistory(id);
+            return pointHistoryTable.selectAllByUserId(id);
+        } finally {
+            pointMetrics.exit(Operation.HISTORY, id, start);
+        }
+    }
+
+    /**
+     * 포인트 히스토리를 조회하고, 조회가 끝나면 완료되는 결과를 반환합니다.
+     * 비동기 실행기({@code point.async})를 사용하면 실행기에 넘기고 바로 반환하며, 사용하지 않으면 조회를 마친 결과를 반환합니다.
+     *
+     * @see #getUserPointHistory(long)
+     */
+    public CompletableFuture<List<PointHistory>> getUserPointHistoryAsync(long id) {
+        return supplyAsync(() -> getUserPointHistory(id));
+    }
+
+    /**
+     * 특정 사용자의 포인트 히스토리를 커서 기반으로 한 페이지만 조회합니다.
+     * 요청한 페이지에 해당하는 내역만 만들어 반환하며, 다음 페이지가 있으면 다음 커서를 함께 반환합니다.
+     *
+     * @param id 포인트 이력을 검색 할 사용자의 고유 식별자
+     * @param query 커서, 페이지 크기, 트랜잭션 종류, 기간 조건
+     * @return 조회된 내역과 다음 페이지 커서
+     */
+    public PointHistoryPage getUserPointHistoryPage(long id, PointHistoryQuery query) {
+        long start = pointMetrics.enter(id);
+        try {
+            awaitHistory(id);
+
+            List<PointHistory> histories = pointHistoryStore.findByUserId(id, query, query.limit() + 1);
+            if (histories.size() <= query.limit()) {
+                return new PointHistoryPage(histories, null);
+            }
+
+            List<PointHistory> content = histories.subList(0, query.limit());
+            return new PointHistoryPage(content, content.get(content.size() - 1).id());
+        } finally {
+            pointMetrics.exit(Operation.HISTORY, id, start);
+        }
+    }
+
+    /**
+     * 포인트 히스토리가 있는 모든 사용자의 ID 를 조회합니다.
+     *
+     * @return 사용자 ID 의 읽기 전용 뷰
+     */
+    public Set<Long> getPointHistoryUserIds() {
+        return pointHistoryStore.findAllUserIds();
+    }
+
+    /**
+     * 배치 모드로 충전/사용 요청을 처리합니다.
+     * 요청을 사용자별 대기열에 넣은 뒤 락을 획득한 스레드가 대기열에 쌓인 요청을 도착 순서대로 한 번에 처리합니다.
+     * 락을 기다리는 동안 다른 스레드가 이미 처리했다면 결과만 받아 반환합니다.
+     * 락을 얻지 못하면 대기열에서 요청을 빼고 예외를 던지므로, 거절된 요청이 다른 스레드에서 반영되지 않습니다.
+     * 이미 다른 스레드가 꺼내 처리 중이면 그 결과를 기다려 반환합니다.
+     *
+     * @param id 포인트를 충전/사용할 사용자의 고유 식별자
+     * @param command 처리할 충전/사용 요청
+     * @return 해당 요청이 반영된 시점의 사용자 포인트
+     * @throws IllegalArgumentException 해당 요청이 최대 포인트를 초과하거나 잔액이 부족한 경우
+     * @throws UserLockBusyException 락 대기자 수 상한을 넘어 요청이 반영되지 않은 경우
+     * @throws UserLockTimeoutException 락 획득 제한 시간을 넘어 요청이 반영되지 않은 경우
+     */
+    private UserPoint executeInBatch(long id, PointCommand command) {
+        ConcurrentLinkedQueue<PointCommand> queue = pendingCommandMap.computeIfAbsent(id, l -> new ConcurrentLinkedQueue<>());
+        queue.add(command);
+
+        UserLock lock;
+        try {
+            lock = lock(id);
+        } catch (RuntimeException e) {
+            if (queue.remove(command)) {
+                throw e;
+            }
+            return command.join();
+        }
+
+        try {
+            while (!command.isDone()) {
+                flush(id, queue);
+            }
+            if (queue.isEmpty()) {
+                pendingCommandMap.remove(id, queue);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return command.join();
+    }
+
+    /**
+     * 대기열에 쌓인 요청을 최대 배치 크기만큼 꺼내 반영합니다.
+     * 반드시 사용자 락을 획득한 상태에서 호출해야 합니다.
+     */
+    private void flush(long id, ConcurrentLinkedQueue<PointCommand> queue) {
+        List<PointCommand> batch = new ArrayList<>();
+        PointCommand polled;
+        while (batch.size() < pointProperties.getBatch().getMaxSize() && (polled = queue.poll()) != null) {
+            batch.add(polled);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        apply(id, batch);
+    }
+
+    /**
+     * 사용자 락을 획득한 뒤 요청 목록을 반영합니다. 락을 획득하지 못하면 모든 요청을 실패 처리합니다.
+     * CAS 방식에서는 요청마다 엔진에 반영하고, SHARDED 방식에서는 요청마다 샤드에 넘기고 기다리지 않습니다.
+     */
+    private void applyAll(long id, List<PointCommand> commands) {
+        if (casBalanceEngine != null) {
+            for (PointCommand command : commands) {
+                try {
+                    command.complete(casBalanceEngine.update(id, command.type(), command.amount(),
+                            point -> command.type() == TransactionType.CHARGE ? charge(point, command.amount()) : use(point, command.amount())));
+                } catch (RuntimeException e) {
+                    command.fail(e);
+                }
+            }
+            return;
+        }
+        if (shardedBalanceEngine != null) {
+            for (PointCommand command : commands) {
+                shardedBalanceEngine.update(id, command.type(), command.amount(), point ->
+                                command.type() == TransactionType.CHARGE ? charge(point, command.amount()) : use(point, command.amount()))
+                        .whenComplete((userPoint, e) -> {
+                            if (e == null) {
+                                command.complete(userPoint);
+                            } else {
+                                command.fail(unwrap(e));
+                            }
+                        });
+            }
+            return;
+        }
+
+        UserLock lock;
+        try {
+            lock = lock(id);
+        } catch (RuntimeException e) {
+            commands.forEach(command -> command.fail(e));
+            return;
+        }
+
+        try {
+            apply(id, commands);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청 목록을 순서대로 한 번의 조회와 한 번의 저장으로 반영합니다.
+     * 한도 초과나 잔액 부족으로 실패한 요청은 건너뛰고, 나머지 요청은 순서대로 적용됩니다.
+     * 포인트를 저장하고 로그에 기록한 뒤에는 변경이 반영된 것이므로, 내역 저장이 실패해도 요청을 실패 처리하지 않습니다.
+     * 반드시 사용자 락을 획득한 상태에서 호출해야 합니다.
+     */
+    private void apply(long id, List<PointCommand> batch) {
+        List<PointCommand> applied = new ArrayList<>(batch.size());
+        long[] appliedPoints = new long[batch.size()];
+        UserPoint updateUserPoint;
+        List<WalEvent> recorded;
+        try {
+            long previousPoint = selectPoint(id);
+            long point = previousPoint;
+            for (PointCommand command : batch) {
+                try {
+                    point = command.type() == TransactionType.CHARGE
+                            ? charge(point, command.amount())
+                            : use(point, command.amount());
+                    appliedPoints[applied.size()] = point;
+                    applied.add(command);
+                } catch (IllegalArgumentException e) {
+                    command.fail(e);
+                }
+            }
+
+            if (applied.isEmpty()) {
+                return;
+            }
+
+            updateUserPoint = saveUserPoint(id, point);
+            List<WalEvent> events = new ArrayList<>(applied.size());
+            for (int i = 0; i < applied.size(); i++) {
+                PointCommand command = applied.get(i);
+                events.add(new WalEvent(id, command.type(), command.amount(), appliedPoints[i], updateUserPoint.updateMillis()));
+            }
+            try {
+                recorded = pointJournal.record(events);
+            } catch (RuntimeException e) {
+                throw rollback(e, id, previousPoint);
+            }
+            cache(updateUserPoint);
+        } catch (RuntimeException e) {
+            if (userPointCache != null) {
+                userPointCache.invalidate(id);
+            }
+            batch.forEach(command -> command.fail(e));
+            return;
+        }
+
+        for (int i = 0; i < applied.size(); i++) {
+            PointCommand command = applied.get(i);
+            writeHistory(id, command.amount(), command.type(), appliedPoints[i], updateUserPoint.updateMillis(),
+                    recorded.get(i).historyId());
+            command.complete(new UserPoint(id, appliedPoints[i], updateUserPoint.updateMillis()));
+        }
+    }
+
+    /**
+     * CAS, 샤드 엔진의 변경 내용을 테이블, 로그, 내역에 순서대로 반영합니다. 같은 사용자에 대해서는 한 번에 한 스레드만 호출됩니다.
+     * 여러 변경을 한 번에 받으면 테이블에는 마지막 포인트만 한 번 저장합니다.
+     * 테이블 저장이나 로그 기록이 실패하면 테이블을 변경 전 포인트로 되돌리고 예외를 던지므로, 엔진은 변경을 모두 실패 처리합니다.
+     * 로그에 기록한 뒤에는 변경이 반영된 것이므로, 내역 저장이 실패해도 예외를 던지지 않습니다.
+     */
+    private void publish(long id, List<BalanceChange> changes) {
+        BalanceChange first = changes.get(0);
+        long previousPoint = first.type() == TransactionType.CHARGE
+                ? first.balance() - first.amount()
+                : first.balance() + first.amount();
+        List<WalEvent> events = new ArrayList<>(changes.size());
+        for (BalanceChange change : changes) {
+            events.add(new WalEvent(id, change.type(), change.amount(), change.balance(), change.updateMillis()));
+        }
+        saveUserPoint(id, changes.get(changes.size() - 1).balance());
+        List<WalEvent> recorded;
+        try {
+            recorded = pointJournal.record(events);
+        } catch (RuntimeException e) {
+            throw rollback(e, id, previousPoint);
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            BalanceChange change = changes.get(i);
+            writeHistory(id, change.amount(), change.type(), change.balance(), change.updateMillis(), recorded.get(i).historyId());
+        }
+    }
+
+    /**
+     * 내역 조회 전에 해당 사용자의 반영 대기 중인 변경과 저장 대기 중인 내역이 모두 저장될 때까지 기다립니다.
+     */
+    private void awaitHistory(long id) {
+        if (casBalanceEngine != null) {
+            casBalanceEngine.awaitPublished(id);
+        }
+        pointHistoryWriter.awaitWritten(id);
+    }
+
+    /**
+     * SHARDED 방식으로 충전/사용을 샤드에 넘깁니다. 멱등 키가 있으면 처음 요청만 넘기고, 다시 온 요청은 처음 요청의 결과를 받습니다.
+     */
+    private CompletableFuture<UserPoint> updateOnShard(long id, TransactionType type, long amount, String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.executeAsync(id, idempotencyKey, type, amount,
+                    () -> updateOnShard(id, type, amount));
+        }
+        return updateOnShard(id, type, amount);
+    }
+
+    private CompletableFuture<UserPoint> updateOnShard(long id, TransactionType type, long amount) {
+        long start = pointMetrics.enter(id);
+        Operation operation = type == TransactionType.CHARGE ? Operation.CHARGE : Operation.USE;
+        return shardedBalanceEngine.update(id, type, amount,
+                        point -> type == TransactionType.CHARGE ? charge(point, amount) : use(point, amount))
+                .whenComplete((userPoint, e) -> pointMetrics.exit(operation, id, start));
+    }
+
+    private static void validateTransfer(long fromId, long toId, long amount) {
+        if (fromId == toId) {
+            throw new IllegalArgumentException("자기 자신에게 포인트를 이체할 수 없습니다.");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("이체 금액은 0보다 커야 합니다.");
+        }
+    }
+
+    /**
+     * 비동기 실행기가 있으면 실행기에 넘기고 바로 반환합니다. 실행기의 대기열이 가득 차면 RejectedExecutionException 으로 완료됩니다.
+     * 비동기 실행기가 없으면 요청 스레드에서 처리를 마치고, 결과나 예외로 완료된 결과를 반환합니다.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        if (asyncExecutor != null) {
+            try {
+                return CompletableFuture.supplyAsync(operation, asyncExecutor);
+            } catch (RejectedExecutionException e) {
+                pointMetrics.reject(RejectionReason.ASYNC_QUEUE_FULL);
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 처리 결과를 기다려 반환합니다. 실패한 경우 원래 예외를 그대로 던집니다.
+     */
+    private static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+    }
+
+    /**
+     * 사용자 락을 획득합니다. 락 대기 시간과, 해제 시 락 보유 시간을 기록합니다.
+     */
+    private UserLock lock(long id) {
+        return measure(() -> userLockManager.lock(id));
+    }
+
+    /**
+     * 두 사용자의 락을 전역 순서대로 획득합니다. 락 대기 시간과, 해제 시 락 보유 시간을 기록합니다.
+     */
+    private UserLock lock(long id, long otherId) {
+        return measure(() -> userLockManager.lock(id, otherId));
+    }
+
+    /**
+     * 락 대기 시간과 보유 시간을 기록합니다. 대기자 수 상한이나 제한 시간으로 락을 얻지 못하면 거절로 기록합니다.
+     */
+    private UserLock measure(Supplier<UserLock> acquire) {
+        long start = System.nanoTime();
+        UserLock lock;
+        try {
+            lock = acquire.get();
+        } catch (UserLockBusyException e) {
+            pointMetrics.reject(RejectionReason.LOCK_BUSY);
+            throw e;
+        } catch (UserLockTimeoutException e) {
+            pointMetrics.reject(RejectionReason.LOCK_TIMEOUT);
+            throw e;
+        }
+        long acquired = System.nanoTime();
+        pointMetrics.recordLockWait(acquired - start);
+
+        return () -> {
+            lock.unlock();
+            pointMetrics.recordLockHold(System.nanoTime() - acquired);
+        };
+    }
+
+    private UserPoint selectUserPoint(long id) {
+        long start = System.nanoTime();
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT, start);
+        }
+    }
+
+    /**
+     * 충전/사용/이체처럼 포인트만 필요할 때 사용자 포인트 레코드를 만들지 않고 포인트를 조회합니다.
+     */
+    private long selectPoint(long id) {
+        long start = System.nanoTime();
+        try {
+            return UserPointStore.selectPoint(userPointTable, id);
+        } finally {
+            pointMetrics.recordTableCall(TableCall.USER_POINT_SELECT, start);
+        }
+    }
+
+    /**
+     * 사용자 포인트를 저장하고 포인트 순위에 반영합니다. 같은 사용자에 대해서는 한 번에 한 스레드만 호출됩니다.
+     */
+    private UserPoint saveUserPoint(long id, long point) {
+        long start = System.nanoTime();
+        UserPoint userPoint;
+        try {
+            userPoint = userPointTable.insertOrUpdate(id, point);
+        } finally {
+            pointMetrics.recordTableCall(TableCall.USER_POINT_UPSERT, start);
+        }
+        if (pointAggregator != null && userPoint != null) {
+            pointAggregator.recordBalance(userPoint);
+        }
+        return userPoint;
+    }
+
+    /**
+     * 포인트 내역을 저장하고, 저장이 끝나면 집계에 더합니다.
+     * 집계와 변경 이벤트는 내역이 저장된 뒤 반영하므로, 내역을 비동기로 저장하면 저장하는 스레드에서 반영되고 저장에 실패한 내역은 반영되지 않습니다.
+     * 포인트를 저장하고 로그에 기록한 뒤 호출하므로, 저장에 실패해도 변경은 반영된 것으로 보고 예외를 던지지 않고 오류 로그를 남깁니다.
+     * 저장에 실패하면 기록할 때 정한 내역 ID 를 돌려줍니다. 비동기로 저장하면 저장하는 스레드가 같은 사용자의 다음 내역을 저장하기 전에 돌려줍니다.
+     *
+     * @param historyId 로그에 기록할 때 정한 내역 ID, 기록하지 않았으면 0
+     */
+    private void writeHistory(long id, long amount, TransactionType type, long balance, long updateMillis, long historyId) {
+        CompletableFuture<PointHistory> written;
+        try {
+            written = pointHistoryWriter.write(id, amount, type, updateMillis);
+        } catch (RuntimeException e) {
+            log.error("포인트 내역 저장에 실패했습니다. userId={}, amount={}, type={}", id, amount, type, e);
+            pointJournal.release(id, historyId);
+            restartChangeFeed(id, e);
+            return;
+        }
+        if (historyId != 0L) {
+            written.whenComplete((history, e) -> {
+                if (e != null) {
+                    pointJournal.release(id, historyId);
+                }
+            });
+        }
+        if (pointAggregator != null) {
+            written.thenAccept(history -> pointAggregator.recordHistory(id, type, amount, updateMillis));
+        }
+        if (pointChangeFeed != null) {
+            written.whenComplete((history, e) -> {
+                if (e != null) {
+                    restartChangeFeed(id, e);
+                    return;
+                }
+                try {
+                    pointChangeFeed.publish(history, balance);
+                } catch (RuntimeException publishFailure) {
+                    restartChangeFeed(id, publishFailure);
+                }
+            });
+        }
+    }
+
+    /**
+     * 내역 저장이나 이벤트 추가에 실패해 변경 이벤트로 보내지 못한 변경이 생기면, 변경 이벤트의 세대를 새로 정합니다.
+     * 이전 세대의 커서로 구독하던 구독자는 expired 이벤트를 받고 포인트를 다시 조회하므로, 빠진 변경을 모른 채 이어서 받지 않습니다.
+     */
+    private void restartChangeFeed(long id, Throwable cause) {
+        if (pointChangeFeed == null) {
+            return;
+        }
+        log.error("포인트 변경 이벤트를 추가하지 못해 변경 이벤트의 세대를 새로 정합니다. userId={}", id, cause);
+        pointChangeFeed.restart();
+    }
+
+    /**
+     * 로그에 기록하지 못했거나 이체 중 받는 사용자의 저장이 실패한 변경을 되돌립니다. 변경 전 포인트를 다시 저장하고 캐시에서 지웁니다.
+     * 로그에 남지 않은 포인트는 재시작하면 사라지므로, 기록에 실패한 변경은 반영하지 않습니다.
+     * 되돌리는 저장마저 실패하면 원래 원인을 유지한 채 오류 로그를 남깁니다.
+     * 반드시 사용자 락을 획득한 상태에서 호출해야 합니다.
+     *
+     * @param cause 변경이 실패한 원인
+     * @param id 되돌릴 사용자의 고유 식별자
+     * @param previousPoint 변경 전 포인트
+     * @return 되돌리다 실패하면 그 예외를 덧붙인 cause
+     */
+    private RuntimeException rollback(RuntimeException cause, long id, long previousPoint) {
+        try {
+            saveUserPoint(id, previousPoint);
+        } catch (RuntimeException e) {
+            log.error("변경 전 포인트로 되돌리지 못했습니다. userId={}, point={}", id, previousPoint, e);
+            cause.addSuppressed(e);
+        }
+        if (userPointCache != null) {
+            userPointCache.invalidate(id);
+        }
+        return cause;
+    }
+
+    /**
+     * 변경된 사용자 포인트를 캐시에 반영합니다. 반드시 사용자 락을 획득한 상태에서 호출해야 합니다.
+     */
+    private void cache(UserPoint userPoint) {
+        if (userPointCache != null) {
+            userPointCache.put(userPoint);
+        }
+    }
+
+    /**
+     * 충전 후 포인트를 계산합니다.
+     * @throws IllegalArgumentException 충전 금액 또는 충전 후 포인트가 최대 포인트를 초과하는 경우
+     */
+    private long charge(long point, long amount) {
+        long updatedPoint = point + amount;
+        if(amount > MAX_POINT || updatedPoint > MAX_POINT) {
+            pointMetrics.reject(RejectionReason.MAX_POINT);
+            throw new IllegalArgumentException("유저의 포인트 초과입니다.");
+        }
+        return updatedPoint;
+    }
+
+    /**
+     * 사용 후 포인트를 계산합니다.
+     * @throws IllegalArgumentException 사용 후 포인트가 0 미만이 되는 경우
+     */
+    private long use(long point, long amount) {
+        long updatedPoint = point - amount;
+        if(updatedPoint < 0) {
+            pointMetrics.reject(RejectionReason.INSUFFICIENT_BALANCE);
+            throw new IllegalArgumentException("유저의 포인트가 부족합니다.");
+        }
+        return updatedPoint;
+    }
+
+    /**
+     * PointService 를 만드는 빌더
+     * 내역 저장소, 설정, 측정기, 내역 저장기, 변경 로그를 지정하지 않으면 build 할 때 테이블과 설정으로 기본값을 만듭니다.
+     * 테이블을 목으로 대신하면 내역 페이지 조회에 사용할 내역 저장소를 함께 넘깁니다.
+     */
+    public static final class Builder {
+
+        private final UserPointTable userPointTable;
+        private final PointHistoryTable pointHistoryTable;
+        private PointHistoryStore pointHistoryStore;
+        private PointProperties pointProperties;
+        private PointHistoryWriter pointHistoryWriter;
+        private PointMetrics pointMetrics;
+        private PointJournal pointJournal;
+
+        private Builder(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+            this.userPointTable = userPointTable;
+            this.pointHistoryTable = pointHistoryTable;
+        }
+
+        public Builder pointHistoryStore(PointHistoryStore pointHistoryStore) {
+            this.pointHistoryStore = pointHistoryStore;
+            return this;
+        }
+
+        public Builder pointProperties(PointProperties pointProperties) {
+            this.pointProperties = pointProperties;
+            return this;
+        }
+
+        public Builder pointHistoryWriter(PointHistoryWriter pointHistoryWriter) {
+            this.pointHistoryWriter = pointHistoryWriter;
+            return this;
+        }
+
+        public Builder pointMetrics(PointMetrics pointMetrics) {
+            this.pointMetrics = pointMetrics;
+            return this;
+        }
+
+        public Builder pointJournal(PointJournal pointJournal) {
+            this.pointJournal = pointJournal;
+            return this;
+        }
+
+        public PointService build() {
+            return new PointService(withDefaults());
+        }
+
+        private Builder withDefaults() {
+            if (pointHistoryStore == null) {
+                pointHistoryStore = PointHistoryStore.of(pointHistoryTable);
+            }
+            if (pointProperties == null) {
+                pointProperties = new PointProperties();
+            }
+            if (pointMetrics == null) {
+                pointMetrics = PointMetrics.noop();
+            }
+            if (pointHistoryWriter == null) {
+                pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointProperties, pointMetrics);
+            }
+            if (pointJournal == null) {
+                pointJournal = new PointJournal(UserPointStore.of(userPointTable), pointHistoryStore, pointProperties);
+            }
+            return this;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청
+ *
+ * @param toUserId 포인트를 받을 사용자의 고유 식별자
+ * @param amount 이체할 포인트 금액
+ */
+public record PointTransferRequest(
+        long toUserId,
+        long amount
+) {
+}
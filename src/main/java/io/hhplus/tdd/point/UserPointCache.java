@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자 포인트 캐시
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 항목을 제거(LRU)하고, TTL 이 지난 항목은 조회 시 제거합니다.
+ * 적중/미스/제거 횟수를 기록합니다.
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않도록 synchronized 대신 ReentrantLock 으로 보호합니다.
+ */
+public class UserPointCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Long, Entry> entryMap;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    UserPointCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entryMap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                boolean evict = size() > UserPointCache.this.maxSize;
+                if (evict) {
+                    evictionCount.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 사용자 포인트를 반환합니다.
+     *
+     * @return 캐시된 사용자 포인트, 없거나 만료되었으면 null
+     */
+    public UserPoint get(long id) {
+        lock.lock();
+        try {
+            Entry entry = entryMap.get(id);
+            if (entry != null && entry.expiresAt() - nanoClock.getAsLong() <= 0) {
+                entryMap.remove(id);
+                evictionCount.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.userPoint();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(UserPoint userPoint) {
+        lock.lock();
+        try {
+            entryMap.put(userPoint.id(), new Entry(userPoint, nanoClock.getAsLong() + ttlNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(long id) {
+        lock.lock();
+        try {
+            entryMap.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        lock.lock();
+        try {
+            size = entryMap.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private record Entry(UserPoint userPoint, long expiresAt) {
+    }
+
+    /**
+     * 캐시 통계
+     *
+     * @param hitCount 적중 횟수
+     * @param missCount 미스 횟수
+     * @param evictionCount 크기 초과 또는 만료로 제거된 횟수
+     * @param size 현재 캐시된 항목 수
+     */
+    public record Stats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            int size
+    ) {
+    }
+}
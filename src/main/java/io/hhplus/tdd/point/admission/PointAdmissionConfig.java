@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 포인트 API 에 요청 수 제한 인터셉터를 등록합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PointAdmissionConfig implements WebMvcConfigurer {
+
+    private final PointAdmissionInterceptor pointAdmissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(pointAdmissionInterceptor).addPathPatterns("/point", "/point/**");
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.admission;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.RejectionReason;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 포인트 API 요청을 컨트롤러에 넘기기 전에 요청 수 한도를 확인합니다.
+ * 경로에 사용자 ID 가 있으면 사용자별 한도와 전체 한도를, 없으면(이체, 일괄 처리 등) 전체 한도만 확인합니다.
+ * 한도를 넘은 요청은 {@link RateLimitExceededException} 으로 거절되어 서비스와 사용자 락에 닿지 않습니다.
+ */
+@Component
+public class PointAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String USER_ID_VARIABLE = "id";
+
+    private final PointMetrics pointMetrics;
+
+    // 요청 수 제한을 사용하지 않으면 null
+    private final PointRateLimiter rateLimiter;
+
+    public PointAdmissionInterceptor(PointProperties pointProperties, PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+        PointProperties.Admission admission = pointProperties.getAdmission();
+        this.rateLimiter = admission.isEnabled()
+                ? new PointRateLimiter(admission.getUserRate(), admission.getUserBurst(), admission.getGlobalRate(),
+                admission.getGlobalBurst(), admission.getMaxTrackedUsers())
+                : null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 응답을 돌려주는 재디스패치는 이미 한도를 확인한 요청입니다.
+        if (rateLimiter == null || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        try {
+            Long userId = userId(request);
+            if (userId != null) {
+                rateLimiter.acquire(userId);
+            } else {
+                rateLimiter.acquireGlobal();
+            }
+        } catch (RateLimitExceededException e) {
+            pointMetrics.reject(e.getScope() == RateLimitExceededException.Scope.USER
+                    ? RejectionReason.USER_RATE_LIMIT
+                    : RejectionReason.GLOBAL_RATE_LIMIT);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 요청 수 제한 통계를 반환합니다. 요청 수 제한을 사용하지 않으면 null 을 반환합니다.
+     */
+    public PointRateLimiter.Stats getStats() {
+        return rateLimiter != null ? rateLimiter.stats() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long userId(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || !variables.containsKey(USER_ID_VARIABLE)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(variables.get(USER_ID_VARIABLE));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
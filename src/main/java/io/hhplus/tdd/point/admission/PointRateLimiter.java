@@ -0,0 +1,174 @@
+package io.hhplus.tdd.point.admission;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 사용자별, 전체 요청 수를 토큰 버킷으로 제한합니다.
+ * 사용자 한도를 먼저 확인하므로, 한 사용자에게 몰린 요청은 전체 한도를 소모하지 않고 거절됩니다.
+ * 전체 한도로 거절되면 꺼낸 사용자 토큰을 되돌리므로, 전체 한도에 걸린 요청이 사용자 한도를 소모하지 않습니다.
+ * 사용자 버킷이 maxTrackedUsers 에 도달하면 토큰이 가득 찬(한동안 요청이 없던) 사용자의 버킷을 지우고,
+ * 그래도 남으면 토큰이 많이 남은 버킷부터 maxTrackedUsers 의 90% 까지 지웁니다. 이렇게 지운 사용자는 다음 요청에서 새 버킷을 받습니다.
+ */
+public class PointRateLimiter {
+
+    private final double userRate;
+    private final int userBurst;
+    private final int maxTrackedUsers;
+    private final LongSupplier nanoClock;
+
+    // 전체 요청 버킷, 전체 한도를 두지 않으면 null
+    private final TokenBucket globalBucket;
+    private final ConcurrentHashMap<Long, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    // 정리 후 남길 최대 사용자 버킷 수
+    private final int sweepTarget;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder userRejectedCount = new LongAdder();
+    private final LongAdder globalRejectedCount = new LongAdder();
+
+    /**
+     * @param userRate 사용자별 초당 허용 요청 수, 0 이면 사용자별로 제한하지 않습니다
+     * @param userBurst 사용자별로 한 번에 허용하는 최대 요청 수
+     * @param globalRate 전체 초당 허용 요청 수, 0 이면 전체 요청 수를 제한하지 않습니다
+     * @param globalBurst 전체로 한 번에 허용하는 최대 요청 수
+     * @param maxTrackedUsers 보관할 최대 사용자 버킷 수
+     */
+    public PointRateLimiter(double userRate, int userBurst, double globalRate, int globalBurst, int maxTrackedUsers) {
+        this(userRate, userBurst, globalRate, globalBurst, maxTrackedUsers, System::nanoTime);
+    }
+
+    PointRateLimiter(double userRate, int userBurst, double globalRate, int globalBurst, int maxTrackedUsers,
+                     LongSupplier nanoClock) {
+        this.userRate = userRate;
+        this.userBurst = userBurst;
+        this.maxTrackedUsers = maxTrackedUsers;
+        this.sweepTarget = maxTrackedUsers - maxTrackedUsers / 10;
+        this.nanoClock = nanoClock;
+        this.globalBucket = globalRate > 0 ? new TokenBucket(globalRate, globalBurst, nanoClock.getAsLong()) : null;
+    }
+
+    /**
+     * 사용자 요청 하나를 허용할지 확인합니다.
+     *
+     * @throws RateLimitExceededException 사용자별 또는 전체 한도를 넘은 경우
+     */
+    public void acquire(long userId) {
+        long now = nanoClock.getAsLong();
+        if (userRate <= 0) {
+            acquireGlobal(now);
+            return;
+        }
+        TokenBucket bucket = acquireUser(userId, now);
+        try {
+            acquireGlobal(now);
+        } catch (RateLimitExceededException e) {
+            bucket.refund();
+            throw e;
+        }
+    }
+
+    /**
+     * 특정 사용자가 아닌 요청 하나를 전체 한도 안에서 허용할지 확인합니다.
+     *
+     * @throws RateLimitExceededException 전체 한도를 넘은 경우
+     */
+    public void acquireGlobal() {
+        acquireGlobal(nanoClock.getAsLong());
+    }
+
+    public Stats stats() {
+        return new Stats(userRejectedCount.sum(), globalRejectedCount.sum(), userBuckets.size());
+    }
+
+    /**
+     * 사용자 버킷에서 토큰 하나를 꺼내고, 꺼낸 버킷을 반환합니다.
+     * 찾은 버킷이 그 사이 정리되었으면 새 버킷에서 다시 확인합니다.
+     */
+    private TokenBucket acquireUser(long userId, long now) {
+        while (true) {
+            TokenBucket bucket = userBuckets.get(userId);
+            if (bucket == null) {
+                sweepIfFull(now);
+                bucket = userBuckets.computeIfAbsent(userId, id -> new TokenBucket(userRate, userBurst, now));
+            }
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos == TokenBucket.RETIRED) {
+                userBuckets.remove(userId, bucket);
+                continue;
+            }
+            if (waitNanos > 0) {
+                userRejectedCount.increment();
+                throw new RateLimitExceededException(RateLimitExceededException.Scope.USER,
+                        "사용자 요청 한도를 초과했습니다. userId=" + userId, Duration.ofNanos(waitNanos));
+            }
+            return bucket;
+        }
+    }
+
+    private void acquireGlobal(long now) {
+        if (globalBucket == null) {
+            return;
+        }
+        long waitNanos = globalBucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            globalRejectedCount.increment();
+            throw new RateLimitExceededException(RateLimitExceededException.Scope.GLOBAL,
+                    "전체 요청 한도를 초과했습니다.", Duration.ofNanos(waitNanos));
+        }
+    }
+
+    /**
+     * 사용자 버킷이 최대 개수에 도달했으면 토큰이 가득 찬 버킷을 지우고, 그래도 sweepTarget 보다 많으면 토큰이 많이 남은 버킷부터 지웁니다.
+     * 한 번에 한 스레드만 지우며, 지우는 동안 다른 스레드가 추가한 버킷만큼은 잠시 최대 개수를 넘을 수 있습니다.
+     */
+    private void sweepIfFull(long now) {
+        if (userBuckets.size() < maxTrackedUsers || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<SweepCandidate> candidates = new ArrayList<>(userBuckets.size());
+            for (Map.Entry<Long, TokenBucket> entry : userBuckets.entrySet()) {
+                TokenBucket bucket = entry.getValue();
+                if (bucket.retireIfFull(now)) {
+                    userBuckets.remove(entry.getKey(), bucket);
+                } else {
+                    candidates.add(new SweepCandidate(entry.getKey(), bucket, bucket.theoreticalArrival()));
+                }
+            }
+
+            int excess = userBuckets.size() - sweepTarget;
+            if (excess <= 0) {
+                return;
+            }
+            candidates.sort(Comparator.comparingLong(SweepCandidate::theoreticalArrival));
+            for (SweepCandidate candidate : candidates.subList(0, Math.min(excess, candidates.size()))) {
+                candidate.bucket().retire();
+                userBuckets.remove(candidate.userId(), candidate.bucket());
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * 정리할 때 확인한 사용자 버킷, 정렬하는 동안 바뀌지 않도록 확인한 시점의 TAT 를 함께 담습니다.
+     */
+    private record SweepCandidate(long userId, TokenBucket bucket, long theoreticalArrival) {
+    }
+
+    /**
+     * @param userRejectedCount 사용자별 한도로 거절한 횟수
+     * @param globalRejectedCount 전체 한도로 거절한 횟수
+     * @param trackedUsers 보관 중인 사용자 버킷 수
+     */
+    public record Stats(long userRejectedCount, long globalRejectedCount, int trackedUsers) {
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.admission;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 또는 전체 요청 한도를 넘었을 때 발생합니다.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Scope scope;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(Scope scope, String message, Duration retryAfter) {
+        super(message);
+        this.scope = scope;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * 넘은 한도의 범위
+     */
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * 다음 요청이 허용될 때까지 남은 시간
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * 요청 한도 범위
+     * - USER : 사용자별 한도
+     * - GLOBAL : 전체 한도
+     */
+    public enum Scope {
+        USER, GLOBAL
+    }
+}
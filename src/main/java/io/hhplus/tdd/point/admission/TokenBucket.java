@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 rate 개의 토큰이 채워지고 최대 burst 개까지 쌓이는 토큰 버킷
+ * 토큰 수 대신 다음 토큰이 채워질 이론상 시각(TAT) 하나만 CAS 로 갱신하므로 락과 객체 생성 없이 동작합니다.
+ * 요청은 TAT 가 현재 시각보다 burst 개 분량 이상 앞서 있지 않을 때 허용됩니다.
+ * 지운 버킷은 TAT 를 RETIRED 로 바꿔 두므로, 지우기 전에 버킷을 찾은 요청은 토큰을 꺼내지 못하고 새 버킷에서 다시 확인합니다.
+ */
+final class TokenBucket {
+
+    /**
+     * 지운 버킷에서 토큰을 꺼내려 할 때 {@link #tryAcquire(long)} 가 반환하는 값
+     */
+    static final long RETIRED = -1L;
+
+    private static final long RETIRED_ARRIVAL = Long.MIN_VALUE;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param rate 초당 채워지는 토큰 수
+     * @param burst 최대로 쌓이는 토큰 수
+     * @param now 현재 시각(ns)
+     */
+    TokenBucket(double rate, int burst, long now) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / rate));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * 토큰 하나를 꺼냅니다.
+     *
+     * @param now 현재 시각(ns)
+     * @return 0 이면 허용, 0 보다 크면 다음 토큰이 채워질 때까지 남은 시간(ns), 지운 버킷이면 {@link #RETIRED}
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            if (current == RETIRED_ARRIVAL) {
+                return RETIRED;
+            }
+            long next = Math.max(current, now) + intervalNanos;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 꺼낸 토큰 하나를 되돌립니다. 토큰을 꺼낸 뒤 다른 한도로 요청이 거절된 경우 호출합니다.
+     */
+    void refund() {
+        while (true) {
+            long current = theoreticalArrival.get();
+            if (current == RETIRED_ARRIVAL || theoreticalArrival.compareAndSet(current, current - intervalNanos)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 토큰이 가득 차 있으면 버킷을 지운 상태로 바꾸고 true 를 반환합니다. 가득 찬 버킷은 지워도 새로 만든 버킷과 같습니다.
+     * 확인한 뒤 토큰을 꺼낸 요청이 있으면 바꾸지 않습니다.
+     */
+    boolean retireIfFull(long now) {
+        long current = theoreticalArrival.get();
+        return current != RETIRED_ARRIVAL && current - now <= 0 && theoreticalArrival.compareAndSet(current, RETIRED_ARRIVAL);
+    }
+
+    /**
+     * 남은 토큰과 관계없이 버킷을 지운 상태로 바꿉니다.
+     */
+    void retire() {
+        theoreticalArrival.set(RETIRED_ARRIVAL);
+    }
+
+    /**
+     * 다음 토큰이 채워질 이론상 시각(ns), 작을수록 토큰이 많이 남아 있습니다
+     */
+    long theoreticalArrival() {
+        return theoreticalArrival.get();
+    }
+}
@@ -0,0 +1,155 @@
+package io.hhplus.tdd.point.aggregate;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 포인트 내역과 포인트 변경을 기록할 때마다 집계를 갱신해, 내역 테이블을 다시 읽지 않고 집계를 조회합니다.
+ * - 사용자별 충전/사용 합계와 횟수 : 사용자 ID 로 바로 찾습니다.
+ * - 구간별(시간/일) 모든 사용자의 충전/사용 합계와 횟수 : 구간 시작 시각 순으로 정렬해 최근 구간만 보관합니다.
+ * - 포인트 순위 : 포인트 내림차순(같으면 사용자 ID 오름차순)으로 정렬된 skip list 에서 앞에서부터 읽습니다.
+ * 재시작 전의 내역과 포인트는 시작할 때 복원한 상태로 채웁니다({@code PointService#start()}).
+ */
+public class PointAggregator {
+
+    private static final int CHARGE_AMOUNT = 0;
+    private static final int CHARGE_COUNT = 1;
+    private static final int USE_AMOUNT = 2;
+    private static final int USE_COUNT = 3;
+
+    private static final Comparator<UserPoint> RANKING_ORDER = Comparator.comparingLong(UserPoint::point).reversed()
+            .thenComparingLong(UserPoint::id);
+
+    private final ConcurrentHashMap<Long, AtomicLongArray> userTotals = new ConcurrentHashMap<>();
+    private final Map<RollupWindow, Rollups> rollups = new EnumMap<>(RollupWindow.class);
+
+    // 사용자별 마지막 포인트와, 같은 포인트를 포인트 순으로 정렬한 순위
+    private final ConcurrentHashMap<Long, UserPoint> balances = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<UserPoint> ranking = new ConcurrentSkipListSet<>(RANKING_ORDER);
+
+    /**
+     * @param hourlyRetention 보관할 시간 구간 수
+     * @param dailyRetention 보관할 일 구간 수
+     */
+    public PointAggregator(int hourlyRetention, int dailyRetention) {
+        if (hourlyRetention <= 0 || dailyRetention <= 0) {
+            throw new IllegalArgumentException("보관할 구간 수는 0보다 커야 합니다.");
+        }
+        rollups.put(RollupWindow.HOUR, new Rollups(RollupWindow.HOUR, hourlyRetention));
+        rollups.put(RollupWindow.DAY, new Rollups(RollupWindow.DAY, dailyRetention));
+    }
+
+    /**
+     * 저장한 포인트 내역 하나를 사용자별, 구간별 집계에 더합니다.
+     */
+    public void recordHistory(long userId, TransactionType type, long amount, long updateMillis) {
+        add(userTotals.computeIfAbsent(userId, id -> new AtomicLongArray(4)), type, amount);
+        for (Rollups rollup : rollups.values()) {
+            rollup.record(type, amount, updateMillis);
+        }
+    }
+
+    /**
+     * 저장한 사용자 포인트로 순위를 갱신합니다.
+     * 이전 포인트를 지우고 새 포인트를 넣으므로, 같은 사용자에 대해서는 한 번에 한 스레드만 호출해야 합니다.
+     */
+    public void recordBalance(UserPoint userPoint) {
+        UserPoint previous = balances.put(userPoint.id(), userPoint);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(userPoint);
+    }
+
+    /**
+     * 사용자의 충전/사용 합계와 횟수를 반환합니다. 기록이 없으면 모두 0 입니다.
+     */
+    public UserPointAggregate aggregate(long userId) {
+        AtomicLongArray totals = userTotals.get(userId);
+        if (totals == null) {
+            return UserPointAggregate.empty(userId);
+        }
+        return new UserPointAggregate(userId, totals.get(CHARGE_AMOUNT), totals.get(CHARGE_COUNT),
+                totals.get(USE_AMOUNT), totals.get(USE_COUNT));
+    }
+
+    /**
+     * 최근 구간부터 최대 limit 개의 구간 집계를 반환합니다. 기록이 없는 구간은 포함하지 않습니다.
+     */
+    public List<PointRollup> rollups(RollupWindow window, int limit) {
+        return rollups.get(window).latest(limit);
+    }
+
+    /**
+     * 포인트가 많은 순서로 최대 limit 명의 사용자 포인트를 반환합니다.
+     * 순위를 갱신하는 중인 사용자는 잠시 빠질 수 있습니다.
+     */
+    public List<UserPoint> leaderboard(int limit) {
+        List<UserPoint> result = new ArrayList<>(Math.min(limit, 64));
+        Iterator<UserPoint> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static void add(AtomicLongArray counters, TransactionType type, long amount) {
+        if (type == TransactionType.CHARGE) {
+            counters.addAndGet(CHARGE_AMOUNT, amount);
+            counters.incrementAndGet(CHARGE_COUNT);
+        } else {
+            counters.addAndGet(USE_AMOUNT, amount);
+            counters.incrementAndGet(USE_COUNT);
+        }
+    }
+
+    /**
+     * 한 종류의 구간 집계, 구간 시작 시각을 키로 최근 retention 개의 구간만 보관합니다.
+     */
+    private static final class Rollups {
+
+        private final RollupWindow window;
+        private final long retentionMillis;
+        private final ConcurrentSkipListMap<Long, AtomicLongArray> buckets = new ConcurrentSkipListMap<>();
+
+        Rollups(RollupWindow window, int retention) {
+            this.window = window;
+            this.retentionMillis = retention * window.getMillis();
+        }
+
+        void record(TransactionType type, long amount, long updateMillis) {
+            long start = window.startOf(updateMillis);
+            AtomicLongArray counters = buckets.get(start);
+            if (counters == null) {
+                counters = buckets.computeIfAbsent(start, key -> new AtomicLongArray(4));
+                // 새 구간이 생기면 보관 기간이 지난 구간을 지웁니다
+                buckets.headMap(buckets.lastKey() - retentionMillis, true).clear();
+            }
+            add(counters, type, amount);
+        }
+
+        List<PointRollup> latest(int limit) {
+            List<PointRollup> result = new ArrayList<>(Math.min(limit, 64));
+            for (Map.Entry<Long, AtomicLongArray> entry : buckets.descendingMap().entrySet()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                AtomicLongArray counters = entry.getValue();
+                result.add(new PointRollup(window, entry.getKey(), counters.get(CHARGE_AMOUNT), counters.get(CHARGE_COUNT),
+                        counters.get(USE_AMOUNT), counters.get(USE_COUNT)));
+            }
+            return result;
+        }
+    }
+}
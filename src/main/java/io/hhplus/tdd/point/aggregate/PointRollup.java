@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.aggregate;
+
+/**
+ * 한 구간 동안 모든 사용자의 충전/사용 합계와 횟수
+ *
+ * @param window 집계 구간
+ * @param startMillis 구간 시작 시각 (포함)
+ * @param chargeAmount 충전한 포인트 합계
+ * @param chargeCount 충전 횟수
+ * @param useAmount 사용한 포인트 합계
+ * @param useCount 사용 횟수
+ */
+public record PointRollup(
+        RollupWindow window,
+        long startMillis,
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount
+) {
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.aggregate;
+
+import java.time.Duration;
+
+/**
+ * 포인트 내역 집계 구간
+ * 구간은 epoch(UTC) 기준으로 나눕니다.
+ */
+public enum RollupWindow {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final long millis;
+
+    RollupWindow(Duration duration) {
+        this.millis = duration.toMillis();
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * 해당 시각이 속한 구간의 시작 시각을 반환합니다.
+     */
+    public long startOf(long updateMillis) {
+        return Math.floorDiv(updateMillis, millis) * millis;
+    }
+}
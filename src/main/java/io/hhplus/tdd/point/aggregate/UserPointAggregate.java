@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.aggregate;
+
+/**
+ * 사용자의 충전/사용 합계와 횟수
+ *
+ * @param userId 사용자의 고유 식별자
+ * @param chargeAmount 충전한 포인트 합계
+ * @param chargeCount 충전 횟수
+ * @param useAmount 사용한 포인트 합계
+ * @param useCount 사용 횟수
+ */
+public record UserPointAggregate(
+        long userId,
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount
+) {
+
+    public static UserPointAggregate empty(long userId) {
+        return new UserPointAggregate(userId, 0, 0, 0, 0);
+    }
+}
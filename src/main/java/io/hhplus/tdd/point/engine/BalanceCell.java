@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.engine;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한 사용자의 포인트와 반영 순번
+ * 포인트(하위 32비트)와 순번(상위 32비트)을 하나의 long 으로 묶어 한 번의 CAS 로 함께 바꿉니다.
+ * 순번은 변경마다 1 씩 증가하며, 변경 내용은 순번 순서대로 테이블과 내역에 반영됩니다.
+ * 반영에 실패하면 failure 가 기록되고, 이후에는 변경을 받지 않으며 엔진이 테이블에서 새로 읽은 셀로 바꿉니다.
+ * 모든 변경이 반영된 셀은 상태를 {@link #RETIRED} 로 CAS 해 버릴 수 있고, 버린 셀도 변경을 받지 않으며 다음 사용 때 테이블에서 다시 읽습니다.
+ */
+final class BalanceCell extends AtomicLong {
+
+    private static final long BALANCE_MASK = 0xFFFF_FFFFL;
+    // 버린 셀의 상태, 포인트는 BALANCE_MASK 보다 작으므로 변경으로는 만들어지지 않습니다
+    static final long RETIRED = -1L;
+
+    final long userId;
+    volatile long updateMillis;
+
+    // 반영을 기다리는 변경, 반영 중인 스레드가 꺼내 순번 순서로 정렬합니다
+    final ConcurrentLinkedQueue<CasBalanceEngine.Pending> inbox = new ConcurrentLinkedQueue<>();
+    // 앞선 순번이 아직 도착하지 않아 반영하지 못한 변경, publishing 을 획득한 스레드만 사용합니다
+    final PriorityQueue<CasBalanceEngine.Pending> ordered = new PriorityQueue<>(2, (a, b) -> a.seq() - b.seq());
+    final AtomicBoolean publishing = new AtomicBoolean();
+    // 테이블과 내역에 반영된 마지막 순번
+    volatile int publishedSeq;
+    // 반영에 실패한 원인, 실패하지 않았으면 null
+    volatile RuntimeException failure;
+    // 마지막으로 버릴 셀을 찾은 뒤 사용되었는지 여부
+    volatile boolean used = true;
+
+    BalanceCell(long userId, long balance, long updateMillis) {
+        super(pack(0, balance));
+        this.userId = userId;
+        this.updateMillis = updateMillis;
+    }
+
+    static long pack(int seq, long balance) {
+        if (balance < 0 || balance >= BALANCE_MASK) {
+            throw new IllegalStateException("포인트가 표현 범위를 벗어났습니다. balance=" + balance);
+        }
+        return ((long) seq << 32) | balance;
+    }
+
+    /**
+     * 반영을 기다리는 변경이 없으면 셀을 버립니다. 변경과 같은 상태를 CAS 하므로, 버린 뒤에는 변경이 이 셀에 반영되지 않습니다.
+     * 반영에 실패한 셀은 이미 변경을 받지 않으므로 그대로 버립니다.
+     *
+     * @return 버렸으면 true
+     */
+    boolean retire() {
+        if (failure != null) {
+            return true;
+        }
+        long state = get();
+        return state != RETIRED && seq(state) == publishedSeq && inbox.isEmpty() && compareAndSet(state, RETIRED);
+    }
+
+    boolean retired() {
+        return get() == RETIRED;
+    }
+
+    static long balance(long state) {
+        return state & BALANCE_MASK;
+    }
+
+    static int seq(long state) {
+        return (int) (state >>> 32);
+    }
+}
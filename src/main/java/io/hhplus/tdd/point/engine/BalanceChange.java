@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * CAS, 샤드 엔진에서 반영된 포인트 변경
+ *
+ * @param userId 사용자의 고유 식별자
+ * @param type 트랜잭션 종류
+ * @param amount 충전/사용 금액
+ * @param balance 변경 후 포인트
+ * @param updateMillis 포인트가 변경된 시각
+ */
+public record BalanceChange(
+        long userId,
+        TransactionType type,
+        long amount,
+        long balance,
+        long updateMillis
+) {
+}
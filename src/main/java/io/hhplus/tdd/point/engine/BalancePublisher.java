@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.engine;
+
+import java.util.List;
+
+/**
+ * CAS, 샤드 엔진의 포인트 변경을 테이블과 내역에 반영하는 함수
+ * 같은 사용자에 대해서는 한 번에 한 스레드만 호출하며, 변경은 순번 순서대로 전달됩니다.
+ */
+@FunctionalInterface
+public interface BalancePublisher {
+
+    /**
+     * @param userId 사용자의 고유 식별자
+     * @param changes 순번 순서대로 정렬된 변경 목록, 마지막 변경의 포인트가 현재 포인트입니다
+     */
+    void publish(long userId, List<BalanceChange> changes);
+}
@@ -0,0 +1,254 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.database.LongObjectMap;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 사용자 락 없이 CAS 로 포인트를 변경하는 엔진
+ * 사용자 포인트는 메모리의 {@link BalanceCell} 이 기준이 되며, 변경은 CAS 반복으로 한도를 확인하며 반영합니다.
+ * 변경마다 사용자별 순번이 발급되고, 변경 내용은 순번 순서대로 {@link BalancePublisher} 를 통해 테이블과 내역에 반영됩니다.
+ * 반영은 그 시점에 반영 중인 스레드가 없을 때 도착한 스레드가 맡아, 그동안 쌓인 변경을 한 번에 처리합니다.
+ * 변경을 요청한 스레드는 자신의 변경이 반영될 때까지 기다린 뒤 반환하므로, 반환 후 조회하면 자신의 내역이 조회됩니다.
+ * 반영이 실패하면 반영하지 못한 변경을 요청한 스레드 모두에 실패를 알리고,
+ * 메모리의 포인트는 반영된 적 없는 변경을 담고 있으므로 버린 뒤 다음 사용 때 테이블에서 다시 읽어 옵니다.
+ * 메모리의 사용자 수가 maxUsers 를 넘으면, 직전 정리 이후 사용하지 않았고 반영을 기다리는 변경이 없는 사용자를 버립니다.
+ */
+public class CasBalanceEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CasBalanceEngine.class);
+
+    private final LongObjectMap<BalanceCell> cells;
+    private final int maxUsers;
+    private final LongFunction<UserPoint> loader;
+    private final BalancePublisher publisher;
+
+    private final LongAdder updateCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder publishCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param initialCapacity 처음에 준비할 사용자 수
+     * @param maxUsers 메모리에 둘 최대 사용자 수
+     * @param loader 처음 사용하는 사용자의 포인트를 읽어 올 함수
+     * @param publisher 변경 내용을 테이블과 내역에 반영할 함수
+     */
+    public CasBalanceEngine(int initialCapacity, int maxUsers, LongFunction<UserPoint> loader, BalancePublisher publisher) {
+        if (maxUsers <= 0) {
+            throw new IllegalArgumentException("최대 사용자 수는 0보다 커야 합니다.");
+        }
+        this.cells = new LongObjectMap<>(initialCapacity, cell -> cell.userId);
+        this.maxUsers = maxUsers;
+        this.loader = loader;
+        this.publisher = publisher;
+    }
+
+    /**
+     * 사용자 포인트를 조회합니다. 처음 사용하는 사용자는 loader 로 읽어 옵니다.
+     */
+    public UserPoint get(long userId) {
+        while (true) {
+            BalanceCell cell = cell(userId);
+            long state = cell.get();
+            if (state != BalanceCell.RETIRED) {
+                return new UserPoint(userId, BalanceCell.balance(state), cell.updateMillis);
+            }
+        }
+    }
+
+    /**
+     * 사용자 포인트를 변경합니다.
+     * 현재 포인트에 operation 을 적용한 값으로 CAS 하며, 다른 스레드가 먼저 변경했으면 바뀐 포인트로 다시 시도합니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param type 트랜잭션 종류
+     * @param amount 충전/사용 금액
+     * @param operation 현재 포인트로 변경 후 포인트를 계산하는 함수, 한도를 벗어나면 예외를 던집니다
+     * @return 변경 후 사용자 포인트
+     * @throws IllegalStateException 변경을 테이블과 내역에 반영하지 못한 경우
+     */
+    public UserPoint update(long userId, TransactionType type, long amount, LongUnaryOperator operation) {
+        BalanceCell cell = cell(userId);
+
+        long balance;
+        int seq;
+        while (true) {
+            if (cell.failure != null || cell.retired()) {
+                cell = cell(userId);
+            }
+            long state = cell.get();
+            if (state == BalanceCell.RETIRED) {
+                continue;
+            }
+            balance = operation.applyAsLong(BalanceCell.balance(state));
+            seq = BalanceCell.seq(state) + 1;
+            if (cell.compareAndSet(state, BalanceCell.pack(seq, balance))) {
+                break;
+            }
+            retryCount.increment();
+        }
+        updateCount.increment();
+
+        long updateMillis = System.currentTimeMillis();
+        cell.updateMillis = updateMillis;
+        cell.inbox.add(new Pending(seq, new BalanceChange(userId, type, amount, balance, updateMillis), Thread.currentThread()));
+        publish(cell);
+        while (cell.publishedSeq - seq < 0 && cell.failure == null) {
+            LockSupport.park(cell);
+        }
+        if (cell.publishedSeq - seq < 0) {
+            throw new IllegalStateException("포인트 변경을 반영하지 못했습니다. userId=" + userId, cell.failure);
+        }
+
+        return new UserPoint(userId, balance, updateMillis);
+    }
+
+    /**
+     * 지금까지 변경된 사용자 포인트가 테이블과 내역에 모두 반영될 때까지 기다립니다. 반영이 실패하면 더 기다리지 않습니다.
+     */
+    public void awaitPublished(long userId) {
+        BalanceCell cell = cells.get(userId);
+        if (cell == null || cell.retired()) {
+            return;
+        }
+        int seq = BalanceCell.seq(cell.get());
+        while (cell.publishedSeq - seq < 0 && cell.failure == null) {
+            LockSupport.parkNanos(cell, TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(cells.size(), updateCount.sum(), retryCount.sum(), publishCount.sum(), evictionCount.sum());
+    }
+
+    /**
+     * 사용자의 셀을 반환합니다. 처음 사용하거나, 반영에 실패했거나, 버린 사용자는 테이블에서 포인트를 읽어 새 셀을 만듭니다.
+     * 실패한 셀은 실패를 기록하기 전에 마지막 반영을 마치고, 버린 셀은 모든 변경이 반영된 뒤에만 버리므로,
+     * 그 뒤에 읽은 테이블에는 반영에 성공한 변경이 모두 남아 있습니다.
+     */
+    private BalanceCell cell(long userId) {
+        while (true) {
+            BalanceCell cell = cells.get(userId);
+            if (live(cell)) {
+                if (!cell.used) {
+                    cell.used = true;
+                }
+                return cell;
+            }
+            UserPoint userPoint = loader.apply(userId);
+            BalanceCell loaded = new BalanceCell(userId, userPoint.point(), userPoint.updateMillis());
+            BalanceCell current = cell == null ? cells.putIfAbsent(loaded) : cells.replace(cell, loaded);
+            if (current == loaded && cells.size() > maxUsers) {
+                evict();
+            }
+            if (live(current)) {
+                return current;
+            }
+        }
+    }
+
+    private static boolean live(BalanceCell cell) {
+        return cell != null && cell.failure == null && !cell.retired();
+    }
+
+    /**
+     * 직전 정리 이후 사용하지 않았고 반영을 기다리는 변경이 없는 셀을 버립니다. 사용한 셀은 표시만 지워 다음 정리 때 버릴 수 있게 합니다.
+     * 한 번에 한 스레드만 정리하며, 다른 스레드가 정리 중이면 바로 반환합니다.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictionCount.add(cells.removeIf(cell -> {
+                if (cell.used && cell.failure == null) {
+                    cell.used = false;
+                    return false;
+                }
+                return cell.retire();
+            }));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 쌓인 변경 중 순번이 이어지는 변경을 한 번에 반영합니다.
+     * 반영 중인 스레드가 있으면 그 스레드가 대신 반영하므로 바로 반환합니다.
+     * 반영을 마친 뒤 그 사이에 도착한 변경이 있으면 이어서 반영합니다.
+     * 반영이 실패하면 셀에 실패를 기록하고, 쌓인 변경을 반영하지 않고 모두 꺼내 기다리는 스레드를 깨웁니다.
+     */
+    private void publish(BalanceCell cell) {
+        while (!cell.inbox.isEmpty() && cell.publishing.compareAndSet(false, true)) {
+            List<Pending> batch = new ArrayList<>();
+            try {
+                Pending pending;
+                while ((pending = cell.inbox.poll()) != null) {
+                    cell.ordered.add(pending);
+                }
+                if (cell.failure == null) {
+                    int next = cell.publishedSeq + 1;
+                    while (!cell.ordered.isEmpty() && cell.ordered.peek().seq() == next) {
+                        batch.add(cell.ordered.poll());
+                        next++;
+                    }
+                    if (!batch.isEmpty()) {
+                        try {
+                            publish(cell.userId, batch);
+                            cell.publishedSeq = next - 1;
+                        } catch (RuntimeException e) {
+                            cell.failure = e;
+                        }
+                    }
+                }
+                if (cell.failure != null) {
+                    batch.addAll(cell.ordered);
+                    cell.ordered.clear();
+                }
+            } finally {
+                cell.publishing.set(false);
+            }
+            batch.forEach(pending -> LockSupport.unpark(pending.waiter()));
+        }
+    }
+
+    private void publish(long userId, List<Pending> batch) {
+        List<BalanceChange> changes = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            changes.add(pending.change());
+        }
+        try {
+            publisher.publish(userId, changes);
+            publishCount.increment();
+        } catch (RuntimeException e) {
+            log.error("포인트 변경을 반영하지 못했습니다. userId={}, changes={}", userId, changes.size(), e);
+            throw e;
+        }
+    }
+
+    record Pending(int seq, BalanceChange change, Thread waiter) {
+    }
+
+    /**
+     * @param userCount 엔진에 올라온 사용자 수
+     * @param updateCount 성공한 변경 수
+     * @param retryCount 다른 스레드의 변경으로 CAS 를 다시 시도한 횟수
+     * @param publishCount 테이블과 내역에 반영한 횟수, 여러 변경을 한 번에 반영하면 변경 수보다 작습니다
+     * @param evictionCount 최대 사용자 수를 넘어 메모리에서 버린 사용자 수
+     */
+    public record Stats(int userCount, long updateCount, long retryCount, long publishCount, long evictionCount) {
+    }
+}
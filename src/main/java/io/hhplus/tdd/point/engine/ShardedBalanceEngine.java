@@ -0,0 +1,302 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 사용자 ID 해시로 사용자를 샤드에 나누고, 샤드마다 하나의 스레드가 자기 사용자의 포인트를 변경하는 엔진
+ * 한 사용자의 요청은 항상 같은 샤드 스레드에서 도착 순서대로 처리되므로 사용자 락이 필요 없습니다.
+ * 샤드의 사용자 포인트는 샤드 스레드만 읽고 쓰는 LinkedHashMap 에 두며, 처음 사용하는 사용자는 loader 로 읽어 옵니다.
+ * 샤드마다 최대 사용자 수를 넘으면 가장 오래 사용하지 않은 사용자를 버립니다. 버린 사용자의 포인트는 테이블에 반영되어 있으므로 다음 사용 때 다시 읽습니다.
+ * 변경 내용은 샤드 스레드에서 바로 {@link BalancePublisher} 로 테이블과 내역에 반영한 뒤 결과를 완료합니다.
+ * 요청 스레드는 대기열에 작업을 넣고 {@link CompletableFuture} 를 받으므로, 처리가 끝날 때까지 기다리지 않아도 됩니다.
+ * 샤드 스레드는 {@link #start()} 로 시작하며, 시작 전에 받은 작업은 대기열에 남아 있다가 시작한 뒤 처리됩니다.
+ * 사용자 락을 쓰지 않으므로 락 대기자 수 상한({@code point.lock.max-waiters})은 적용되지 않으며, 대신 샤드마다 대기열 크기를 제한해
+ * 대기열이 가득 찬 샤드에 들어온 요청은 기다리지 않고 {@link RejectedExecutionException} 으로 거절합니다.
+ */
+public class ShardedBalanceEngine implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_USERS = 100_000;
+    private static final int DEFAULT_MAX_QUEUED = 10_000;
+
+    private final Shard[] shards;
+    private final LongFunction<UserPoint> loader;
+    private final BalancePublisher publisher;
+
+    private final LongAdder updateCount = new LongAdder();
+    private final LongAdder publishFailureCount = new LongAdder();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * @param shardCount 샤드(스레드) 수
+     * @param loader 처음 사용하는 사용자의 포인트를 읽어 올 함수, 샤드 스레드에서 호출됩니다
+     * @param publisher 변경 내용을 테이블과 내역에 반영할 함수, 샤드 스레드에서 호출됩니다
+     */
+    public ShardedBalanceEngine(int shardCount, LongFunction<UserPoint> loader, BalancePublisher publisher) {
+        this(shardCount, DEFAULT_MAX_USERS, loader, publisher);
+    }
+
+    /**
+     * @param shardCount 샤드(스레드) 수
+     * @param maxUsers 샤드마다 메모리에 둘 최대 사용자 수
+     * @param loader 처음 사용하는 사용자의 포인트를 읽어 올 함수, 샤드 스레드에서 호출됩니다
+     * @param publisher 변경 내용을 테이블과 내역에 반영할 함수, 샤드 스레드에서 호출됩니다
+     */
+    public ShardedBalanceEngine(int shardCount, int maxUsers, LongFunction<UserPoint> loader, BalancePublisher publisher) {
+        this(shardCount, maxUsers, DEFAULT_MAX_QUEUED, loader, publisher);
+    }
+
+    /**
+     * @param shardCount 샤드(스레드) 수
+     * @param maxUsers 샤드마다 메모리에 둘 최대 사용자 수
+     * @param maxQueued 샤드마다 처리를 기다릴 수 있는 최대 작업 수, 넘으면 기다리지 않고 거절합니다
+     * @param loader 처음 사용하는 사용자의 포인트를 읽어 올 함수, 샤드 스레드에서 호출됩니다
+     * @param publisher 변경 내용을 테이블과 내역에 반영할 함수, 샤드 스레드에서 호출됩니다
+     */
+    public ShardedBalanceEngine(int shardCount, int maxUsers, int maxQueued, LongFunction<UserPoint> loader,
+                                BalancePublisher publisher) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("샤드 수는 0보다 커야 합니다.");
+        }
+        if (maxUsers <= 0) {
+            throw new IllegalArgumentException("샤드의 최대 사용자 수는 0보다 커야 합니다.");
+        }
+        if (maxQueued <= 0) {
+            throw new IllegalArgumentException("샤드의 최대 대기 작업 수는 0보다 커야 합니다.");
+        }
+        this.loader = loader;
+        this.publisher = publisher;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard("point-shard-" + i, maxUsers, maxQueued);
+        }
+    }
+
+    /**
+     * 샤드 스레드를 시작합니다. 이미 시작했으면 아무것도 하지 않습니다.
+     */
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            for (Shard shard : shards) {
+                shard.start();
+            }
+        }
+    }
+
+    /**
+     * 사용자 포인트를 조회합니다. 샤드의 대기열이 가득 차면 {@link RejectedExecutionException} 으로 완료됩니다.
+     */
+    public CompletableFuture<UserPoint> get(long userId) {
+        return submit(userId, balances -> balance(balances, userId));
+    }
+
+    /**
+     * 사용자 포인트를 변경합니다. 같은 사용자의 변경은 요청한 순서대로 반영됩니다.
+     * operation 이 예외를 던지면 포인트를 바꾸지 않고 결과를 그 예외로 완료합니다.
+     * 테이블이나 내역 반영이 실패하면 샤드의 포인트를 버려 다음 요청에서 테이블을 다시 읽습니다.
+     * 샤드의 대기열이 가득 차면 포인트를 바꾸지 않고 {@link RejectedExecutionException} 으로 완료됩니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param type 트랜잭션 종류
+     * @param amount 충전/사용 금액
+     * @param operation 현재 포인트로 변경 후 포인트를 계산하는 함수, 한도를 벗어나면 예외를 던집니다
+     * @return 변경 후 사용자 포인트
+     */
+    public CompletableFuture<UserPoint> update(long userId, TransactionType type, long amount, LongUnaryOperator operation) {
+        return submit(userId, balances -> {
+            long balance = operation.applyAsLong(balance(balances, userId).point());
+            long updateMillis = System.currentTimeMillis();
+            try {
+                publisher.publish(userId, List.of(new BalanceChange(userId, type, amount, balance, updateMillis)));
+            } catch (Throwable e) {
+                balances.remove(userId);
+                publishFailureCount.increment();
+                throw e;
+            }
+            UserPoint userPoint = new UserPoint(userId, balance, updateMillis);
+            balances.put(userId, userPoint);
+            updateCount.increment();
+            return userPoint;
+        });
+    }
+
+    public Stats stats() {
+        int userCount = 0;
+        int queued = 0;
+        long rejectedCount = 0;
+        for (Shard shard : shards) {
+            userCount += shard.userCount;
+            queued += shard.queued.get();
+            rejectedCount += shard.rejectedCount.sum();
+        }
+        return new Stats(shards.length, userCount, queued, rejectedCount, updateCount.sum(), publishFailureCount.sum());
+    }
+
+    /**
+     * 새 작업을 더 받지 않고, 대기열에 남은 작업을 모두 처리한 뒤 샤드 스레드를 종료합니다.
+     * 종료와 겹쳐 대기열에 들어간 작업은 처리되거나 거절되며, 결과가 완료되지 않은 채 남지 않습니다.
+     * 시작하지 않았으면 샤드 스레드를 시작해 시작 전에 받은 작업을 처리한 뒤 종료합니다.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+        start();
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private UserPoint balance(Map<Long, UserPoint> balances, long userId) {
+        UserPoint userPoint = balances.get(userId);
+        if (userPoint == null) {
+            userPoint = loader.apply(userId);
+            balances.put(userId, userPoint);
+        }
+        return userPoint;
+    }
+
+    private <T> CompletableFuture<T> submit(long userId, Function<Map<Long, UserPoint>, T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Shard shard = shards[shardIndex(userId)];
+        if (!shard.running) {
+            result.completeExceptionally(new RejectedExecutionException("포인트 샤드가 종료되었습니다."));
+            return result;
+        }
+        Runnable task = () -> {
+            try {
+                result.complete(work.apply(shard.balances));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        if (!shard.submit(task)) {
+            result.completeExceptionally(new RejectedExecutionException("포인트 샤드의 대기열이 가득 찼습니다."));
+            return result;
+        }
+        // 확인한 뒤 넣기 전에 종료되었으면 샤드 스레드가 이미 끝났을 수 있으므로, 아직 대기열에 남아 있으면 꺼내 거절합니다
+        if (!shard.running && shard.cancel(task)) {
+            result.completeExceptionally(new RejectedExecutionException("포인트 샤드가 종료되었습니다."));
+        }
+        return result;
+    }
+
+    private int shardIndex(long userId) {
+        long h = userId * 0x9E37_79B9_7F4A_7C15L;
+        return (int) Long.remainderUnsigned(h ^ (h >>> 32), shards.length);
+    }
+
+    /**
+     * 대기열의 작업을 도착 순서대로 처리하는 샤드 스레드
+     * 대기열은 락 없는 ConcurrentLinkedQueue 이며, 대기열이 비면 park 로 쉬고 작업을 넣은 스레드가 깨웁니다.
+     */
+    private static final class Shard extends Thread {
+
+        // 샤드 스레드만 읽고 씁니다, 최대 사용자 수를 넘으면 가장 오래 사용하지 않은 사용자를 버립니다
+        private final Map<Long, UserPoint> balances;
+        private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final int maxQueued;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final LongAdder rejectedCount = new LongAdder();
+        private final AtomicBoolean sleeping = new AtomicBoolean();
+
+        private volatile boolean running = true;
+        private volatile int userCount;
+
+        Shard(String name, int maxUsers, int maxQueued) {
+            super(name);
+            setDaemon(true);
+            this.maxQueued = maxQueued;
+            this.balances = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    return size() > maxUsers;
+                }
+            };
+        }
+
+        /**
+         * 대기열에 작업을 넣습니다. 자리를 먼저 차지한 뒤 넣으므로 동시에 넣어도 최대 대기 작업 수를 넘지 않습니다.
+         *
+         * @return 넣었으면 true, 대기열이 가득 찼으면 false
+         */
+        boolean submit(Runnable task) {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejectedCount.increment();
+                return false;
+            }
+            queue.add(task);
+            if (sleeping.get() && sleeping.compareAndSet(true, false)) {
+                LockSupport.unpark(this);
+            }
+            return true;
+        }
+
+        /**
+         * 아직 처리하지 않은 작업을 대기열에서 꺼냅니다.
+         *
+         * @return 꺼냈으면 true, 샤드 스레드가 이미 가져갔으면 false
+         */
+        boolean cancel(Runnable task) {
+            if (queue.remove(task)) {
+                queued.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                Runnable task = queue.poll();
+                if (task != null) {
+                    queued.decrementAndGet();
+                    task.run();
+                    userCount = balances.size();
+                    continue;
+                }
+                // 잠들기 전에 대기열을 다시 확인해, 그 사이에 들어온 작업을 놓치지 않습니다.
+                sleeping.set(true);
+                if (queue.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                sleeping.set(false);
+            }
+        }
+    }
+
+    /**
+     * @param shardCount 샤드(스레드) 수
+     * @param userCount 샤드에 올라온 사용자 수
+     * @param queued 대기열에서 처리를 기다리는 작업 수
+     * @param rejectedCount 대기열이 가득 차 거절한 작업 수
+     * @param updateCount 성공한 변경 수
+     * @param publishFailureCount 테이블과 내역에 반영하지 못한 변경 수
+     */
+    public record Stats(int shardCount, int userCount, int queued, long rejectedCount, long updateCount, long publishFailureCount) {
+    }
+}
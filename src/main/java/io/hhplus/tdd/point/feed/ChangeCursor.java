@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.feed;
+
+/**
+ * 변경 이벤트를 이어서 받을 위치, "세대-순번" 형식의 문자열로 주고받습니다.
+ * 세대는 변경 이벤트 버퍼를 만들 때와 보내지 못한 변경이 생길 때마다 새로 정하므로,
+ * 재시작 전 프로세스의 커서나 변경을 잃기 전의 커서는 순번이 같아도 다른 위치로 읽히지 않고 만료됩니다.
+ *
+ * @param epoch 커서를 발급한 세대
+ * @param sequence 마지막으로 받은 이벤트 순번
+ */
+public record ChangeCursor(long epoch, long sequence) {
+
+    private static final char SEPARATOR = '-';
+
+    /**
+     * "세대-순번" 형식의 커서를 읽습니다.
+     *
+     * @throws ChangeCursorExpiredException 형식이 맞지 않아 이 버퍼에서 발급한 커서가 아닌 경우
+     */
+    public static ChangeCursor parse(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            throw new ChangeCursorExpiredException(value, 0L);
+        }
+        try {
+            return new ChangeCursor(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new ChangeCursorExpiredException(value, 0L);
+        }
+    }
+
+    /**
+     * Last-Event-ID 와 cursor 로 주고받는 "세대-순번" 형식의 문자열을 반환합니다.
+     */
+    public String value() {
+        return String.valueOf(epoch) + SEPARATOR + sequence;
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.feed;
+
+/**
+ * 커서 다음의 이벤트가 이미 링 버퍼에서 밀려났거나, 다른 세대의 커서여서 이어서 읽을 수 없는 경우 발생합니다.
+ * 포인트를 다시 조회한 뒤 최신 커서부터 구독해야 합니다.
+ */
+public class ChangeCursorExpiredException extends RuntimeException {
+
+    private final long oldestSequence;
+
+    public ChangeCursorExpiredException(String cursor, long oldestSequence) {
+        super("커서가 만료되었습니다. cursor=" + cursor + ", oldestSequence=" + oldestSequence);
+        this.oldestSequence = oldestSequence;
+    }
+
+    public long getOldestSequence() {
+        return oldestSequence;
+    }
+}
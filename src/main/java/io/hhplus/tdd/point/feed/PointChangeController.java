@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point.feed;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 저장된 충전/사용을 Server-Sent Events 로 보냅니다.
+ * 구독마다 가상 스레드 하나가 링 버퍼를 커서부터 읽어 보내고, 새 이벤트가 없으면 기다리며 주기적으로 연결 확인용 주석을 보냅니다.
+ * 이벤트 ID 는 "세대-순번" 형식의 커서이므로, 연결이 끊기면 마지막으로 받은 ID 를 Last-Event-ID 헤더나 cursor 로 넘겨 이어서 받습니다.
+ * 구독 중 예상하지 못한 오류가 나도 연결을 오류로 닫으므로, 시간 제한 없는 연결이 응답 없이 남지 않습니다.
+ */
+@RestController
+@RequestMapping("/point")
+public class PointChangeController {
+
+    private static final Logger log = LoggerFactory.getLogger(PointChangeController.class);
+
+    private static final int BATCH_SIZE = 256;
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final PointService pointService;
+    private final Duration heartbeatInterval;
+    private final Semaphore subscriberPermits;
+    private final ThreadFactory subscriberThreadFactory = Thread.ofVirtual().name("point-change-subscriber-", 0).factory();
+
+    public PointChangeController(PointService pointService, PointProperties pointProperties) {
+        PointProperties.Feed feed = pointProperties.getFeed();
+        this.pointService = pointService;
+        this.heartbeatInterval = feed.getHeartbeatInterval();
+        this.subscriberPermits = new Semaphore(feed.getMaxSubscribers());
+    }
+
+    /**
+     * 저장된 충전/사용을 구독합니다. 커서가 없으면 지금부터의 이벤트를 보냅니다.
+     * 구독자가 링 버퍼 크기보다 많이 뒤처지거나 보내지 못한 변경이 생겨 세대가 바뀌면 expired 이벤트를 보내고 연결을 닫습니다.
+     *
+     * @param cursor 마지막으로 받은 이벤트 ID
+     * @param lastEventId 다시 연결할 때 브라우저가 보내는 마지막 이벤트 ID, cursor 보다 우선합니다
+     * @throws ChangeCursorExpiredException 커서 다음 이벤트가 이미 밀려났거나, 다른 세대의 커서인 경우
+     * @throws RejectedExecutionException 구독자 수가 최대에 도달한 경우
+     */
+    @GetMapping(path = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId
+    ) {
+        PointChangeFeed feed = pointService.getPointChangeFeed();
+        String requested = lastEventId != null ? lastEventId : cursor;
+        ChangeCursor start = requested != null ? ChangeCursor.parse(requested) : feed.cursor();
+        feed.read(start, 0);
+        if (!subscriberPermits.tryAcquire()) {
+            throw new RejectedExecutionException("포인트 변경 구독자 수를 초과했습니다.");
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscription subscription = new Subscription(feed, emitter, start);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        subscriberThreadFactory.newThread(() -> {
+            try {
+                subscription.run();
+            } finally {
+                subscriberPermits.release();
+            }
+        }).start();
+        return emitter;
+    }
+
+    /**
+     * 한 구독자에게 커서 다음 이벤트를 순서대로 보냅니다.
+     */
+    private final class Subscription {
+
+        private final PointChangeFeed feed;
+        private final SseEmitter emitter;
+        private ChangeCursor cursor;
+        private volatile boolean cancelled;
+
+        Subscription(PointChangeFeed feed, SseEmitter emitter, ChangeCursor cursor) {
+            this.feed = feed;
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        void run() {
+            try {
+                while (!cancelled) {
+                    List<PointChangeEvent> events = feed.read(cursor, BATCH_SIZE);
+                    if (events.isEmpty()) {
+                        if (!feed.await(cursor, heartbeatInterval)) {
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        }
+                        continue;
+                    }
+                    for (PointChangeEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                                .id(event.cursor().value())
+                                .name("point")
+                                .data(event, MediaType.APPLICATION_JSON));
+                        cursor = event.cursor();
+                    }
+                }
+            } catch (ChangeCursorExpiredException e) {
+                sendExpired(e);
+            } catch (IOException | IllegalStateException e) {
+                // 구독자가 연결을 끊었거나 이미 닫힌 연결입니다
+                log.debug("포인트 변경 구독을 종료합니다. cursor={}", cursor.value(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } catch (Throwable e) {
+                log.error("포인트 변경 구독이 실패했습니다. cursor={}", cursor.value(), e);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void sendExpired(ChangeCursorExpiredException e) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("expired")
+                        .data(Map.of("cursor", cursor.value(), "oldestSequence", e.getOldestSequence()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException ignored) {
+                // 이미 닫힌 연결입니다
+            }
+        }
+    }
+}
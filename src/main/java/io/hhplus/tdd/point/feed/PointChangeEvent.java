@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.feed;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 저장된 충전/사용 하나
+ *
+ * @param epoch 이벤트를 추가한 세대
+ * @param sequence 이벤트 순번, 1부터 저장된 순서대로 늘어납니다
+ * @param userId 사용자의 고유 식별자
+ * @param type 트랜잭션 종류
+ * @param delta 포인트 변화량, 충전이면 양수이고 사용이면 음수입니다
+ * @param balance 변경 후 포인트
+ * @param historyId 저장된 내역 ID
+ * @param updateMillis 포인트가 변경된 시각
+ */
+public record PointChangeEvent(
+        long epoch,
+        long sequence,
+        long userId,
+        TransactionType type,
+        long delta,
+        long balance,
+        long historyId,
+        long updateMillis
+) {
+
+    /**
+     * 이 이벤트까지 받은 구독자가 이어서 받을 커서
+     */
+    public ChangeCursor cursor() {
+        return new ChangeCursor(epoch, sequence);
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.feed;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 저장된 충전/사용을 순번 순서대로 담는 고정 크기 링 버퍼
+ * 이벤트는 내역이 저장된 순서대로 순번을 받으므로, 같은 사용자의 이벤트는 포인트가 변경된 순서와 같습니다.
+ * 순번 발급과 칸 기록은 짧은 락 안에서 하고, 읽기는 락 없이 칸에 담긴 이벤트의 순번으로 덮어쓰였는지 확인합니다.
+ * 가장 오래된 이벤트부터 덮어쓰므로, 구독자가 capacity 개 넘게 뒤처지면 커서가 만료됩니다.
+ * 커서에는 세대가 함께 담깁니다. 세대는 버퍼를 만들 때 임의로 정하고, 내역 저장이나 이벤트 추가에 실패해 보내지 못한 변경이 생기면
+ * {@link #restart()} 로 새로 정합니다. 다른 세대의 커서는 만료되므로, 구독자는 이벤트가 빠진 채로 이어서 받지 않고 포인트를 다시 조회합니다.
+ */
+public class PointChangeFeed {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<PointChangeEvent> slots;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Condition published = publishLock.newCondition();
+
+    // 마지막으로 발급한 순번, 이벤트가 없으면 0
+    private volatile long lastSequence;
+    // 지금 발급하는 커서의 세대
+    private volatile long epoch = nextEpoch();
+    // 보내지 못한 변경이 생겨 세대를 새로 정한 횟수
+    private volatile long restartCount;
+
+    /**
+     * @param capacity 보관할 최대 이벤트 수, 2의 거듭제곱으로 올림합니다
+     */
+    public PointChangeFeed(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("링 버퍼 크기는 1 이상 2^30 이하여야 합니다.");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * 저장된 내역과 변경 후 포인트로 이벤트를 추가하고, 기다리는 구독자를 깨웁니다.
+     */
+    public PointChangeEvent publish(PointHistory history, long balance) {
+        long delta = history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+        publishLock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            PointChangeEvent event = new PointChangeEvent(epoch, sequence, history.userId(), history.type(), delta, balance,
+                    history.id(), history.updateMillis());
+            slots.set((int) (sequence & mask), event);
+            lastSequence = sequence;
+            published.signalAll();
+            return event;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * 보내지 못한 변경이 생겼음을 알립니다. 세대를 새로 정해 지금까지 발급한 커서를 모두 만료시키고, 기다리는 구독자를 깨웁니다.
+     * 순번은 이어서 발급하며, 이후의 이벤트는 새 세대의 커서로만 읽을 수 있습니다.
+     */
+    public void restart() {
+        publishLock.lock();
+        try {
+            long next = nextEpoch();
+            while (next == epoch) {
+                next = nextEpoch();
+            }
+            epoch = next;
+            restartCount++;
+            published.signalAll();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * 커서 다음 순번부터 최대 maxCount 개의 이벤트를 순서대로 반환합니다. 새 이벤트가 없으면 빈 목록입니다.
+     *
+     * @param cursor 마지막으로 받은 이벤트의 커서
+     * @throws ChangeCursorExpiredException 커서 다음 이벤트가 이미 덮어쓰였거나, 다른 세대이거나, 이 버퍼에서 발급하지 않은 커서인 경우
+     */
+    public List<PointChangeEvent> read(ChangeCursor cursor, int maxCount) {
+        long last = lastSequence;
+        long oldest = oldestSequence(last);
+        if (cursor.epoch() != epoch || cursor.sequence() < oldest - 1 || cursor.sequence() > last) {
+            throw new ChangeCursorExpiredException(cursor.value(), oldest);
+        }
+        List<PointChangeEvent> events = new ArrayList<>((int) Math.min(maxCount, last - cursor.sequence()));
+        for (long sequence = cursor.sequence() + 1; sequence <= last && events.size() < maxCount; sequence++) {
+            PointChangeEvent event = slots.get((int) (sequence & mask));
+            // 읽는 동안 발행자가 한 바퀴 돌아 덮어썼거나, 세대가 바뀐 뒤에 추가된 경우
+            if (event == null || event.sequence() != sequence || event.epoch() != cursor.epoch()) {
+                throw new ChangeCursorExpiredException(cursor.value(), oldestSequence(lastSequence));
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * 커서 다음 이벤트가 추가되거나 세대가 바뀔 때까지 최대 timeout 동안 기다립니다.
+     *
+     * @return 새 이벤트가 있거나 세대가 바뀌었으면 true
+     */
+    public boolean await(ChangeCursor cursor, Duration timeout) throws InterruptedException {
+        if (lastSequence > cursor.sequence() || epoch != cursor.epoch()) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        publishLock.lock();
+        try {
+            while (lastSequence <= cursor.sequence() && epoch == cursor.epoch() && remaining > 0) {
+                remaining = published.awaitNanos(remaining);
+            }
+            return lastSequence > cursor.sequence() || epoch != cursor.epoch();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 이벤트의 커서, 지금부터의 이벤트만 받으려면 이 커서로 읽습니다.
+     */
+    public ChangeCursor cursor() {
+        publishLock.lock();
+        try {
+            return new ChangeCursor(epoch, lastSequence);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 이벤트의 순번
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    public Stats stats() {
+        long last = lastSequence;
+        return new Stats(capacity, last, oldestSequence(last), restartCount);
+    }
+
+    private static long nextEpoch() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+
+    private long oldestSequence(long last) {
+        return Math.max(1, last - capacity + 1);
+    }
+
+    /**
+     * @param capacity 보관할 최대 이벤트 수
+     * @param lastSequence 마지막 이벤트의 순번
+     * @param oldestSequence 읽을 수 있는 가장 오래된 이벤트의 순번
+     * @param restartCount 보내지 못한 변경이 생겨 세대를 새로 정한 횟수
+     */
+    public record Stats(int capacity, long lastSequence, long oldestSequence, long restartCount) {
+    }
+}
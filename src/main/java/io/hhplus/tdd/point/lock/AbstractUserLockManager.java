@@ -0,0 +1,114 @@
+package io.hhplus.tdd.point.lock;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 대기자 수 상한과 tryLock 시간 제한을 처리하고 획득/거절 횟수를 세는 공통 구현
+ * 대기 시간은 호출하는 쪽({@code PointMetrics} 의 {@code point.lock.wait})에서만 기록합니다.
+ * 하위 클래스는 사용자 ID 에 해당하는 락을 찾고 반납하는 방법만 구현합니다.
+ */
+abstract class AbstractUserLockManager implements UserLockManager {
+
+    private final long timeoutNanos;
+    private final int maxWaiters;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder busyCount = new LongAdder();
+
+    /**
+     * @param timeout 락 획득 제한 시간, 0 이면 제한 없이 기다립니다
+     * @param maxWaiters 락 하나를 기다릴 수 있는 최대 스레드 수, 0 이면 제한하지 않습니다
+     */
+    AbstractUserLockManager(Duration timeout, int maxWaiters) {
+        this.timeoutNanos = timeout.toNanos();
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * 사용자 ID 에 해당하는 락을 가져옵니다. 락을 획득하지는 않습니다.
+     */
+    abstract ReentrantLock obtain(long userId);
+
+    /**
+     * 여러 락을 획득할 때 사용할 순서를 반환합니다. 같은 락을 쓰는 사용자는 같은 값을 반환해야 합니다.
+     */
+    abstract long lockOrder(long userId);
+
+    /**
+     * 락 사용이 끝났음을 알립니다. 락을 해제한 뒤 호출됩니다.
+     */
+    void release(long userId, ReentrantLock lock) {
+    }
+
+    /**
+     * {@inheritDoc}
+     * 락을 기다리는 스레드가 이미 최대 대기자 수만큼 있으면 기다리지 않고 바로 실패합니다.
+     * 대기자 수는 {@link ReentrantLock#getQueueLength()} 추정값이므로 동시에 도착한 요청은 상한을 조금 넘을 수 있습니다.
+     *
+     * @throws UserLockBusyException 락을 기다리는 스레드가 최대 대기자 수에 도달한 경우
+     */
+    @Override
+    public UserLock lock(long userId) {
+        ReentrantLock lock = obtain(userId);
+        if (maxWaiters > 0 && lock.isLocked() && !lock.isHeldByCurrentThread() && lock.getQueueLength() >= maxWaiters) {
+            busyCount.increment();
+            release(userId, lock);
+            throw new UserLockBusyException(userId);
+        }
+        try {
+            if (timeoutNanos <= 0) {
+                lock.lock();
+            } else if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw timeout(userId, lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw timeout(userId, lock);
+        }
+
+        acquireCount.increment();
+
+        return () -> {
+            lock.unlock();
+            release(userId, lock);
+        };
+    }
+
+    @Override
+    public UserLock lock(long userId, long otherUserId) {
+        long order = lockOrder(userId);
+        long otherOrder = lockOrder(otherUserId);
+        if (order == otherOrder) {
+            return lock(userId);
+        }
+
+        UserLock first = lock(order < otherOrder ? userId : otherUserId);
+        UserLock second;
+        try {
+            second = lock(order < otherOrder ? otherUserId : userId);
+        } catch (RuntimeException e) {
+            first.unlock();
+            throw e;
+        }
+
+        return () -> {
+            second.unlock();
+            first.unlock();
+        };
+    }
+
+    @Override
+    public UserLockStats stats() {
+        return new UserLockStats(acquireCount.sum(), timeoutCount.sum(), busyCount.sum());
+    }
+
+    private UserLockTimeoutException timeout(long userId, ReentrantLock lock) {
+        timeoutCount.increment();
+        release(userId, lock);
+        return new UserLockTimeoutException(userId);
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.lock;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자별 락을 참조 횟수와 함께 보관하는 락 관리자
+ * 락을 사용하거나 기다리는 스레드가 없어지면 맵에서 제거하므로, 메모리 사용량은 동시에 처리 중인 사용자 수에 비례합니다.
+ */
+public class RefCountedUserLockManager extends AbstractUserLockManager {
+
+    private final boolean fair;
+    private final ConcurrentHashMap<Long, RefCountedLock> lockMap = new ConcurrentHashMap<>();
+
+    /**
+     * @param fair 공정 락 사용 여부
+     * @param timeout 락 획득 제한 시간, 0 이면 제한 없이 기다립니다
+     */
+    public RefCountedUserLockManager(boolean fair, Duration timeout) {
+        this(fair, timeout, 0);
+    }
+
+    /**
+     * @param fair 공정 락 사용 여부
+     * @param timeout 락 획득 제한 시간, 0 이면 제한 없이 기다립니다
+     * @param maxWaiters 사용자 락 하나를 기다릴 수 있는 최대 스레드 수, 0 이면 제한하지 않습니다
+     */
+    public RefCountedUserLockManager(boolean fair, Duration timeout, int maxWaiters) {
+        super(timeout, maxWaiters);
+        this.fair = fair;
+    }
+
+    @Override
+    ReentrantLock obtain(long userId) {
+        // compute 는 같은 키에 대해 원자적으로 실행되므로 참조 횟수를 안전하게 늘릴 수 있습니다.
+        return lockMap.compute(userId, (id, lock) -> {
+            RefCountedLock refCountedLock = lock == null ? new RefCountedLock(fair) : lock;
+            refCountedLock.references++;
+            return refCountedLock;
+        });
+    }
+
+    @Override
+    long lockOrder(long userId) {
+        return userId;
+    }
+
+    @Override
+    void release(long userId, ReentrantLock lock) {
+        lockMap.computeIfPresent(userId, (id, refCountedLock) -> --refCountedLock.references == 0 ? null : refCountedLock);
+    }
+
+    /**
+     * 현재 보관 중인 락 개수를 반환합니다.
+     */
+    public int size() {
+        return lockMap.size();
+    }
+
+    private static class RefCountedLock extends ReentrantLock {
+
+        // lockMap.compute 안에서만 변경합니다
+        private int references;
+
+        RefCountedLock(boolean fair) {
+            super(fair);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point.lock;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정된 개수의 락을 사용자 ID 해시로 나누어 쓰는 락 관리자
+ * 사용자 수와 관계없이 메모리 사용량이 일정하지만, 같은 락을 쓰는 다른 사용자끼리는 서로 기다릴 수 있습니다.
+ */
+public class StripedUserLockManager extends AbstractUserLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripeCount 락 개수, 2의 거듭제곱으로 올림됩니다
+     * @param fair 공정 락 사용 여부
+     * @param timeout 락 획득 제한 시간, 0 이면 제한 없이 기다립니다
+     */
+    public StripedUserLockManager(int stripeCount, boolean fair, Duration timeout) {
+        this(stripeCount, fair, timeout, 0);
+    }
+
+    /**
+     * @param stripeCount 락 개수, 2의 거듭제곱으로 올림됩니다
+     * @param fair 공정 락 사용 여부
+     * @param timeout 락 획득 제한 시간, 0 이면 제한 없이 기다립니다
+     * @param maxWaiters 락 하나를 기다릴 수 있는 최대 스레드 수, 0 이면 제한하지 않습니다
+     */
+    public StripedUserLockManager(int stripeCount, boolean fair, Duration timeout, int maxWaiters) {
+        super(timeout, maxWaiters);
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("락 개수는 1 이상이어야 합니다.");
+        }
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(fair);
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    ReentrantLock obtain(long userId) {
+        return stripes[stripeIndex(userId)];
+    }
+
+    /**
+     * 같은 락을 쓰는 사용자끼리 순서가 같도록 락의 순번을 순서로 사용합니다.
+     */
+    @Override
+    long lockOrder(long userId) {
+        return stripeIndex(userId);
+    }
+
+    /**
+     * 사용자 ID 가 속한 락의 순번을 반환합니다.
+     */
+    public int stripeIndex(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 획득한 사용자 락
+ * 임계 구역이 끝나면 반드시 unlock 을 호출해야 합니다.
+ */
+public interface UserLock {
+
+    void unlock();
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 사용자 락을 기다리는 스레드가 설정된 상한에 도달해 대기열에 들어가지 못했을 때 발생합니다.
+ */
+public class UserLockBusyException extends RuntimeException {
+
+    public UserLockBusyException(long userId) {
+        super("사용자 락을 기다리는 요청이 너무 많습니다. userId=" + userId);
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 사용자별 락 관리자
+ * 같은 사용자에 대한 충전/사용 요청을 직렬화하기 위한 락을 제공합니다.
+ *
+ * <pre>
+ * UserLock lock = userLockManager.lock(id);
+ * try {
+ *     // 충전 및 사용 로직
+ * } finally {
+ *     lock.unlock();
+ * }
+ * </pre>
+ */
+public interface UserLockManager {
+
+    /**
+     * 사용자 락을 획득합니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @return 획득한 락
+     * @throws UserLockTimeoutException 설정된 시간 안에 락을 획득하지 못한 경우
+     * @throws UserLockBusyException 락을 기다리는 스레드가 최대 대기자 수에 도달한 경우
+     */
+    UserLock lock(long userId);
+
+    /**
+     * 두 사용자의 락을 전역 순서대로 획득합니다.
+     * 모든 스레드가 같은 순서로 락을 획득하므로, 서로 반대 방향으로 요청해도 교착 상태가 생기지 않습니다.
+     *
+     * @param userId 사용자의 고유 식별자
+     * @param otherUserId 다른 사용자의 고유 식별자
+     * @return 획득한 두 락, unlock 하면 획득한 역순으로 해제합니다
+     * @throws UserLockTimeoutException 설정된 시간 안에 락을 획득하지 못한 경우
+     * @throws UserLockBusyException 락을 기다리는 스레드가 최대 대기자 수에 도달한 경우
+     */
+    UserLock lock(long userId, long otherUserId);
+
+    /**
+     * 락 획득과 거절 횟수 통계를 반환합니다.
+     */
+    UserLockStats stats();
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 락 획득 통계
+ * 락 대기 시간은 {@code point.lock.wait} 히스토그램으로 확인합니다.
+ *
+ * @param acquireCount 락 획득 횟수
+ * @param timeoutCount 시간 초과로 락 획득에 실패한 횟수
+ * @param busyCount 대기자 수 상한에 걸려 기다리지 않고 실패한 횟수
+ */
+public record UserLockStats(
+        long acquireCount,
+        long timeoutCount,
+        long busyCount
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 설정된 시간 안에 사용자 락을 획득하지 못했을 때 발생합니다.
+ */
+public class UserLockTimeoutException extends RuntimeException {
+
+    public UserLockTimeoutException(long userId) {
+        super("사용자 락 획득 시간이 초과되었습니다. userId=" + userId);
+    }
+}
@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * 포인트 처리 경로의 측정값을 기록합니다.
+ * - point.operation : 충전/사용/이체/조회/내역 조회 처리 시간
+ * - point.lock.wait / point.lock.hold : 사용자 락 대기 시간과 보유 시간
+ * - point.table : 테이블 호출 시간
+ * - point.rejection : 거절 사유별 횟수
+ * - point.inflight : 처리 중인 요청 수 (사용자별 값은 {@link #topInFlight(int)} 로 조회)
+ * 타이머와 카운터는 생성 시점에 미리 만들어 두므로, 기록할 때는 조회나 객체 생성 없이 배열에서 꺼내 씁니다.
+ * 사용자별 처리 중인 요청 수는 사용자 ID 해시로 고른 고정 슬롯에 세므로, 기록할 때 박싱이나 맵 갱신이 없습니다.
+ * 슬롯은 서로 다른 캐시 라인에 두어 다른 슬롯의 사용자끼리 경합하지 않으며, 같은 슬롯의 사용자는 함께 세어집니다.
+ * 처리 시간 분포는 Micrometer 의 HdrHistogram 기반 히스토그램으로 집계합니다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        CHARGE, USE, TRANSFER, GET, HISTORY
+    }
+
+    public enum TableCall {
+        USER_POINT_SELECT, USER_POINT_UPSERT, HISTORY_INSERT
+    }
+
+    public enum RejectionReason {
+        MAX_POINT, INSUFFICIENT_BALANCE, USER_RATE_LIMIT, GLOBAL_RATE_LIMIT, LOCK_BUSY, LOCK_TIMEOUT, ASYNC_QUEUE_FULL
+    }
+
+    // 사용자별 처리 중인 요청 수를 세는 슬롯 수(2^SLOT_BITS), 사용자 ID 해시로 슬롯을 고릅니다
+    private static final int SLOT_BITS = 10;
+    private static final int IN_FLIGHT_SLOTS = 1 << SLOT_BITS;
+    // 슬롯 사이 간격(int 16개 = 64 바이트), 이웃한 슬롯이 같은 캐시 라인을 나누지 않게 합니다
+    private static final int SLOT_STRIDE = 16;
+
+    private final Timer[] operationTimers;
+    private final Timer[] tableCallTimers;
+    private final Counter[] rejectionCounters;
+    private final Timer lockWaitTimer;
+    private final Timer lockHoldTimer;
+
+    // 처리 중인 전체 요청 수
+    private final LongAdder inFlightTotal = new LongAdder();
+    // 슬롯별 처리 중인 요청 수
+    private final AtomicIntegerArray inFlightCounts = new AtomicIntegerArray(IN_FLIGHT_SLOTS * SLOT_STRIDE);
+    // 슬롯에 마지막으로 들어온 사용자 ID, 순위에 표시할 사용자입니다
+    private final AtomicLongArray inFlightUsers = new AtomicLongArray(IN_FLIGHT_SLOTS * SLOT_STRIDE / 2);
+
+    public PointMetrics(MeterRegistry registry) {
+        this.operationTimers = new Timer[Operation.values().length];
+        for (Operation operation : Operation.values()) {
+            operationTimers[operation.ordinal()] = histogram("point.operation", registry, "operation", tagValue(operation));
+        }
+        this.tableCallTimers = new Timer[TableCall.values().length];
+        for (TableCall tableCall : TableCall.values()) {
+            tableCallTimers[tableCall.ordinal()] = histogram("point.table", registry, "call", tagValue(tableCall));
+        }
+        this.rejectionCounters = new Counter[RejectionReason.values().length];
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounters[reason.ordinal()] = Counter.builder("point.rejection")
+                    .tag("reason", tagValue(reason))
+                    .register(registry);
+        }
+        this.lockWaitTimer = histogram("point.lock.wait", registry);
+        this.lockHoldTimer = histogram("point.lock.hold", registry);
+
+        Gauge.builder("point.inflight", inFlightTotal, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("point.inflight.users", this, PointMetrics::inFlightSlots)
+                .register(registry);
+    }
+
+    /**
+     * 기록하지 않는 측정기를 만듭니다. 하위 레지스트리가 없는 CompositeMeterRegistry 의 측정값은 아무 일도 하지 않습니다.
+     */
+    public static PointMetrics noop() {
+        return new PointMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * 사용자 요청 처리 시작을 기록합니다.
+     *
+     * @return 처리 시작 시각(ns), {@link #exit(Operation, long, long)} 에 전달합니다
+     */
+    public long enter(long userId) {
+        int slot = slot(userId);
+        inFlightTotal.increment();
+        inFlightCounts.getAndIncrement(slot * SLOT_STRIDE);
+        if (inFlightUsers.getPlain(slot * SLOT_STRIDE / 2) != userId) {
+            inFlightUsers.setOpaque(slot * SLOT_STRIDE / 2, userId);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * 사용자 요청 처리 종료와 처리 시간을 기록합니다.
+     */
+    public void exit(Operation operation, long userId, long startNanos) {
+        inFlightTotal.decrement();
+        inFlightCounts.getAndDecrement(slot(userId) * SLOT_STRIDE);
+        operationTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTableCall(TableCall tableCall, long startNanos) {
+        tableCallTimers[tableCall.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(long waitNanos) {
+        lockWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(long holdNanos) {
+        lockHoldTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void reject(RejectionReason reason) {
+        rejectionCounters[reason.ordinal()].increment();
+    }
+
+    /**
+     * 해당 사용자의 처리 중인 요청 수를 반환합니다. 같은 슬롯을 쓰는 사용자의 요청 수가 함께 세어집니다.
+     */
+    public int inFlight(long userId) {
+        return inFlightCounts.get(slot(userId) * SLOT_STRIDE);
+    }
+
+    /**
+     * 처리 중인 요청이 많은 슬롯을 많은 순서대로 최대 limit 개 골라, 슬롯에 마지막으로 들어온 사용자와 요청 수를 반환합니다.
+     *
+     * @return 사용자 ID 와 처리 중인 요청 수
+     */
+    public Map<Long, Integer> topInFlight(int limit) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        IntStream.range(0, IN_FLIGHT_SLOTS)
+                .filter(slot -> inFlightCounts.get(slot * SLOT_STRIDE) > 0)
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer slot) -> inFlightCounts.get(slot * SLOT_STRIDE)).reversed())
+                .limit(limit)
+                .forEach(slot -> result.merge(inFlightUsers.get(slot * SLOT_STRIDE / 2),
+                        inFlightCounts.get(slot * SLOT_STRIDE), Integer::sum));
+        return result;
+    }
+
+    /**
+     * 처리 중인 요청이 있는 슬롯 수, 슬롯이 겹치지 않으면 처리 중인 사용자 수와 같습니다.
+     */
+    private int inFlightSlots() {
+        int slots = 0;
+        for (int slot = 0; slot < IN_FLIGHT_SLOTS; slot++) {
+            if (inFlightCounts.get(slot * SLOT_STRIDE) > 0) {
+                slots++;
+            }
+        }
+        return slots;
+    }
+
+    private static int slot(long userId) {
+        long h = userId * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (h >>> (Long.SIZE - SLOT_BITS));
+    }
+
+    private static Timer histogram(String name, MeterRegistry registry, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
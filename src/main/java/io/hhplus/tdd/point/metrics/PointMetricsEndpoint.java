@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.IdempotencyStore;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPointCache;
+import io.hhplus.tdd.point.admission.PointAdmissionInterceptor;
+import io.hhplus.tdd.point.admission.PointRateLimiter;
+import io.hhplus.tdd.point.engine.CasBalanceEngine;
+import io.hhplus.tdd.point.engine.ShardedBalanceEngine;
+import io.hhplus.tdd.point.lock.UserLockStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 포인트 서비스 상태를 조회하는 actuator 엔드포인트 (/actuator/point)
+ * 처리 시간 히스토그램과 거절 횟수는 /actuator/metrics/point.* 로 조회합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "point")
+public class PointMetricsEndpoint {
+
+    private static final int TOP_IN_FLIGHT_USERS = 10;
+
+    private final PointService pointService;
+    private final PointMetrics pointMetrics;
+    private final PointAdmissionInterceptor pointAdmissionInterceptor;
+
+    @ReadOperation
+    public PointStatus status() {
+        return new PointStatus(
+                pointService.getUserLockStats(),
+                pointService.getUserPointCacheStats(),
+                pointService.getCasBalanceEngineStats(),
+                pointService.getShardedBalanceEngineStats(),
+                pointService.getIdempotencyStats(),
+                pointAdmissionInterceptor.getStats(),
+                pointMetrics.topInFlight(TOP_IN_FLIGHT_USERS)
+        );
+    }
+
+    /**
+     * @param lock 사용자 락 획득 통계
+     * @param cache 사용자 포인트 캐시 통계, 캐시를 사용하지 않으면 null
+     * @param engine CAS 엔진 통계, CAS 방식이 아니면 null
+     * @param shards 샤드 엔진 통계, SHARDED 방식이 아니면 null
+     * @param idempotency 멱등 키 통계, 멱등 키를 사용하지 않으면 null
+     * @param admission 요청 수 제한 통계, 요청 수 제한을 사용하지 않으면 null
+     * @param inFlightUsers 처리 중인 요청이 많은 사용자와 요청 수
+     */
+    public record PointStatus(
+            UserLockStats lock,
+            UserPointCache.Stats cache,
+            CasBalanceEngine.Stats engine,
+            ShardedBalanceEngine.Stats shards,
+            IdempotencyStore.Stats idempotency,
+            PointRateLimiter.Stats admission,
+            Map<Long, Integer> inFlightUsers
+    ) {
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PointHistoryStoreTest {
+
+    @Test
+    @DisplayName("사용자별 내역은 추가된 순서대로 해당 사용자의 내역만 조회된다.")
+    void findAllByUserId_returnsOnlyUserHistoryInOrder() {
+        // given
+        PointHistoryStore store = new PointHistoryStore();
+        for (int i = 0; i < 20; i++) {
+            store.append(1L, i, TransactionType.CHARGE, i);
+            store.append(2L, i, TransactionType.USE, i);
+        }
+
+        // when
+        List<PointHistory> histories = store.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).hasSize(20);
+        assertThat(histories).allMatch(history -> history.userId() == 1L && history.type() == TransactionType.CHARGE);
+        assertThat(histories).extracting(PointHistory::amount).isSorted();
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+        assertThat(store.findAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("동시에 여러 사용자의 내역이 추가되어도 ID 는 중복 없이 발급된다.")
+    void append_concurrency() throws InterruptedException {
+        // given
+        PointHistoryStore store = new PointHistoryStore();
+        int threadCount = 1000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 10;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    store.append(userId, 10L, TransactionType.CHARGE, System.currentTimeMillis());
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        long totalCount = 0;
+        for (long userId = 0; userId < 10; userId++) {
+            List<PointHistory> histories = store.findAllByUserId(userId);
+            assertThat(histories).hasSize(threadCount / 10);
+            totalCount += histories.stream().map(PointHistory::id).distinct().count();
+        }
+        assertThat(totalCount).isEqualTo(threadCount);
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역 중 종류와 기간 조건을 만족하는 내역만 limit 개 조회된다.")
+    void findByUserId_withCursorAndCondition() {
+        // given
+        PointHistoryStore store = new PointHistoryStore();
+        for (int i = 1; i <= 10; i++) {
+            store.append(1L, i, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, i * 1000L);
+        }
+        PointHistoryQuery query = new PointHistoryQuery(3L, 2, TransactionType.CHARGE, 0L, 9000L);
+
+        // when
+        List<PointHistory> histories = store.findByUserId(1L, query, query.limit());
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(5L, 7L);
+
+        PointHistoryQuery nextQuery = new PointHistoryQuery(7L, 2, TransactionType.CHARGE, 0L, 9000L);
+        assertThat(store.findByUserId(1L, nextQuery, nextQuery.limit())).extracting(PointHistory::id).containsExactly(9L);
+    }
+
+    @Test
+    @DisplayName("PRIMITIVE 방식에서도 사용자별 내역과 내역이 있는 사용자 목록이 같게 조회된다.")
+    void primitiveIndex_findAllByUserIdAndUserIds() {
+        // given
+        PointHistoryStore store = new PointHistoryStore(StorageType.PRIMITIVE, 16);
+        for (long userId = 1; userId <= 1000; userId++) {
+            store.append(userId, userId, TransactionType.CHARGE, userId);
+            store.append(userId, 1L, TransactionType.USE, userId);
+        }
+
+        // when
+        List<PointHistory> histories = store.findAllByUserId(500L);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount, PointHistory::type)
+                .containsExactly(tuple(500L, TransactionType.CHARGE), tuple(1L, TransactionType.USE));
+        assertThat(store.findAllUserIds()).hasSize(1000).contains(1L, 1000L);
+        assertThat(store.findAllByUserId(1001L)).isEmpty();
+    }
+}
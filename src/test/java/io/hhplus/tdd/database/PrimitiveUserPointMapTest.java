@@ -0,0 +1,86 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitiveUserPointMapTest {
+
+    @Test
+    @DisplayName("초기 용량보다 많은 사용자를 저장해도 힙/힙 밖 모두 모든 사용자의 포인트가 조회된다")
+    void put_resize() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            // given
+            PrimitiveUserPointMap store = new PrimitiveUserPointMap(16, offHeap);
+            int userCount = 10_000;
+
+            // when
+            for (long id = 1; id <= userCount; id++) {
+                store.put(new UserPoint(id, id * 10, id));
+            }
+            store.put(new UserPoint(1L, 5L, 7L));
+            store.putIfAbsent(new UserPoint(2L, 999L, 999L));
+
+            // then
+            assertThat(store.get(1L)).isEqualTo(new UserPoint(1L, 5L, 7L));
+            assertThat(store.get(2L)).isEqualTo(new UserPoint(2L, 20L, 2L));
+            for (long id = 3; id <= userCount; id++) {
+                assertThat(store.get(id).point()).isEqualTo(id * 10);
+            }
+            assertThat(store.getPoint(1L, -1L)).isEqualTo(5L);
+            assertThat(store.getPoint(userCount + 1L, -1L)).isEqualTo(-1L);
+            assertThat(store.get(userCount + 1L)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("저장 중에 조회해도 포인트와 변경 시각이 서로 다른 저장에서 섞이지 않는다")
+    void get_concurrentWithPut() throws InterruptedException {
+        // given
+        PrimitiveUserPointMap store = new PrimitiveUserPointMap(16, false);
+        int writeCount = 20_000;
+        AtomicInteger tornCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when - 두 스레드는 포인트와 변경 시각을 같은 값으로 저장하고, 두 스레드는 계속 조회
+        for (int t = 0; t < 2; t++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    for (long i = 1; i <= writeCount; i++) {
+                        store.put(new UserPoint(i % 64, i, i));
+                        store.put(new UserPoint(writeCount + i, i, i));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+            CompletableFuture.runAsync(() -> {
+                try {
+                    for (long i = 1; i <= writeCount; i++) {
+                        UserPoint userPoint = store.get(i % 64);
+                        if (userPoint != null && userPoint.point() != userPoint.updateMillis()) {
+                            tornCount.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+        executor.shutdown();
+
+        // then
+        assertThat(tornCount).hasValue(0);
+        assertThat(store.get(writeCount * 2L).point()).isEqualTo(writeCount);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import org.mockito.verification.VerificationMode;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 목으로 만든 {@link UserPointTable} 에서 포인트만 읽는 조회를 정하고 확인합니다.
+ * 포인트만 읽는 조회는 테이블의 공개 API 가 아니므로, 다른 패키지의 테스트는 이 클래스로 목을 설정합니다.
+ */
+public final class UserPointTableStubs {
+
+    private UserPointTableStubs() {
+    }
+
+    public static void givenPoint(UserPointTable userPointTable, long id, long point) {
+        when(userPointTable.selectPointById(id)).thenReturn(point);
+    }
+
+    public static void verifySelectPoint(UserPointTable userPointTable, VerificationMode mode, long id) {
+        verify(userPointTable, mode).selectPointById(id);
+    }
+}
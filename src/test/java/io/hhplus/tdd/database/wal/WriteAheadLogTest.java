@@ -0,0 +1,317 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("스냅샷이 없으면 다시 열었을 때 기록된 순서대로 모든 기록을 전달한다.")
+    void reopen_replaysEntries() {
+        // given
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            wal.append(List.of(event(1L, TransactionType.CHARGE, 100L, 100L)));
+            wal.append(List.of(event(1L, TransactionType.USE, 30L, 70L)));
+            wal.append(List.of(
+                    event(1L, TransactionType.USE, 20L, 50L),
+                    event(2L, TransactionType.CHARGE, 20L, 20L)
+            ));
+        }
+
+        // when
+        List<WalEntry> entries = new ArrayList<>();
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            wal.replay(entries::add);
+
+            // then
+            assertThat(wal.snapshot()).isEmpty();
+            assertThat(entries).extracting(WalEntry::seq).containsExactly(1L, 2L, 3L);
+            assertThat(entries.get(2).events()).extracting(WalEvent::userId, WalEvent::balance)
+                    .containsExactly(tuple(1L, 50L), tuple(2L, 20L));
+            assertThat(wal.lastSeq()).isEqualTo(3L);
+            assertThat(wal.append(List.of(event(2L, TransactionType.USE, 10L, 10L)))).isEqualTo(4L);
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다가 중단된 마지막 기록은 버리고 그 위치부터 다시 기록한다.")
+    void reopen_discardsTornTail() throws IOException {
+        // given
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            wal.append(List.of(event(1L, TransactionType.CHARGE, 100L, 100L)));
+            wal.append(List.of(event(1L, TransactionType.CHARGE, 100L, 200L)));
+        }
+        // 두 번째 기록의 본문 일부를 손상시킵니다
+        Path segment = segments().get(0);
+        int secondEntry = WalSegment.entryBytes(1);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), secondEntry + WalSegment.HEADER_BYTES + 20);
+        }
+
+        // when
+        List<WalEntry> entries = new ArrayList<>();
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            wal.replay(entries::add);
+            long seq = wal.append(List.of(event(1L, TransactionType.USE, 50L, 50L)));
+
+            // then
+            assertThat(entries).extracting(WalEntry::seq).containsExactly(1L);
+            assertThat(seq).isEqualTo(2L);
+        }
+
+        List<WalEntry> reopened = new ArrayList<>();
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            wal.replay(reopened::add);
+            assertThat(reopened).extracting(WalEntry::seq).containsExactly(1L, 2L);
+            assertThat(reopened.get(1).events()).extracting(WalEvent::balance).containsExactly(50L);
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 세그먼트에 이어서 기록하고, 다시 열면 모든 세그먼트를 순서대로 읽는다.")
+    void append_rollsSegments() throws IOException {
+        // given
+        int segmentSize = WalSegment.entryBytes(1) * 10;
+        int count = 35;
+
+        // when
+        try (WriteAheadLog wal = open(FsyncPolicy.GROUP, segmentSize)) {
+            for (int i = 1; i <= count; i++) {
+                wal.append(List.of(event(1L, TransactionType.CHARGE, 1L, i)));
+            }
+        }
+
+        // then
+        assertThat(segments()).hasSize(4);
+        List<WalEntry> entries = new ArrayList<>();
+        try (WriteAheadLog wal = open(FsyncPolicy.GROUP, segmentSize)) {
+            assertThat(wal.replay(entries::add)).isEqualTo(count);
+            assertThat(entries).extracting(WalEntry::seq).isSorted();
+            assertThat(wal.lastSeq()).isEqualTo(count);
+        }
+    }
+
+    @Test
+    @DisplayName("GROUP 방식에서 여러 스레드가 동시에 기록해도 순번이 중복 없이 발급되고 모두 복원된다.")
+    void append_groupCommitConcurrency() throws InterruptedException {
+        // given
+        int threadCount = 1000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when
+        try (WriteAheadLog wal = open(FsyncPolicy.GROUP, SEGMENT_SIZE)) {
+            for (int i = 0; i < threadCount; i++) {
+                long userId = i % 10;
+                long balance = i;
+                executor.submit(() -> {
+                    try {
+                        wal.append(List.of(event(userId, TransactionType.CHARGE, 1L, balance)));
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+
+        // then
+        List<WalEntry> entries = new ArrayList<>();
+        try (WriteAheadLog wal = open(FsyncPolicy.GROUP, SEGMENT_SIZE)) {
+            wal.replay(entries::add);
+            assertThat(entries).extracting(WalEntry::seq).doesNotHaveDuplicates().hasSize(threadCount);
+            assertThat(wal.lastSeq()).isEqualTo(threadCount);
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷을 쓰면 반영된 세그먼트를 지우고, 다시 열면 스냅샷 이후의 기록만 전달한다.")
+    void compact_deletesCoveredSegments() throws IOException {
+        // given
+        int segmentSize = WalSegment.entryBytes(1) * 10;
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, segmentSize)) {
+            for (int i = 1; i <= 35; i++) {
+                wal.append(List.of(event(i % 5, TransactionType.CHARGE, 10L, 10L * ((i - 1) / 5 + 1))));
+            }
+
+            assertThat(wal.sizeSinceSnapshot()).isEqualTo(35L * WalSegment.entryBytes(1));
+
+            // when
+            assertThat(wal.compact()).isEqualTo(35L);
+            assertThat(wal.sizeSinceSnapshot()).isZero();
+            wal.append(List.of(event(7L, TransactionType.CHARGE, 70L, 70L)));
+            assertThat(wal.sizeSinceSnapshot()).isEqualTo(WalSegment.entryBytes(1));
+        }
+
+        // then
+        assertThat(segments()).hasSize(1);
+        List<WalEntry> entries = new ArrayList<>();
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, segmentSize)) {
+            wal.replay(entries::add);
+            PointSnapshot snapshot = wal.snapshot().orElseThrow();
+
+            assertThat(snapshot.seq()).isEqualTo(35L);
+            assertThat(snapshot.verify()).isTrue();
+            assertThat(snapshot.userCount()).isEqualTo(5);
+            assertThat(snapshot.findUserPoint(1L)).extracting(UserPoint::point).isEqualTo(70L);
+            assertThat(snapshot.historyCount(1L)).isEqualTo(7);
+            assertThat(snapshot.findUserPoint(7L)).isNull();
+            assertThat(entries).extracting(WalEntry::seq).containsExactly(36L);
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷을 다시 쓰면 이전 스냅샷의 내역에 이후의 내역을 이어 붙이고 내역 ID 를 이어서 발급한다.")
+    void compact_mergesPreviousSnapshot() {
+        // given
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            wal.append(List.of(event(2L, TransactionType.CHARGE, 100L, 100L)));
+            wal.append(List.of(event(1L, TransactionType.CHARGE, 50L, 50L)));
+            wal.compact();
+
+            // when
+            wal.append(List.of(
+                    event(2L, TransactionType.USE, 30L, 70L),
+                    event(3L, TransactionType.CHARGE, 30L, 30L)
+            ));
+            wal.compact();
+        }
+
+        // then
+        try (WriteAheadLog wal = open(FsyncPolicy.ALWAYS, SEGMENT_SIZE)) {
+            PointSnapshot snapshot = wal.snapshot().orElseThrow();
+            List<Long> ids = new ArrayList<>();
+            List<TransactionType> types = new ArrayList<>();
+            snapshot.forEachHistory(2L, (id, amount, type, updateMillis) -> {
+                ids.add(id);
+                types.add(type);
+            });
+            List<Long> userIds = new ArrayList<>();
+            snapshot.forEachHistoryUserId(userIds::add);
+
+            assertThat(snapshot.seq()).isEqualTo(3L);
+            assertThat(snapshot.maxHistoryId()).isEqualTo(4L);
+            assertThat(snapshot.findUserPoint(2L)).extracting(UserPoint::point).isEqualTo(70L);
+            assertThat(ids).containsExactly(1L, 3L);
+            assertThat(types).containsExactly(TransactionType.CHARGE, TransactionType.USE);
+            assertThat(userIds).containsExactly(1L, 2L, 3L);
+            assertThat(wal.replay(entry -> {})).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("닫힌 로그에는 기록할 수 없고, 닫기 전에 GROUP 방식으로 추가된 기록은 디스크에 기록된 뒤 반환된다.")
+    void append_rejectsAfterClose() throws InterruptedException {
+        // given
+        WriteAheadLog wal = open(FsyncPolicy.GROUP, SEGMENT_SIZE);
+        int threadCount = 4;
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            executor.submit(() -> {
+                ready.countDown();
+                try {
+                    for (int j = 0; j < 100; j++) {
+                        wal.append(List.of(event(userId, TransactionType.CHARGE, 10L, 10L)));
+                    }
+                } catch (IllegalStateException e) {
+                    // 닫힌 뒤의 기록은 거절된다
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+
+        // when
+        wal.close();
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThatThrownBy(() -> wal.append(List.of(event(1L, TransactionType.CHARGE, 10L, 10L))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("GROUP 방식에서 디스크 기록이 실패하면 기다리던 기록과 이후의 기록이 그 원인으로 실패하고, 로그는 닫을 수 있다.")
+    void append_forceFails_failsWaiters() throws Exception {
+        // given
+        AtomicBoolean failing = new AtomicBoolean();
+        UncheckedIOException failure = new UncheckedIOException(new IOException("force 실패"));
+        WriteAheadLog wal = WriteAheadLog.open(directory, SEGMENT_SIZE, FsyncPolicy.GROUP, Duration.ofMillis(5), segment -> {
+            if (failing.get()) {
+                throw failure;
+            }
+            segment.force();
+        });
+        wal.append(List.of(event(1L, TransactionType.CHARGE, 100L, 100L)));
+        failing.set(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<Long>> appends = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            appends.add(executor.submit(() -> wal.append(List.of(event(1L, TransactionType.USE, 10L, 90L)))));
+        }
+
+        // then
+        for (Future<Long> append : appends) {
+            assertThatThrownBy(() -> append.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .rootCause().isSameAs(failure.getCause());
+        }
+        executor.shutdown();
+        assertThatThrownBy(() -> wal.append(List.of(event(1L, TransactionType.USE, 10L, 90L))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCause(failure);
+        wal.close();
+    }
+
+    private WriteAheadLog open(FsyncPolicy fsyncPolicy, int segmentSize) {
+        return WriteAheadLog.open(directory, segmentSize, fsyncPolicy, Duration.ofMillis(5));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(WalSegment::isSegment).sorted().toList();
+        }
+    }
+
+    private static WalEvent event(long userId, TransactionType type, long amount, long balance) {
+        return new WalEvent(userId, type, amount, balance, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,282 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.UserLockBusyException;
+import io.hhplus.tdd.point.lock.UserLockTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    @Test
+    @DisplayName("같은 멱등 키로 다시 요청하면 실행하지 않고 처음 결과를 반환한다.")
+    void execute_replaysCompletedResult() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        AtomicInteger callCount = new AtomicInteger();
+        UserPoint first = store.execute(1L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return new UserPoint(1L, 100L, 0L);
+        });
+
+        // when
+        UserPoint retried = store.execute(1L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return new UserPoint(1L, 200L, 0L);
+        });
+
+        // then
+        assertThat(retried).isSameAs(first);
+        assertThat(callCount).hasValue(1);
+        assertThat(store.stats().replayCount()).isEqualTo(1L);
+
+        // 다른 사용자의 같은 키는 별개의 요청입니다.
+        store.execute(2L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return new UserPoint(2L, 100L, 0L);
+        });
+        assertThat(callCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 처리 중이면 같은 키의 요청은 처음 요청의 결과를 기다려 함께 반환한다.")
+    void execute_coalescesInFlight() throws InterruptedException {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        AtomicInteger callCount = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int threadCount = 10;
+        CountDownLatch done = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        UserPoint[] results = new UserPoint[threadCount];
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                results[0] = store.execute(1L, "key-1", TransactionType.USE, 10L, () -> {
+                    callCount.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return new UserPoint(1L, 90L, 0L);
+                });
+            } finally {
+                done.countDown();
+            }
+        }, executor);
+        started.await();
+
+        // when - 처음 요청이 끝나기 전에 같은 키로 9번 더 요청
+        for (int i = 1; i < threadCount; i++) {
+            int index = i;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    results[index] = store.execute(1L, "key-1", TransactionType.USE, 10L, () -> {
+                        callCount.incrementAndGet();
+                        return new UserPoint(1L, 80L, 0L);
+                    });
+                } finally {
+                    done.countDown();
+                }
+            }, executor);
+        }
+        while (store.stats().coalescedCount() < threadCount - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        done.await();
+        executor.shutdown();
+
+        // then
+        assertThat(callCount).hasValue(1);
+        assertThat(results).allMatch(result -> result == results[0]);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 포인트를 바꾸기 전에 실패하면 키를 지우므로 같은 키로 다시 요청할 수 있다.")
+    void execute_failureReleasesKey() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        assertThatThrownBy(() -> store.execute(1L, "key-1", TransactionType.USE, 10L, () -> {
+            throw new IllegalArgumentException("유저의 포인트가 부족합니다.");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        // when
+        UserPoint result = store.execute(1L, "key-1", TransactionType.USE, 10L, () -> new UserPoint(1L, 0L, 0L));
+
+        // then
+        assertThat(result.point()).isZero();
+        assertThat(store.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 반영 중에 실패하면 키를 남겨, 같은 키로 다시 요청해도 실행하지 않고 처음 실패를 반환한다.")
+    void execute_failureAfterStateChange_replaysFailure() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        AtomicInteger callCount = new AtomicInteger();
+        assertThatThrownBy(() -> store.execute(1L, "key-1", TransactionType.CHARGE, 10L, () -> {
+            callCount.incrementAndGet();
+            throw new IllegalStateException("포인트 내역을 로그에 기록하지 못했습니다.");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when & then
+        assertThatThrownBy(() -> store.execute(1L, "key-1", TransactionType.CHARGE, 10L, () -> {
+            callCount.incrementAndGet();
+            return new UserPoint(1L, 10L, 0L);
+        })).isInstanceOf(IllegalStateException.class).hasMessage("포인트 내역을 로그에 기록하지 못했습니다.");
+        CompletableFuture<UserPoint> retried = store.executeAsync(1L, "key-1", TransactionType.CHARGE, 10L, () -> {
+            callCount.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 10L, 0L));
+        });
+        assertThatThrownBy(retried::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(callCount).hasValue(1);
+        assertThat(store.stats().replayCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 락을 기다리지 못해 거절되면 키를 지우므로 같은 키로 다시 요청할 수 있다.")
+    void execute_lockRejectedBeforeStateChange_releasesKey() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        assertThatThrownBy(() -> store.execute(1L, "key-1", TransactionType.CHARGE, 10L, () -> {
+            throw new UserLockTimeoutException(1L);
+        })).isInstanceOf(UserLockTimeoutException.class);
+        UserPoint retried = store.execute(1L, "key-1", TransactionType.CHARGE, 10L, () -> new UserPoint(1L, 10L, 0L));
+        assertThatThrownBy(() -> store.execute(1L, "key-2", TransactionType.CHARGE, 10L, () -> {
+            throw new UserLockBusyException(1L);
+        })).isInstanceOf(UserLockBusyException.class);
+
+        // when
+        UserPoint retriedAfterBusy = store.execute(1L, "key-2", TransactionType.CHARGE, 10L, () -> new UserPoint(1L, 20L, 0L));
+
+        // then
+        assertThat(retried.point()).isEqualTo(10L);
+        assertThat(retriedAfterBusy.point()).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("비동기로 처리한 요청이 락을 기다리지 못해 거절되면 키를 지우므로 같은 키로 다시 요청할 수 있다.")
+    void executeAsync_rejectedBeforeStateChange_releasesKey() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        CompletableFuture<UserPoint> rejected = store.executeAsync(1L, "key-1", TransactionType.CHARGE, 10L,
+                () -> CompletableFuture.failedFuture(new RejectedExecutionException("샤드 대기열이 가득 찼습니다.")));
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        // when
+        CompletableFuture<UserPoint> retried = store.executeAsync(1L, "key-1", TransactionType.CHARGE, 10L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 10L, 0L)));
+
+        // then
+        assertThat(retried.join().point()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("같은 멱등 키로 금액이나 종류가 다른 요청을 보내면 실패한다.")
+    void execute_mismatchedRequest() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        store.execute(1L, "key-1", TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 0L));
+
+        // when & then
+        assertThatThrownBy(() -> store.execute(1L, "key-1", TransactionType.CHARGE, 200L, () -> new UserPoint(1L, 300L, 0L)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> store.execute(1L, "key-1", TransactionType.USE, 100L, () -> new UserPoint(1L, 0L, 0L)))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    @DisplayName("처리 중인 키는 최대 크기를 넘거나 유효 시간이 지나도 제거하지 않고, 처리가 끝난 키부터 제거한다.")
+    void evict_skipsInFlight() {
+        // given
+        AtomicLong now = new AtomicLong();
+        IdempotencyStore store = new IdempotencyStore(2, Duration.ofSeconds(1), now::get);
+        CompletableFuture<UserPoint> inFlight = new CompletableFuture<>();
+        AtomicInteger callCount = new AtomicInteger();
+        store.executeAsync(1L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return inFlight;
+        });
+
+        // when - 처리 중인 key-1 이 가장 오래되었고, 크기를 넘도록 처리가 끝난 키를 추가한 뒤 유효 시간이 지남
+        store.execute(1L, "key-2", TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 0L));
+        store.execute(1L, "key-3", TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 200L, 0L));
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        CompletableFuture<UserPoint> retried = store.executeAsync(1L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 300L, 0L));
+        });
+        inFlight.complete(new UserPoint(1L, 100L, 0L));
+
+        // then
+        assertThat(callCount).hasValue(1);
+        assertThat(retried.join().point()).isEqualTo(100L);
+        assertThat(store.stats().evictionCount()).isEqualTo(1L);
+        assertThat(store.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("유효 시간이 지난 키로 요청하면 새 요청으로 실행한다.")
+    void execute_expiredKey() {
+        // given
+        AtomicLong now = new AtomicLong();
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofSeconds(1), now::get);
+        store.execute(1L, "key-1", TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 0L));
+
+        // when
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        UserPoint result = store.execute(1L, "key-1", TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 200L, 0L));
+
+        // then
+        assertThat(result.point()).isEqualTo(200L);
+        assertThat(store.stats().evictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("비동기로 처리 중인 요청에 같은 키로 다시 요청하면 실행하지 않고 처음 요청이 완료될 때 함께 완료된다")
+    void executeAsync_coalescesInFlight() {
+        // given
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        AtomicInteger callCount = new AtomicInteger();
+        CompletableFuture<UserPoint> operation = new CompletableFuture<>();
+        CompletableFuture<UserPoint> first = store.executeAsync(1L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return operation;
+        });
+
+        // when
+        CompletableFuture<UserPoint> retried = store.executeAsync(1L, "key-1", TransactionType.CHARGE, 100L, () -> {
+            callCount.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, 200L, 0L));
+        });
+        CompletableFuture<UserPoint> mismatched = store.executeAsync(1L, "key-1", TransactionType.USE, 100L,
+                () -> CompletableFuture.completedFuture(new UserPoint(1L, 0L, 0L)));
+        operation.complete(new UserPoint(1L, 100L, 0L));
+
+        // then
+        assertThat(callCount).hasValue(1);
+        assertThat(first.join()).isEqualTo(retried.join()).isEqualTo(new UserPoint(1L, 100L, 0L));
+        assertThat(store.stats().coalescedCount()).isEqualTo(1L);
+        assertThatThrownBy(mismatched::join).hasCauseInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동기(MVC) API 와 비동기 API 가 동시에 붙잡고 있을 수 있는 요청 수 비교
+ * Tomcat 요청 스레드를 200개로 두고, 테이블 지연이 있는 포인트 조회 요청 2,000개를 한꺼번에 보냅니다.
+ * 동기 API 는 요청 스레드 수만큼만 동시에 처리하고, 비동기 API 는 요청 스레드를 바로 반납하므로 비동기 실행기 크기만큼 동시에 처리합니다.
+ * 처리량은 실행 환경에 따라 달라지므로 비교하지 않고 로그로 남깁니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class PointControllerAsyncLoadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PointControllerAsyncLoadBenchmark.class);
+
+    private static final int REQUEST_COUNT = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Test
+    @DisplayName("동시에 2,000개의 조회 요청을 보내면 비동기 API 가 동기 API 보다 많은 요청을 동시에 처리한다")
+    void compareConcurrentRequests() throws InterruptedException {
+        LoadResult mvc = run(false);
+        LoadResult async = run(true);
+
+        log.info("mvc   : peak in-flight {}, {} req/s, errors {}", mvc.peakInFlight(), String.format("%.1f", mvc.throughput()), mvc.errorCount());
+        log.info("async : peak in-flight {}, {} req/s, errors {}", async.peakInFlight(), String.format("%.1f", async.throughput()), async.errorCount());
+
+        assertThat(mvc.peakInFlight()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        assertThat(async.peakInFlight()).isGreaterThan(TOMCAT_MAX_THREADS);
+    }
+
+    private LoadResult run(boolean asyncEnabled) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                "--server.tomcat.max-connections=" + (REQUEST_COUNT * 2),
+                "--point.async.enabled=" + asyncEnabled,
+                "--point.async.pool-size=" + REQUEST_COUNT
+        )) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            // 서버에서 처리 중인 요청 수를 1ms 마다 기록합니다
+            AtomicLong peakInFlight = new AtomicLong();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> peakInFlight.accumulateAndGet(
+                    (long) registry.get("point.inflight").gauge().value(), Math::max), 0, 1, TimeUnit.MILLISECONDS);
+
+            AtomicInteger errorCount = new AtomicInteger();
+            long start = System.nanoTime();
+            try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+                List<CompletableFuture<Void>> responses = new ArrayList<>(REQUEST_COUNT);
+                for (int id = 1; id <= REQUEST_COUNT; id++) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + id)).build();
+                    responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .handle((response, e) -> {
+                                if (e != null || response.statusCode() != 200) {
+                                    errorCount.incrementAndGet();
+                                }
+                                return null;
+                            }));
+                }
+                CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+            }
+            long elapsed = System.nanoTime() - start;
+            sampler.shutdownNow();
+            sampler.awaitTermination(1, TimeUnit.SECONDS);
+
+            double throughput = REQUEST_COUNT / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+            return new LoadResult(peakInFlight.get(), throughput, errorCount.get());
+        }
+    }
+
+    private record LoadResult(long peakInFlight, double throughput, int errorCount) {
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PointHistoryExporterTest {
+
+    private PointHistoryStore historyStore;
+    private PointService pointService;
+    private PointHistoryExporter exporter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        historyStore = mock(PointHistoryStore.class);
+        pointService = PointService.builder(mock(UserPointTable.class), mock(PointHistoryTable.class))
+                .pointHistoryStore(historyStore)
+                .build();
+        exporter = new PointHistoryExporter(pointService, objectMapper);
+    }
+
+    @Test
+    @DisplayName("특정 유저의 내역을 여러 페이지에 걸쳐 한 줄에 하나씩 출력합니다.")
+    void exportUser_writesNdjsonAcrossPages() throws IOException {
+        // given
+        long id = 1L;
+        int total = PointHistoryExporter.PAGE_SIZE + 10;
+        List<PointHistory> histories = new ArrayList<>();
+        for (int i = 1; i <= total; i++) {
+            histories.add(new PointHistory(i, id, 10L, TransactionType.CHARGE, i));
+        }
+        when(historyStore.findByUserId(eq(id), any(), anyInt())).thenAnswer(invocation -> {
+            PointHistoryQuery query = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return histories.stream().filter(history -> history.id() > query.cursor()).limit(limit).toList();
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        exporter.exportUser(id, outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(total);
+        assertThat(objectMapper.readValue(lines[0], PointHistory.class)).isEqualTo(histories.get(0));
+        assertThat(objectMapper.readValue(lines[total - 1], PointHistory.class)).isEqualTo(histories.get(total - 1));
+    }
+
+    @Test
+    @DisplayName("모든 유저의 내역을 사용자 단위로 출력합니다.")
+    void exportAll_writesEveryUser() throws IOException {
+        // given
+        when(historyStore.findAllUserIds()).thenReturn(Set.of(1L, 2L));
+        when(historyStore.findByUserId(anyLong(), any(), anyInt())).thenAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            PointHistoryQuery query = invocation.getArgument(1);
+            return query.cursor() == 0L
+                    ? List.of(new PointHistory(userId, userId, 10L, TransactionType.CHARGE, 0L))
+                    : List.of();
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        exporter.exportAll(outputStream);
+
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8).split("\n")).hasSize(2);
+    }
+}
@@ -0,0 +1,408 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryStore;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.Throttle;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.wal.FsyncPolicy;
+import io.hhplus.tdd.database.wal.WalEvent;
+import io.hhplus.tdd.point.aggregate.UserPointAggregate;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class PointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작하면 로그에서 사용자 포인트와 포인트 내역을 복원한다.")
+    void restart_restoresPointsAndHistories() {
+        // given
+        PointProperties properties = properties();
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal journal = journal(userPointTable, pointHistoryTable, properties);
+        journal.start();
+        PointService pointService = service(userPointTable, pointHistoryTable, properties, journal);
+
+        pointService.chargeUserPoint(1L, 1_000L);
+        pointService.useUserPoint(1L, 300L);
+        pointService.transferUserPoint(1L, 2L, 200L);
+        pointService.bulkUpdateUserPoint(List.of(
+                new PointOperation(2L, 50L, TransactionType.CHARGE),
+                new PointOperation(3L, 10L, TransactionType.USE)
+        ));
+        journal.stop();
+
+        // when
+        UserPointTable restoredUserPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable restoredPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal restoredJournal = journal(restoredUserPointTable, restoredPointHistoryTable, properties);
+        restoredJournal.start();
+
+        // then
+        try {
+            assertThat(restoredUserPointTable.selectById(1L).point()).isEqualTo(500L);
+            assertThat(restoredUserPointTable.selectById(2L).point()).isEqualTo(250L);
+            assertThat(restoredUserPointTable.selectById(3L).point()).isZero();
+            assertThat(restoredPointHistoryTable.selectAllByUserId(1L))
+                    .extracting(PointHistory::type, PointHistory::amount)
+                    .containsExactly(
+                            tuple(TransactionType.CHARGE, 1_000L),
+                            tuple(TransactionType.USE, 300L),
+                            tuple(TransactionType.USE, 200L)
+                    );
+            assertThat(restoredPointHistoryTable.selectAllByUserId(2L)).hasSize(2);
+            assertThat(restoredPointHistoryTable.selectAllByUserId(3L)).isEmpty();
+        } finally {
+            restoredJournal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("스냅샷에서 불러온 사용자도 재시작 후의 변경이 이어서 반영되고, 다시 재시작해도 모두 복원된다.")
+    void restart_continuesFromSnapshot() {
+        // given
+        PointProperties properties = properties();
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal journal = journal(userPointTable, pointHistoryTable, properties);
+        journal.start();
+        service(userPointTable, pointHistoryTable, properties, journal).chargeUserPoint(1L, 1_000L);
+        journal.stop();
+
+        UserPointTable restartedUserPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable restartedPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal restartedJournal = journal(restartedUserPointTable, restartedPointHistoryTable, properties);
+        restartedJournal.start();
+
+        // when
+        PointService pointService = service(restartedUserPointTable, restartedPointHistoryTable, properties, restartedJournal);
+        pointService.useUserPoint(1L, 400L);
+        List<PointHistory> histories = pointService.getUserPointHistory(1L);
+        restartedJournal.stop();
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 2L);
+
+        UserPointTable restoredUserPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable restoredPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal restoredJournal = journal(restoredUserPointTable, restoredPointHistoryTable, properties);
+        restoredJournal.start();
+        try {
+            assertThat(restoredUserPointTable.selectById(1L).point()).isEqualTo(600L);
+            assertThat(restoredPointHistoryTable.selectAllByUserId(1L))
+                    .extracting(PointHistory::id, PointHistory::type)
+                    .containsExactly(tuple(1L, TransactionType.CHARGE), tuple(2L, TransactionType.USE));
+            assertThat(PointHistoryStore.of(restoredPointHistoryTable).findAllUserIds()).containsExactly(1L);
+        } finally {
+            restoredJournal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("재시작하면 로그의 기록과 스냅샷 모두에서 재시작 전과 같은 내역 ID 로 내역을 복원한다.")
+    void restart_keepsHistoryIds() throws IOException {
+        // given
+        PointProperties properties = properties();
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal journal = journal(userPointTable, pointHistoryTable, properties);
+        journal.start();
+        PointService pointService = service(userPointTable, pointHistoryTable, properties, journal);
+
+        pointService.chargeUserPoint(1L, 1_000L);
+        pointHistoryTable.insert(9L, 10L, TransactionType.CHARGE, 0L);
+        pointService.transferUserPoint(1L, 2L, 200L);
+        pointService.useUserPoint(2L, 50L);
+        List<PointHistory> histories1 = pointService.getUserPointHistory(1L);
+        List<PointHistory> histories2 = pointService.getUserPointHistory(2L);
+
+        // when
+        PointProperties crashedProperties = properties();
+        crashedProperties.getWal().setDirectory(copyWal("crashed").toString());
+        PointHistoryTable replayedPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal replayedJournal = journal(new UserPointTable(Throttle.NONE), replayedPointHistoryTable, crashedProperties);
+        replayedJournal.start();
+        replayedJournal.stop();
+        journal.stop();
+        PointHistoryTable restoredPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal restoredJournal = journal(new UserPointTable(Throttle.NONE), restoredPointHistoryTable, properties);
+        restoredJournal.start();
+
+        // then
+        try {
+            assertThat(histories1).extracting(PointHistory::id).containsExactly(1L, 3L);
+            assertThat(replayedPointHistoryTable.selectAllByUserId(1L)).isEqualTo(histories1);
+            assertThat(replayedPointHistoryTable.selectAllByUserId(2L)).isEqualTo(histories2);
+            assertThat(restoredPointHistoryTable.selectAllByUserId(1L)).isEqualTo(histories1);
+            assertThat(restoredPointHistoryTable.selectAllByUserId(2L)).isEqualTo(histories2);
+        } finally {
+            restoredJournal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("집계를 사용하면 시작할 때 로그에서 복원한 내역과 포인트로 집계와 순위를 채운다.")
+    void restart_loadsAggregates() {
+        // given
+        PointProperties properties = properties();
+        properties.getAggregate().setEnabled(true);
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal journal = journal(userPointTable, pointHistoryTable, properties);
+        journal.start();
+        PointService pointService = service(userPointTable, pointHistoryTable, properties, journal);
+        pointService.chargeUserPoint(1L, 1_000L);
+        pointService.useUserPoint(1L, 300L);
+        pointService.chargeUserPoint(2L, 500L);
+        journal.stop();
+
+        UserPointTable restoredUserPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable restoredPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal restoredJournal = journal(restoredUserPointTable, restoredPointHistoryTable, properties);
+        restoredJournal.start();
+        PointService restoredPointService = service(restoredUserPointTable, restoredPointHistoryTable, properties, restoredJournal);
+
+        // when
+        restoredPointService.start();
+        restoredPointService.chargeUserPoint(2L, 100L);
+
+        // then
+        try {
+            assertThat(restoredPointService.getUserPointAggregate(1L)).isEqualTo(new UserPointAggregate(1L, 1_000L, 1L, 300L, 1L));
+            assertThat(restoredPointService.getUserPointAggregate(2L)).isEqualTo(new UserPointAggregate(2L, 600L, 2L, 0L, 0L));
+            assertThat(restoredPointService.getPointLeaderboard(10))
+                    .extracting(UserPoint::id, UserPoint::point)
+                    .containsExactly(tuple(1L, 700L), tuple(2L, 600L));
+        } finally {
+            restoredJournal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("마지막 스냅샷 이후의 기록이 기준 크기보다 작으면 종료할 때 스냅샷을 쓰지 않고, 재시작하면 로그에서 복원한다.")
+    void stop_belowSnapshotThreshold_skipsSnapshot() throws IOException {
+        // given
+        PointProperties properties = properties();
+        properties.getWal().setSnapshotThreshold(DataSize.ofMegabytes(1));
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal journal = journal(userPointTable, pointHistoryTable, properties);
+        journal.start();
+        service(userPointTable, pointHistoryTable, properties, journal).chargeUserPoint(1L, 1_000L);
+
+        // when
+        journal.stop();
+
+        // then
+        try (Stream<Path> files = Files.list(directory.resolve("wal"))) {
+            assertThat(files.map(path -> path.getFileName().toString())).noneMatch(name -> name.startsWith("snapshot-"));
+        }
+        UserPointTable restoredUserPointTable = new UserPointTable(Throttle.NONE);
+        PointJournal restoredJournal = journal(restoredUserPointTable, new PointHistoryTable(Throttle.NONE), properties);
+        restoredJournal.start();
+        try {
+            assertThat(restoredUserPointTable.selectById(1L).point()).isEqualTo(1_000L);
+        } finally {
+            restoredJournal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("로그를 사용하지 않으면 시작해도 아무것도 기록하지 않는다.")
+    void disabled_recordsNothing() {
+        // given
+        PointProperties properties = properties();
+        properties.getWal().setEnabled(false);
+        PointJournal journal = new PointJournal(new UserPointStore(), new PointHistoryStore(), properties);
+
+        // when
+        journal.start();
+        journal.record(1L, TransactionType.CHARGE, 100L, new UserPoint(1L, 100L, 0L));
+
+        // then
+        assertThat(journal.isRunning()).isFalse();
+        assertThat(directory.resolve("wal")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("로그 기록이 실패하면 충전과 이체를 반영하지 않고 포인트와 내역을 그대로 둔다.")
+    void recordFailure_rollsBackPoints() {
+        // given
+        PointProperties properties = properties();
+        properties.getCache().setEnabled(true);
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        userPointTable.insertOrUpdate(1L, 1_000L);
+        PointJournal journal = new PointJournal(UserPointStore.of(userPointTable), PointHistoryStore.of(pointHistoryTable), properties) {
+            @Override
+            public List<WalEvent> record(List<WalEvent> events) {
+                throw new IllegalStateException("WAL 이 닫혔습니다.");
+            }
+        };
+        PointService pointService = service(userPointTable, pointHistoryTable, properties, journal);
+
+        // when
+        assertThatThrownBy(() -> pointService.chargeUserPoint(1L, 100L)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> pointService.transferUserPoint(1L, 2L, 100L)).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(1_000L);
+        assertThat(pointService.getUserPoint(2L).point()).isZero();
+        assertThat(pointService.getUserPointHistory(1L)).isEmpty();
+        assertThat(pointService.getUserPointHistory(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 요청을 한 번에 반영하다 내역 저장이 실패해도 요청은 성공하고, 다음 내역은 로그에 기록한 내역 ID 로 저장된다.")
+    void historyWriteFailure_keepsHistoryIds() throws IOException {
+        // given
+        PointProperties properties = properties();
+        AtomicBoolean failHistory = new AtomicBoolean();
+        UserPointTable userPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(maxMillis -> {
+            if (failHistory.getAndSet(false)) {
+                throw new IllegalStateException("저장 실패");
+            }
+        });
+        PointJournal journal = journal(userPointTable, pointHistoryTable, properties);
+        journal.start();
+        PointService pointService = service(userPointTable, pointHistoryTable, properties, journal);
+
+        // when
+        failHistory.set(true);
+        List<PointOperationResult> results = pointService.bulkUpdateUserPoint(List.of(
+                new PointOperation(1L, 100L, TransactionType.CHARGE),
+                new PointOperation(1L, 200L, TransactionType.CHARGE)
+        ));
+        pointService.chargeUserPoint(1L, 300L);
+        List<PointHistory> histories = pointService.getUserPointHistory(1L);
+
+        // then
+        PointProperties crashedProperties = properties();
+        crashedProperties.getWal().setDirectory(copyWal("crashed").toString());
+        PointHistoryTable replayedPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal replayedJournal = journal(new UserPointTable(Throttle.NONE), replayedPointHistoryTable, crashedProperties);
+        replayedJournal.start();
+        try {
+            assertThat(results).extracting(result -> result.userPoint().point()).containsExactly(100L, 300L);
+            assertThat(histories)
+                    .extracting(PointHistory::id, PointHistory::amount)
+                    .containsExactly(tuple(2L, 200L), tuple(3L, 300L));
+            assertThat(replayedPointHistoryTable.selectAllByUserId(1L))
+                    .extracting(PointHistory::id, PointHistory::amount)
+                    .containsExactly(tuple(1L, 100L), tuple(2L, 200L), tuple(3L, 300L));
+        } finally {
+            replayedJournal.stop();
+            journal.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("CAS 방식에서 포인트 저장이 실패하면 로그에 기록하지 않고, 로그 기록이 실패하면 포인트를 되돌린다.")
+    void casEngine_publishFailure_keepsTableAndLogConsistent() throws IOException {
+        // given
+        PointProperties properties = properties();
+        properties.getEngine().setType(PointProperties.EngineType.CAS);
+        AtomicBoolean failSave = new AtomicBoolean();
+        AtomicBoolean failRecord = new AtomicBoolean();
+        UserPointTable userPointTable = new UserPointTable(maxMillis -> {
+            if (maxMillis == 300L && failSave.getAndSet(false)) {
+                throw new IllegalStateException("저장 실패");
+            }
+        });
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal journal = new PointJournal(UserPointStore.of(userPointTable), PointHistoryStore.of(pointHistoryTable), properties) {
+            @Override
+            public List<WalEvent> record(List<WalEvent> events) {
+                if (failRecord.getAndSet(false)) {
+                    throw new IllegalStateException("WAL 이 닫혔습니다.");
+                }
+                return super.record(events);
+            }
+        };
+        journal.start();
+        PointService pointService = service(userPointTable, pointHistoryTable, properties, journal);
+        pointService.chargeUserPoint(1L, 1_000L);
+
+        // when
+        failSave.set(true);
+        assertThatThrownBy(() -> pointService.useUserPoint(1L, 100L)).isInstanceOf(IllegalStateException.class);
+        failRecord.set(true);
+        assertThatThrownBy(() -> pointService.useUserPoint(1L, 200L)).isInstanceOf(IllegalStateException.class);
+        UserPoint userPoint = pointService.useUserPoint(1L, 300L);
+
+        // then
+        PointProperties crashedProperties = properties();
+        crashedProperties.getWal().setDirectory(copyWal("crashed").toString());
+        UserPointTable replayedUserPointTable = new UserPointTable(Throttle.NONE);
+        PointHistoryTable replayedPointHistoryTable = new PointHistoryTable(Throttle.NONE);
+        PointJournal replayedJournal = journal(replayedUserPointTable, replayedPointHistoryTable, crashedProperties);
+        replayedJournal.start();
+        try {
+            assertThat(userPoint.point()).isEqualTo(700L);
+            assertThat(userPointTable.selectById(1L).point()).isEqualTo(700L);
+            assertThat(replayedUserPointTable.selectById(1L).point()).isEqualTo(700L);
+            assertThat(replayedPointHistoryTable.selectAllByUserId(1L)).isEqualTo(pointService.getUserPointHistory(1L));
+        } finally {
+            replayedJournal.stop();
+            journal.stop();
+        }
+    }
+
+    private PointProperties properties() {
+        PointProperties properties = new PointProperties();
+        properties.getWal().setEnabled(true);
+        properties.getWal().setDirectory(directory.resolve("wal").toString());
+        properties.getWal().setFsync(FsyncPolicy.GROUP);
+        // 종료할 때마다 스냅샷을 저장합니다
+        properties.getWal().setSnapshotThreshold(DataSize.ofBytes(0));
+        return properties;
+    }
+
+    /**
+     * 종료하지 않은 로그를 그대로 복사해 비정상 종료된 상태를 만듭니다.
+     */
+    private Path copyWal(String name) throws IOException {
+        Path source = directory.resolve("wal");
+        Path target = Files.createDirectories(directory.resolve(name));
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+        return target;
+    }
+
+    private static PointJournal journal(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointProperties properties) {
+        return new PointJournal(UserPointStore.of(userPointTable), PointHistoryStore.of(pointHistoryTable), properties);
+    }
+
+    private static PointService service(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                        PointProperties properties, PointJournal journal) {
+        return PointService.builder(userPointTable, pointHistoryTable)
+                .pointHistoryStore(PointHistoryStore.of(pointHistoryTable))
+                .pointProperties(properties)
+                .pointHistoryWriter(new PointHistoryWriter(pointHistoryTable, properties))
+                .pointMetrics(PointMetrics.noop())
+                .pointJournal(journal)
+                .build();
+    }
+}
@@ -1,18 +1,36 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.Throttle;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.aggregate.PointRollup;
+import io.hhplus.tdd.point.aggregate.RollupWindow;
+import io.hhplus.tdd.point.aggregate.UserPointAggregate;
+import io.hhplus.tdd.point.feed.ChangeCursor;
+import io.hhplus.tdd.point.feed.PointChangeEvent;
+import io.hhplus.tdd.point.feed.PointChangeFeed;
+import io.hhplus.tdd.point.lock.UserLockBusyException;
+import io.hhplus.tdd.point.lock.UserLockTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 class PointServiceConcurrencyIntegrationTest {
 
@@ -119,4 +137,664 @@ class PointServiceConcurrencyIntegrationTest {
         UserPoint result = pointService.getUserPoint(id);
         assertThat(result.point()).isZero();
     }
+
+    @Test
+    @DisplayName("배치 모드에서 동시에 여러 충전 요청이 들어와도 포인트 충전과 내역은 정확히 반영된다.")
+    void chargeUserPoint_concurrency_inBatchMode() throws InterruptedException {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getBatch().setEnabled(true);
+        pointService = PointService.builder(new UserPointTable(), new PointHistoryTable())
+                .pointProperties(pointProperties)
+                .build();
+
+        long id = 1L;
+        int threadCount = 100;
+        long amount = 10L;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.chargeUserPoint(id, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        UserPoint result = pointService.getUserPoint(id);
+        assertThat(result.point()).isEqualTo(amount * threadCount);
+
+        List<PointHistory> userPointHistory = pointService.getUserPointHistory(id);
+        assertThat(userPointHistory).hasSize(threadCount);
+        userPointHistory.forEach(history -> assertThat(history.amount()).isEqualTo(amount));
+    }
+
+    @Test
+    @DisplayName("배치 모드에서 잔액이 부족한 요청은 각자 실패하고 나머지 요청만 반영된다")
+    void useUserPoint_concurrency_withInsufficientPoint_inBatchMode() throws InterruptedException {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getBatch().setEnabled(true);
+        pointService = PointService.builder(new UserPointTable(), new PointHistoryTable())
+                .pointProperties(pointProperties)
+                .build();
+
+        long id = 1L;
+        long initialPoint = 100L;
+        int threadCount = 10;
+        long amount = 20L;
+        pointService.chargeUserPoint(id, initialPoint);
+
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.useUserPoint(id, amount);
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    failCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        assertThat(successCount.get()).isEqualTo(5);
+        assertThat(failCount.get()).isEqualTo(5);
+        assertThat(pointService.getUserPoint(id).point()).isZero();
+        assertThat(pointService.getUserPointHistory(id)).hasSize(1 + 5);
+    }
+
+    @Test
+    @DisplayName("내역을 비동기로 저장해도 충전 직후 조회하면 자신의 내역이 모두 조회된다")
+    void chargeUserPoint_concurrency_withAsyncHistoryWriter() throws InterruptedException {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getHistoryWriter().setEnabled(true);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointProperties);
+        pointHistoryWriter.start();
+        pointService = PointService.builder(new UserPointTable(), pointHistoryTable)
+                .pointProperties(pointProperties)
+                .pointHistoryWriter(pointHistoryWriter)
+                .build();
+
+        long id = 1L;
+        int threadCount = 20;
+        long amount = 10L;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.chargeUserPoint(id, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        List<PointHistory> userPointHistory = pointService.getUserPointHistory(id);
+        assertThat(userPointHistory).hasSize(threadCount);
+        assertThat(pointService.getUserPoint(id).point()).isEqualTo(amount * threadCount);
+
+        pointHistoryWriter.stop();
+        assertThat(pointHistoryWriter.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("스트라이프 락을 사용해도 여러 사용자의 동시 충전은 정확히 반영된다")
+    void chargeUserPoint_concurrency_withStripedLock() throws InterruptedException {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getLock().setStrategy(PointProperties.LockStrategy.STRIPED);
+        pointProperties.getLock().setStripes(2);
+        pointService = PointService.builder(new UserPointTable(), new PointHistoryTable())
+                .pointProperties(pointProperties)
+                .build();
+
+        int userCount = 4;
+        int threadCount = 40;
+        long amount = 10L;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long id = i % userCount;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.chargeUserPoint(id, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        for (long id = 0; id < userCount; id++) {
+            assertThat(pointService.getUserPoint(id).point()).isEqualTo(amount * threadCount / userCount);
+        }
+        assertThat(pointService.getUserLockStats().acquireCount()).isEqualTo(threadCount);
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서 동시에 충전/사용 요청이 들어와도 포인트는 정확히 반영된다")
+    void chargeAndUseUserPoint_concurrency_onVirtualThreads() throws InterruptedException {
+        // given
+        long id = 1L;
+        int threadCount = 50;
+        long amount = 10L;
+        pointService.chargeUserPoint(id, amount * threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount * 2);
+
+        // when - 충전과 사용을 같은 수만큼 가상 스레드에서 실행
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                executor.submit(() -> {
+                    try {
+                        pointService.chargeUserPoint(id, amount);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+                executor.submit(() -> {
+                    try {
+                        pointService.useUserPoint(id, amount);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+
+        // then
+        assertThat(pointService.getUserPoint(id).point()).isEqualTo(amount * threadCount);
+    }
+
+    @Test
+    @DisplayName("두 사용자가 서로에게 동시에 이체해도 교착 상태 없이 포인트 합계가 유지된다")
+    void transferUserPoint_concurrency_oppositeDirections() throws InterruptedException {
+        // given
+        long userA = 1L;
+        long userB = 2L;
+        int threadCount = 10;
+        long amount = 10L;
+        pointService.chargeUserPoint(userA, amount * threadCount);
+        pointService.chargeUserPoint(userB, amount * threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when - A -> B, B -> A 이체를 같은 수만큼 동시에 실행
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.transferUserPoint(userA, userB, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.transferUserPoint(userB, userA, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        assertThat(pointService.getUserPoint(userA).point()).isEqualTo(amount * threadCount);
+        assertThat(pointService.getUserPoint(userB).point()).isEqualTo(amount * threadCount);
+        assertThat(pointService.getUserPointHistory(userA)).hasSize(1 + threadCount * 2);
+    }
+
+    @Test
+    @DisplayName("CAS 방식에서 동시에 충전/사용해도 포인트와 내역이 정확히 반영된다")
+    void chargeAndUse_concurrency_casEngine() throws InterruptedException {
+        // given
+        PointService pointService = casPointService(Throttle.RANDOM);
+        long id = 1L;
+        int threadCount = 100;
+        long amount = 10L;
+        pointService.chargeUserPoint(id, amount * threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when - 충전과 사용 요청을 같은 수만큼 동시에 실행
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.chargeUserPoint(id, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.useUserPoint(id, amount);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        assertThat(pointService.getUserPoint(id).point()).isEqualTo(amount * threadCount);
+        List<PointHistory> histories = pointService.getUserPointHistory(id);
+        assertThat(histories).hasSize(1 + threadCount * 2);
+        assertThat(histories).filteredOn(history -> history.type() == TransactionType.USE).hasSize(threadCount);
+    }
+
+    @Test
+    @DisplayName("CAS 방식에서 잔고보다 많은 사용 요청이 동시에 들어오면 잔고만큼만 사용된다")
+    void useUserPoint_concurrency_casEngine_insufficient() throws InterruptedException {
+        // given
+        PointService pointService = casPointService(Throttle.RANDOM);
+        long id = 1L;
+        int threadCount = 100;
+        long amount = 10L;
+        pointService.chargeUserPoint(id, amount * 30);
+        AtomicInteger successCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // when - 30번만 사용할 수 있는 잔고에 100개의 사용 요청을 동시에 실행
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    pointService.useUserPoint(id, amount);
+                    successCount.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        assertThat(successCount).hasValue(30);
+        assertThat(pointService.getUserPoint(id).point()).isZero();
+        assertThat(pointService.getUserPointHistory(id)).hasSize(1 + 30);
+    }
+
+    @Test
+    @DisplayName("CAS 방식에서는 이체를 거절하고 두 사용자의 포인트와 내역을 바꾸지 않는다")
+    void transferUserPoint_casEngine_rejected() {
+        // given
+        PointService pointService = casPointService(Throttle.NONE);
+        long userA = 1L;
+        long userB = 2L;
+        pointService.chargeUserPoint(userA, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferUserPoint(userA, userB, 10L))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(pointService.getUserPoint(userA).point()).isEqualTo(100L);
+        assertThat(pointService.getUserPoint(userB).point()).isZero();
+        assertThat(pointService.getUserPointHistory(userA)).hasSize(1);
+        assertThat(pointService.getUserPointHistory(userB)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 요청을 락 방식과 CAS 방식으로 동시에 처리하면 포인트와 내역 결과가 같다")
+    void chargeAndUse_concurrency_lockAndCasEngineAgree() throws InterruptedException {
+        // given
+        Throttle throttle = Throttle.scaled(0.1);
+        PointService lockPointService = new PointService(new UserPointTable(throttle), new PointHistoryTable(throttle));
+        PointService casPointService = casPointService(throttle);
+
+        // when
+        runMixedRequests(lockPointService);
+        runMixedRequests(casPointService);
+
+        // then
+        for (long id = 1; id <= 5; id++) {
+            assertThat(casPointService.getUserPoint(id).point()).isEqualTo(lockPointService.getUserPoint(id).point());
+            assertThat(casPointService.getUserPointHistory(id))
+                    .extracting(PointHistory::type, PointHistory::amount)
+                    .containsExactlyInAnyOrderElementsOf(lockPointService.getUserPointHistory(id).stream()
+                            .map(history -> tuple(history.type(), history.amount()))
+                            .toList());
+        }
+    }
+
+    @Test
+    @DisplayName("SHARDED 방식에서 여러 사용자에게 충전/사용을 비동기로 요청해도 락 방식과 포인트와 내역 결과가 같다")
+    void chargeAndUse_concurrency_shardedEngineAsync() throws InterruptedException {
+        // given
+        Throttle throttle = Throttle.scaled(0.1);
+        PointService lockPointService = new PointService(new UserPointTable(throttle), new PointHistoryTable(throttle));
+        PointService shardedPointService = shardedPointService(throttle);
+        int requestCount = 20;
+
+        // when - 요청 스레드는 기다리지 않고 샤드에 모두 넘긴 뒤 결과를 모아 기다립니다
+        runMixedRequests(lockPointService);
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            shardedPointService.chargeUserPoint(id, 1_000L);
+            for (int i = 0; i < requestCount; i++) {
+                results.add(shardedPointService.chargeUserPointAsync(id, id * 10, null));
+                results.add(shardedPointService.useUserPointAsync(id, id * 7, null));
+            }
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        for (long id = 1; id <= 5; id++) {
+            assertThat(shardedPointService.getUserPoint(id).point()).isEqualTo(lockPointService.getUserPoint(id).point());
+            assertThat(shardedPointService.getUserPointHistory(id))
+                    .extracting(PointHistory::type, PointHistory::amount)
+                    .containsExactlyInAnyOrderElementsOf(lockPointService.getUserPointHistory(id).stream()
+                            .map(history -> tuple(history.type(), history.amount()))
+                            .toList());
+        }
+        assertThat(shardedPointService.getShardedBalanceEngineStats().updateCount()).isEqualTo(5 + 5 * requestCount * 2);
+        shardedPointService.close();
+    }
+
+    @Test
+    @DisplayName("SHARDED 방식에서는 이체를 거절하고 두 사용자의 포인트와 내역을 바꾸지 않는다")
+    void transferUserPoint_shardedEngine_rejected() {
+        // given
+        PointService pointService = shardedPointService(Throttle.NONE);
+        long userA = 1L;
+        long userB = 2L;
+        pointService.chargeUserPoint(userA, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferUserPointAsync(userA, userB, 10L).join())
+                .hasCauseInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> pointService.transferUserPoint(userA, userB, 10L))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(pointService.getUserPoint(userA).point()).isEqualTo(100L);
+        assertThat(pointService.getUserPoint(userB).point()).isZero();
+        assertThat(pointService.getUserPointHistory(userA)).hasSize(1);
+        assertThat(pointService.getUserPointHistory(userB)).isEmpty();
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("한 사용자에게 요청이 몰려 락 대기자 수 상한을 넘으면 넘은 요청은 바로 거절되고 나머지만 반영된다")
+    void chargeUserPoint_concurrency_maxWaiters() throws InterruptedException {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getLock().setMaxWaiters(2);
+        pointService = PointService.builder(new UserPointTable(Throttle.scaled(0.1)), new PointHistoryTable(Throttle.scaled(0.1)))
+                .pointProperties(pointProperties)
+                .build();
+
+        int threadCount = 50;
+        long amount = 10L;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger rejectedCount = new AtomicInteger();
+        AtomicLong maxRejectNanos = new AtomicLong();
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            CompletableFuture.runAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    pointService.chargeUserPoint(1L, amount);
+                    successCount.incrementAndGet();
+                } catch (UserLockBusyException e) {
+                    rejectedCount.incrementAndGet();
+                    maxRejectNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+        executor.shutdown();
+
+        // then
+        assertThat(rejectedCount.get()).isPositive();
+        assertThat(successCount.get() + rejectedCount.get()).isEqualTo(threadCount);
+        assertThat(maxRejectNanos.get()).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(amount * successCount.get());
+        assertThat(pointService.getUserPointHistory(1L)).hasSize(successCount.get());
+        assertThat(pointService.getUserLockStats().busyCount()).isEqualTo(rejectedCount.get());
+    }
+
+    @Test
+    @DisplayName("배치 모드에서 락 획득 제한 시간을 넘겨 거절된 요청은 나중에 락을 얻은 다른 요청과 함께 반영되지 않는다")
+    void chargeUserPoint_inBatchMode_lockTimeout_notApplied() throws InterruptedException {
+        // given - 첫 요청이 포인트를 조회하는 동안 release 전까지 락을 쥐고 있습니다
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean holding = new AtomicBoolean(true);
+        Throttle blocking = maxMillis -> {
+            if (holding.get()) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getBatch().setEnabled(true);
+        pointProperties.getLock().setTimeout(Duration.ofMillis(50));
+        pointService = PointService.builder(new UserPointTable(blocking), new PointHistoryTable())
+                .pointProperties(pointProperties)
+                .build();
+        long id = 1L;
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> pointService.chargeUserPoint(id, 100L));
+        entered.await();
+
+        // when
+        assertThatThrownBy(() -> pointService.chargeUserPoint(id, 10L)).isInstanceOf(UserLockTimeoutException.class);
+        holding.set(false);
+        release.countDown();
+        first.join();
+        pointService.chargeUserPoint(id, 1L);
+
+        // then - 거절된 10 포인트는 반영되지 않습니다
+        assertThat(pointService.getUserPoint(id).point()).isEqualTo(101L);
+        assertThat(pointService.getUserPointHistory(id)).extracting(PointHistory::amount).containsExactly(100L, 1L);
+    }
+
+    @Test
+    @DisplayName("비동기 API 는 요청 스레드를 붙잡지 않고, 실행기와 대기열이 가득 차면 넘친 요청을 바로 거절한다")
+    void getUserPointAsync_boundedExecutor() {
+        // given - 테이블 호출이 release 전까지 끝나지 않습니다
+        CountDownLatch release = new CountDownLatch(1);
+        Throttle blocking = maxMillis -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getAsync().setEnabled(true);
+        pointProperties.getAsync().setPoolSize(2);
+        pointProperties.getAsync().setQueueCapacity(2);
+        PointService pointService = PointService.builder(new UserPointTable(blocking), new PointHistoryTable())
+                .pointProperties(pointProperties)
+                .build();
+
+        // when - 요청 스레드 하나에서 10개를 요청
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            results.add(pointService.getUserPointAsync(id));
+        }
+
+        // then - 2개는 처리 중, 2개는 대기 중이고 나머지는 바로 거절됩니다
+        assertThat(results).filteredOn(CompletableFuture::isCompletedExceptionally).hasSize(6);
+        assertThatThrownBy(() -> results.get(9).join()).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(results.subList(0, 4)).allSatisfy(result -> assertThat(result.join().point()).isZero());
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("락, CAS, SHARDED 방식 모두 동시에 충전/사용해도 사용자 집계와 포인트 순위가 내역과 포인트에 맞게 갱신된다")
+    void aggregate_concurrency_matchesHistory() throws InterruptedException {
+        Throttle throttle = Throttle.scaled(0.1);
+        PointService lockPointService = PointService.builder(new UserPointTable(throttle), new PointHistoryTable(throttle))
+                .pointProperties(aggregateProperties())
+                .build();
+        for (PointService service : List.of(lockPointService, casPointService(throttle, aggregateProperties()),
+                shardedPointService(throttle, aggregateProperties()))) {
+            // when
+            runMixedRequests(service);
+
+            // then - 사용자 집계는 내역을 다시 합친 값과 같다
+            for (long id = 1; id <= 5; id++) {
+                List<PointHistory> histories = service.getUserPointHistory(id);
+                UserPointAggregate aggregate = service.getUserPointAggregate(id);
+                assertThat(aggregate.chargeCount()).isEqualTo(histories.stream().filter(h -> h.type() == TransactionType.CHARGE).count());
+                assertThat(aggregate.chargeAmount()).isEqualTo(histories.stream().filter(h -> h.type() == TransactionType.CHARGE).mapToLong(PointHistory::amount).sum());
+                assertThat(aggregate.useCount()).isEqualTo(histories.stream().filter(h -> h.type() == TransactionType.USE).count());
+                assertThat(aggregate.chargeAmount() - aggregate.useAmount()).isEqualTo(service.getUserPoint(id).point());
+            }
+
+            // then - 포인트 순위는 포인트가 많은 사용자부터 마지막 포인트를 보여준다
+            assertThat(service.getPointLeaderboard(10))
+                    .extracting(UserPoint::id, UserPoint::point)
+                    .containsExactly(
+                            tuple(5L, 1_000L + 20 * 15L),
+                            tuple(4L, 1_000L + 20 * 12L),
+                            tuple(3L, 1_000L + 20 * 9L),
+                            tuple(2L, 1_000L + 20 * 6L),
+                            tuple(1L, 1_000L + 20 * 3L));
+            // then - 시간 구간 집계를 모두 더하면 전체 요청 수와 같다
+            List<PointRollup> rollups = service.getPointRollups(RollupWindow.HOUR, 24);
+            assertThat(rollups.stream().mapToLong(PointRollup::chargeCount).sum()).isEqualTo(5 + 5 * 20L);
+            assertThat(rollups.stream().mapToLong(PointRollup::useCount).sum()).isEqualTo(5 * 20L);
+            service.close();
+        }
+    }
+
+    @Test
+    @DisplayName("내역을 비동기로 저장해도 변경 이벤트는 사용자마다 포인트가 변경된 순서대로 내역 ID 와 변경 후 포인트를 담는다")
+    void changeFeed_concurrency_withAsyncHistoryWriter() throws InterruptedException {
+        // given
+        Throttle throttle = Throttle.scaled(0.1);
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getHistoryWriter().setEnabled(true);
+        pointProperties.getFeed().setEnabled(true);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable(throttle);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, pointProperties);
+        pointHistoryWriter.start();
+        pointService = PointService.builder(new UserPointTable(throttle), pointHistoryTable)
+                .pointProperties(pointProperties)
+                .pointHistoryWriter(pointHistoryWriter)
+                .build();
+        PointChangeFeed feed = pointService.getPointChangeFeed();
+        ChangeCursor start = feed.cursor();
+
+        // when
+        runMixedRequests(pointService);
+        pointHistoryWriter.stop();
+
+        // then - 내역이 모두 저장되면 이벤트도 내역 수만큼 추가된다
+        int historyCount = 0;
+        for (long id = 1; id <= 5; id++) {
+            historyCount += pointService.getUserPointHistory(id).size();
+        }
+        assertThat(feed.lastSequence()).isEqualTo(historyCount);
+        List<PointChangeEvent> events = feed.read(start, historyCount);
+        for (long id = 1; id <= 5; id++) {
+            long userId = id;
+            List<PointChangeEvent> userEvents = events.stream().filter(event -> event.userId() == userId).toList();
+            assertThat(userEvents).extracting(PointChangeEvent::historyId)
+                    .containsExactlyElementsOf(pointService.getUserPointHistory(id).stream().map(PointHistory::id).toList());
+            long balance = 0;
+            for (PointChangeEvent event : userEvents) {
+                balance += event.delta();
+                assertThat(event.balance()).isEqualTo(balance);
+            }
+            assertThat(balance).isEqualTo(pointService.getUserPoint(id).point());
+        }
+    }
+
+    private static PointService casPointService(Throttle throttle) {
+        return casPointService(throttle, new PointProperties());
+    }
+
+    private static PointService casPointService(Throttle throttle, PointProperties pointProperties) {
+        pointProperties.getEngine().setType(PointProperties.EngineType.CAS);
+        return PointService.builder(new UserPointTable(throttle), new PointHistoryTable(throttle))
+                .pointProperties(pointProperties)
+                .build();
+    }
+
+    private static PointService shardedPointService(Throttle throttle) {
+        return shardedPointService(throttle, new PointProperties());
+    }
+
+    private static PointService shardedPointService(Throttle throttle, PointProperties pointProperties) {
+        pointProperties.getEngine().setType(PointProperties.EngineType.SHARDED);
+        pointProperties.getEngine().setShards(4);
+        PointService pointService = PointService.builder(new UserPointTable(throttle), new PointHistoryTable(throttle))
+                .pointProperties(pointProperties)
+                .build();
+        pointService.start();
+        return pointService;
+    }
+
+    private static PointProperties aggregateProperties() {
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getAggregate().setEnabled(true);
+        return pointProperties;
+    }
+
+    /**
+     * 사용자 5명에게 사용자마다 충전 20번과 그보다 작은 사용 20번을 동시에 요청합니다.
+     */
+    private static void runMixedRequests(PointService pointService) throws InterruptedException {
+        int requestCount = 20;
+        CountDownLatch latch = new CountDownLatch(5 * requestCount * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        for (long id = 1; id <= 5; id++) {
+            long userId = id;
+            pointService.chargeUserPoint(userId, 1_000L);
+            for (int i = 0; i < requestCount; i++) {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        pointService.chargeUserPoint(userId, userId * 10);
+                    } finally {
+                        latch.countDown();
+                    }
+                }, executor);
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        pointService.useUserPoint(userId, userId * 7);
+                    } finally {
+                        latch.countDown();
+                    }
+                }, executor);
+            }
+        }
+        latch.await();
+        executor.shutdown();
+    }
 }
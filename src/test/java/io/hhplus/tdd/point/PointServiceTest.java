@@ -1,13 +1,19 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.PointHistoryStore;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.feed.ChangeCursor;
+import io.hhplus.tdd.point.feed.ChangeCursorExpiredException;
+import io.hhplus.tdd.point.feed.PointChangeFeed;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static io.hhplus.tdd.database.UserPointTableStubs.givenPoint;
+import static io.hhplus.tdd.database.UserPointTableStubs.verifySelectPoint;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -16,13 +22,15 @@ class PointServiceTest {
 
     private UserPointTable userPointTable;
     private PointHistoryTable historyTable;
+    private PointHistoryStore historyStore;
     private PointService pointService;
 
     @BeforeEach
     void setUp() {
         userPointTable = mock(UserPointTable.class);
         historyTable = mock(PointHistoryTable.class);
-        pointService = new PointService(userPointTable, historyTable);
+        historyStore = mock(PointHistoryStore.class);
+        pointService = PointService.builder(userPointTable, historyTable).pointHistoryStore(historyStore).build();
     }
 
     @Test
@@ -52,7 +60,7 @@ class PointServiceTest {
         long updatedPoint = 200L;   // 업데이트 후 포인트
         long currentTimeMillis = System.currentTimeMillis();
 
-        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, beforePoint, currentTimeMillis));
+        givenPoint(userPointTable, id, beforePoint);
         when(userPointTable.insertOrUpdate(id, updatedPoint))
                 .thenReturn(new UserPoint(id, updatedPoint, currentTimeMillis));
 
@@ -63,7 +71,7 @@ class PointServiceTest {
         assertThat(userPoint.id()).isEqualTo(id);
         assertThat(userPoint.point()).isEqualTo(updatedPoint);
 
-        verify(userPointTable, times(1)).selectById(id);
+        verifySelectPoint(userPointTable, times(1), id);
         verify(userPointTable, times(1)).insertOrUpdate(id, updatedPoint);
         verify(historyTable, times(1)).insert(id, amount, TransactionType.CHARGE, currentTimeMillis);
     }
@@ -77,7 +85,7 @@ class PointServiceTest {
         long amount = Long.MAX_VALUE;
         long currentTimeMillis = System.currentTimeMillis();
 
-        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, beforePoint, currentTimeMillis));
+        givenPoint(userPointTable, id, beforePoint);
 
         // when & then
         assertThatThrownBy(() -> pointService.chargeUserPoint(id, amount))
@@ -95,7 +103,7 @@ class PointServiceTest {
         long useAmount = 100L;
         long currentTimeMillis = System.currentTimeMillis();
 
-        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, amount, currentTimeMillis));
+        givenPoint(userPointTable, id, amount);
         when(userPointTable.insertOrUpdate(id, 0L)).thenReturn(new UserPoint(id, 0L, currentTimeMillis));
 
         // when
@@ -105,7 +113,7 @@ class PointServiceTest {
         assertThat(userPoint.id()).isEqualTo(id);
         assertThat(userPoint.point()).isZero();
 
-        verify(userPointTable, times(1)).selectById(id);
+        verifySelectPoint(userPointTable, times(1), id);
         verify(userPointTable, times(1)).insertOrUpdate(id, 0L);
         verify(historyTable, times(1)).insert(id, useAmount, TransactionType.USE, currentTimeMillis);
     }
@@ -117,7 +125,7 @@ class PointServiceTest {
         long id = 1L;
         long amount = 100L;
 
-        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, amount, System.currentTimeMillis()));
+        givenPoint(userPointTable, id, amount);
         long useAmount = amount + 1L;
 
         // when & then
@@ -151,10 +159,305 @@ class PointServiceTest {
         verify(historyTable, times(1)).selectAllByUserId(id);
     }
 
+    @Test
+    @DisplayName("배치 모드에서 충전 요청은 한 번의 조회와 한 번의 저장으로 처리되고 히스토리를 저장한다.")
+    void chargeUserPoint_inBatchMode() {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getBatch().setEnabled(true);
+        pointService = PointService.builder(userPointTable, historyTable).pointProperties(pointProperties).build();
+
+        long id = 1L;
+        long amount = 100L;
+        long currentTimeMillis = System.currentTimeMillis();
+
+        givenPoint(userPointTable, id, 100L);
+        when(userPointTable.insertOrUpdate(id, 200L)).thenReturn(new UserPoint(id, 200L, currentTimeMillis));
+
+        // when
+        UserPoint userPoint = pointService.chargeUserPoint(id, amount);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(200L);
+        verifySelectPoint(userPointTable, times(1), id);
+        verify(userPointTable, times(1)).insertOrUpdate(id, 200L);
+        verify(historyTable, times(1)).insert(id, amount, TransactionType.CHARGE, currentTimeMillis);
+    }
+
+    @Test
+    @DisplayName("배치 모드에서 포인트 사용이 실패하면 잔액을 저장하지 않습니다(사용 포인트 초과).")
+    void useUserPoint_withOverPoint_inBatchMode() {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getBatch().setEnabled(true);
+        pointService = PointService.builder(userPointTable, historyTable).pointProperties(pointProperties).build();
+
+        long id = 1L;
+        givenPoint(userPointTable, id, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.useUserPoint(id, 101L)).isInstanceOf(IllegalArgumentException.class);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(historyTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 히스토리를 페이지 단위로 조회하고 다음 커서를 반환합니다.")
+    void getUserPointHistoryPage_withNextPage() {
+        // given
+        long id = 1L;
+        PointHistoryQuery query = new PointHistoryQuery(0L, 2, null, 0L, Long.MAX_VALUE);
+
+        when(historyStore.findByUserId(id, query, 3)).thenReturn(List.of(
+                new PointHistory(1, id, 100L, TransactionType.CHARGE, System.currentTimeMillis()),
+                new PointHistory(2, id, 100L, TransactionType.USE, System.currentTimeMillis()),
+                new PointHistory(3, id, 100L, TransactionType.CHARGE, System.currentTimeMillis())
+        ));
+
+        // when
+        PointHistoryPage page = pointService.getUserPointHistoryPage(id, query);
+
+        // then
+        assertThat(page.histories()).hasSize(2);
+        assertThat(page.nextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지를 조회하면 다음 커서는 없습니다.")
+    void getUserPointHistoryPage_lastPage() {
+        // given
+        long id = 1L;
+        PointHistoryQuery query = new PointHistoryQuery(2L, 2, null, 0L, Long.MAX_VALUE);
+
+        when(historyStore.findByUserId(id, query, 3)).thenReturn(List.of(
+                new PointHistory(3, id, 100L, TransactionType.CHARGE, System.currentTimeMillis())
+        ));
+
+        // when
+        PointHistoryPage page = pointService.getUserPointHistoryPage(id, query);
+
+        // then
+        assertThat(page.histories()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("캐시를 사용하면 반복 조회와 충전 이후 조회에서 테이블을 다시 읽지 않습니다.")
+    void getUserPoint_withCache() {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getCache().setEnabled(true);
+        pointService = PointService.builder(userPointTable, historyTable).pointProperties(pointProperties).build();
+
+        long id = 1L;
+        long currentTimeMillis = System.currentTimeMillis();
+        when(userPointTable.selectById(id)).thenReturn(new UserPoint(id, 100L, currentTimeMillis));
+        givenPoint(userPointTable, id, 100L);
+        when(userPointTable.insertOrUpdate(id, 200L)).thenReturn(new UserPoint(id, 200L, currentTimeMillis));
+
+        // when
+        pointService.getUserPoint(id);
+        pointService.getUserPoint(id);
+        pointService.chargeUserPoint(id, 100L);
+        UserPoint userPoint = pointService.getUserPoint(id);
+
+        // then
+        assertThat(userPoint.point()).isEqualTo(200L);
+        // 첫 조회와 충전 시 한 번씩만 테이블을 조회합니다.
+        verify(userPointTable, times(1)).selectById(id);
+        verifySelectPoint(userPointTable, times(1), id);
+        assertThat(pointService.getUserPointCacheStats().hitCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("일괄 처리는 사용자별로 한 번씩 조회/저장하고, 실패한 항목만 건너뜁니다.")
+    void bulkUpdateUserPoint_withPartialFailure() {
+        // given
+        long currentTimeMillis = System.currentTimeMillis();
+        givenPoint(userPointTable, 1L, 100L);
+        givenPoint(userPointTable, 2L, 0L);
+        when(userPointTable.insertOrUpdate(1L, 80L)).thenReturn(new UserPoint(1L, 80L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(2L, 10L)).thenReturn(new UserPoint(2L, 10L, currentTimeMillis));
+
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, 50L, TransactionType.USE),
+                new PointOperation(2L, 10L, TransactionType.CHARGE),
+                new PointOperation(1L, 80L, TransactionType.USE),
+                new PointOperation(1L, 30L, TransactionType.CHARGE)
+        );
+
+        // when
+        List<PointOperationResult> results = pointService.bulkUpdateUserPoint(operations);
+
+        // then
+        assertThat(results).extracting(PointOperationResult::success).containsExactly(true, true, false, true);
+        assertThat(results.get(0).userPoint().point()).isEqualTo(50L);
+        assertThat(results.get(1).userPoint().point()).isEqualTo(10L);
+        assertThat(results.get(2).message()).isEqualTo("유저의 포인트가 부족합니다.");
+        assertThat(results.get(3).userPoint().point()).isEqualTo(80L);
+
+        verifySelectPoint(userPointTable, times(1), 1L);
+        verify(userPointTable, times(1)).insertOrUpdate(1L, 80L);
+        verify(historyTable, times(1)).insert(1L, 50L, TransactionType.USE, currentTimeMillis);
+        verify(historyTable, times(1)).insert(1L, 30L, TransactionType.CHARGE, currentTimeMillis);
+        verify(historyTable, never()).insert(1L, 80L, TransactionType.USE, currentTimeMillis);
+    }
+
+    @Test
+    @DisplayName("포인트를 이체하면 두 사용자의 포인트가 함께 반영되고 사용/충전 내역이 짝으로 저장됩니다.")
+    void transferUserPoint_withValidAmount() {
+        // given
+        long currentTimeMillis = System.currentTimeMillis();
+        givenPoint(userPointTable, 1L, 100L);
+        givenPoint(userPointTable, 2L, 10L);
+        when(userPointTable.insertOrUpdate(1L, 70L)).thenReturn(new UserPoint(1L, 70L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(2L, 40L)).thenReturn(new UserPoint(2L, 40L, currentTimeMillis));
+
+        // when
+        PointTransferResult result = pointService.transferUserPoint(1L, 2L, 30L);
+
+        // then
+        assertThat(result.from().point()).isEqualTo(70L);
+        assertThat(result.to().point()).isEqualTo(40L);
+        verify(historyTable, times(1)).insert(1L, 30L, TransactionType.USE, currentTimeMillis);
+        verify(historyTable, times(1)).insert(2L, 30L, TransactionType.CHARGE, currentTimeMillis);
+    }
+
+    @Test
+    @DisplayName("보내는 사용자의 잔액이 부족하면 두 사용자 모두 저장하지 않습니다.")
+    void transferUserPoint_withInsufficientPoint() {
+        // given
+        givenPoint(userPointTable, 1L, 10L);
+        givenPoint(userPointTable, 2L, 0L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferUserPoint(1L, 2L, 30L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(historyTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("받는 사용자의 저장이 실패하면 보낸 사용자의 포인트를 되돌립니다.")
+    void transferUserPoint_rollbackWhenCreditFails() {
+        // given
+        long currentTimeMillis = System.currentTimeMillis();
+        givenPoint(userPointTable, 1L, 100L);
+        givenPoint(userPointTable, 2L, 0L);
+        when(userPointTable.insertOrUpdate(1L, 70L)).thenReturn(new UserPoint(1L, 70L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(2L, 30L)).thenThrow(new IllegalStateException("저장 실패"));
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferUserPoint(1L, 2L, 30L))
+                .isInstanceOf(IllegalStateException.class);
+        verify(userPointTable, times(1)).insertOrUpdate(1L, 100L);
+        verify(historyTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("보낸 사용자의 포인트를 되돌리는 저장마저 실패해도 원래 원인을 던지고 되돌리기 실패를 함께 담습니다.")
+    void transferUserPoint_rollbackFails_keepsCause() {
+        // given
+        long currentTimeMillis = System.currentTimeMillis();
+        IllegalStateException creditFailure = new IllegalStateException("저장 실패");
+        IllegalStateException rollbackFailure = new IllegalStateException("되돌리기 실패");
+        givenPoint(userPointTable, 1L, 100L);
+        givenPoint(userPointTable, 2L, 0L);
+        when(userPointTable.insertOrUpdate(1L, 70L)).thenReturn(new UserPoint(1L, 70L, currentTimeMillis));
+        when(userPointTable.insertOrUpdate(2L, 30L)).thenThrow(creditFailure);
+        when(userPointTable.insertOrUpdate(1L, 100L)).thenThrow(rollbackFailure);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.transferUserPoint(1L, 2L, 30L))
+                .isSameAs(creditFailure)
+                .satisfies(e -> assertThat(e.getSuppressed()).containsExactly(rollbackFailure));
+    }
+
+    @Test
+    @DisplayName("같은 멱등 키로 충전을 다시 요청하면 테이블에 반영하지 않고 처음 결과를 반환합니다.")
+    void chargeUserPoint_withIdempotencyKey_retried() {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getIdempotency().setEnabled(true);
+        PointService pointService = PointService.builder(userPointTable, historyTable)
+                .pointProperties(pointProperties)
+                .build();
+        long id = 1L;
+        long currentTimeMillis = System.currentTimeMillis();
+        givenPoint(userPointTable, id, 100L);
+        when(userPointTable.insertOrUpdate(id, 200L)).thenReturn(new UserPoint(id, 200L, currentTimeMillis));
+        UserPoint first = pointService.chargeUserPoint(id, 100L, "charge-1");
+
+        // when
+        UserPoint retried = pointService.chargeUserPoint(id, 100L, "charge-1");
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        verifySelectPoint(userPointTable, times(1), id);
+        verify(userPointTable, times(1)).insertOrUpdate(id, 200L);
+        verify(historyTable, times(1)).insert(id, 100L, TransactionType.CHARGE, currentTimeMillis);
+        assertThat(pointService.getIdempotencyStats().replayCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("내역을 비동기로 저장하다 실패하면 집계에 더하지 않습니다.")
+    void chargeUserPoint_historyWriteFailed_notAggregated() {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getAggregate().setEnabled(true);
+        pointProperties.getHistoryWriter().setEnabled(true);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(historyTable, pointProperties);
+        pointHistoryWriter.start();
+        PointService pointService = PointService.builder(userPointTable, historyTable)
+                .pointProperties(pointProperties)
+                .pointHistoryWriter(pointHistoryWriter)
+                .build();
+        long id = 1L;
+        givenPoint(userPointTable, id, 0L);
+        when(userPointTable.insertOrUpdate(id, 100L)).thenReturn(new UserPoint(id, 100L, 0L));
+        when(historyTable.insert(anyLong(), anyLong(), any(), anyLong())).thenThrow(new IllegalStateException("저장 실패"));
+
+        // when
+        pointService.chargeUserPoint(id, 100L);
+        pointHistoryWriter.stop();
+
+        // then
+        assertThat(pointService.getUserPointAggregate(id).chargeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("내역을 비동기로 저장하다 실패하면 변경 이벤트의 세대를 새로 정해 이전 커서를 만료시킵니다.")
+    void chargeUserPoint_historyWriteFailed_restartsChangeFeed() {
+        // given
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getFeed().setEnabled(true);
+        pointProperties.getHistoryWriter().setEnabled(true);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(historyTable, pointProperties);
+        pointHistoryWriter.start();
+        PointService pointService = PointService.builder(userPointTable, historyTable)
+                .pointProperties(pointProperties)
+                .pointHistoryWriter(pointHistoryWriter)
+                .build();
+        ChangeCursor start = pointService.getPointChangeFeed().cursor();
+        long id = 1L;
+        givenPoint(userPointTable, id, 0L);
+        when(userPointTable.insertOrUpdate(id, 100L)).thenReturn(new UserPoint(id, 100L, 0L));
+        when(historyTable.insert(anyLong(), anyLong(), any(), anyLong())).thenThrow(new IllegalStateException("저장 실패"));
+
+        // when
+        pointService.chargeUserPoint(id, 100L);
+        pointHistoryWriter.stop();
+
+        // then
+        PointChangeFeed feed = pointService.getPointChangeFeed();
+        assertThat(feed.stats().restartCount()).isEqualTo(1L);
+        assertThatThrownBy(() -> feed.read(start, 10)).isInstanceOf(ChangeCursorExpiredException.class);
+    }
+
     private void assertPointHistory(PointHistory history,
                                     long expectedUserId, long expectedAmount, TransactionType expectedType) {
         assertThat(history.userId()).isEqualTo(expectedUserId);
         assertThat(history.amount()).isEqualTo(expectedAmount);
         assertThat(history.type()).isEqualTo(expectedType);
     }
-}
\ No newline at end of file
+}
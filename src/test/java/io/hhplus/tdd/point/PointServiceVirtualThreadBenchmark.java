@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 풀과 가상 스레드의 처리량 비교
+ * Tomcat 기본 스레드 풀 크기(200)의 플랫폼 스레드와 요청마다 만드는 가상 스레드로 10,000명의 충전 요청을 처리합니다.
+ * 처리량은 실행 환경에 따라 달라지므로 비교하지 않고 로그로 남깁니다.
+ * ./gradlew benchmark 로 실행합니다.
+ */
+@Tag("benchmark")
+class PointServiceVirtualThreadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PointServiceVirtualThreadBenchmark.class);
+
+    private static final int USER_COUNT = 10_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Test
+    @DisplayName("10,000명의 동시 충전 요청을 플랫폼 스레드 풀과 가상 스레드로 처리한 처리량을 기록한다")
+    void compareThroughput() throws InterruptedException {
+        double platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        double virtual = run(Executors.newVirtualThreadPerTaskExecutor());
+
+        log.info("platform({} threads) : {} req/s", TOMCAT_MAX_THREADS, String.format("%.1f", platform));
+        log.info("virtual              : {} req/s", String.format("%.1f", virtual));
+
+        assertThat(platform).isPositive();
+        assertThat(virtual).isPositive();
+    }
+
+    private double run(ExecutorService executor) throws InterruptedException {
+        PointService pointService = new PointService(new UserPointTable(), new PointHistoryTable());
+        CountDownLatch latch = new CountDownLatch(USER_COUNT);
+
+        long start = System.nanoTime();
+        try (executor) {
+            for (long id = 1; id <= USER_COUNT; id++) {
+                long userId = id;
+                executor.submit(() -> {
+                    try {
+                        pointService.chargeUserPoint(userId, 10L);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return USER_COUNT / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPointCacheTest {
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 항목이 제거된다.")
+    void put_evictsLeastRecentlyUsed() {
+        // given
+        UserPointCache cache = new UserPointCache(2, Duration.ofMinutes(1));
+        cache.put(new UserPoint(1L, 100L, 0L));
+        cache.put(new UserPoint(2L, 200L, 0L));
+        cache.get(1L);
+
+        // when
+        cache.put(new UserPoint(3L, 300L, 0L));
+
+        // then
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(3L)).isNotNull();
+
+        UserPointCache.Stats stats = cache.stats();
+        assertThat(stats.evictionCount()).isEqualTo(1L);
+        assertThat(stats.hitCount()).isEqualTo(3L);
+        assertThat(stats.missCount()).isEqualTo(1L);
+        assertThat(stats.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("유효 시간이 지난 항목은 조회되지 않는다.")
+    void get_expiredEntry() {
+        // given
+        AtomicLong now = new AtomicLong();
+        UserPointCache cache = new UserPointCache(10, Duration.ofSeconds(1), now::get);
+        cache.put(new UserPoint(1L, 100L, 0L));
+
+        // when
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointRateLimiterTest {
+
+    @Test
+    @DisplayName("사용자별 최대 요청 수를 넘으면 다음 토큰까지 남은 시간과 함께 거절하고, 시간이 지나면 다시 허용한다.")
+    void acquire_userLimit() {
+        // given - 초당 10개, 최대 5개
+        AtomicLong now = new AtomicLong();
+        PointRateLimiter rateLimiter = new PointRateLimiter(10, 5, 0, 0, 100, now::get);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire(1L);
+        }
+
+        // when & then
+        assertThatThrownBy(() -> rateLimiter.acquire(1L))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+                    assertThat(e.getScope()).isEqualTo(RateLimitExceededException.Scope.USER);
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofMillis(100));
+                });
+        // 다른 사용자는 영향을 받지 않습니다.
+        rateLimiter.acquire(2L);
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        rateLimiter.acquire(1L);
+        assertThatThrownBy(() -> rateLimiter.acquire(1L)).isInstanceOf(RateLimitExceededException.class);
+        assertThat(rateLimiter.stats().userRejectedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("전체 최대 요청 수를 넘으면 사용자와 관계없이 거절한다.")
+    void acquire_globalLimit() {
+        // given - 사용자별 제한 없음, 전체 초당 100개, 최대 3개
+        AtomicLong now = new AtomicLong();
+        PointRateLimiter rateLimiter = new PointRateLimiter(0, 0, 100, 3, 100, now::get);
+        rateLimiter.acquire(1L);
+        rateLimiter.acquire(2L);
+        rateLimiter.acquireGlobal();
+
+        // when & then
+        assertThatThrownBy(() -> rateLimiter.acquire(3L))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getScope()).isEqualTo(RateLimitExceededException.Scope.GLOBAL));
+        assertThat(rateLimiter.stats().globalRejectedCount()).isEqualTo(1L);
+        assertThat(rateLimiter.stats().trackedUsers()).isZero();
+    }
+
+    @Test
+    @DisplayName("사용자 한도로 거절된 요청은 전체 한도를 소모하지 않는다.")
+    void acquire_userRejectionDoesNotConsumeGlobal() {
+        // given - 사용자별 최대 1개, 전체 최대 2개
+        AtomicLong now = new AtomicLong();
+        PointRateLimiter rateLimiter = new PointRateLimiter(1, 1, 1, 2, 100, now::get);
+        rateLimiter.acquire(1L);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> rateLimiter.acquire(1L)).isInstanceOf(RateLimitExceededException.class);
+        }
+
+        // then
+        rateLimiter.acquire(2L);
+        assertThat(rateLimiter.stats().userRejectedCount()).isEqualTo(10L);
+        assertThat(rateLimiter.stats().globalRejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("보관 중인 사용자 버킷이 최대 개수에 도달하면 한동안 요청이 없던 사용자의 버킷을 지운다.")
+    void acquire_sweepsIdleUsers() {
+        // given - 초당 10개, 최대 2개, 사용자 버킷 최대 100개
+        AtomicLong now = new AtomicLong();
+        PointRateLimiter rateLimiter = new PointRateLimiter(10, 2, 0, 0, 100, now::get);
+        for (long id = 1; id <= 100; id++) {
+            rateLimiter.acquire(id);
+        }
+        rateLimiter.acquire(1L);
+
+        // when - 사용자 1 을 뺀 모든 버킷이 가득 찬 뒤 새 사용자가 요청
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        rateLimiter.acquire(101L);
+
+        // then
+        assertThat(rateLimiter.stats().trackedUsers()).isEqualTo(2);
+        // 지워지지 않은 사용자 1 의 버킷은 남은 토큰이 하나뿐입니다.
+        rateLimiter.acquire(1L);
+        assertThatThrownBy(() -> rateLimiter.acquire(1L)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("전체 한도로 거절된 요청은 사용자 한도를 소모하지 않는다.")
+    void acquire_globalRejectionRefundsUser() {
+        // given - 사용자별 10초에 1개, 최대 1개, 전체 초당 10개, 최대 1개
+        AtomicLong now = new AtomicLong();
+        PointRateLimiter rateLimiter = new PointRateLimiter(0.1, 1, 10, 1, 100, now::get);
+        rateLimiter.acquire(1L);
+
+        // when
+        assertThatThrownBy(() -> rateLimiter.acquire(2L))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getScope()).isEqualTo(RateLimitExceededException.Scope.GLOBAL));
+
+        // then - 전체 토큰이 채워지면 사용자 2 는 바로 허용됩니다
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        rateLimiter.acquire(2L);
+        assertThat(rateLimiter.stats().userRejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("모든 사용자가 계속 요청해 가득 찬 버킷이 없어도 사용자 버킷은 최대 개수를 넘지 않는다.")
+    void acquire_boundedTrackedUsers() {
+        // given - 초당 1개, 최대 5개, 사용자 버킷 최대 100개
+        AtomicLong now = new AtomicLong();
+        PointRateLimiter rateLimiter = new PointRateLimiter(1, 5, 0, 0, 100, now::get);
+
+        // when - 시간이 흐르지 않아 어떤 버킷도 다시 가득 차지 않습니다
+        for (long id = 1; id <= 1_000; id++) {
+            rateLimiter.acquire(id);
+            assertThat(rateLimiter.stats().trackedUsers()).isLessThanOrEqualTo(100);
+        }
+
+        // then - 최근 사용자의 버킷은 남아 있습니다
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.acquire(1_000L);
+        }
+        assertThatThrownBy(() -> rateLimiter.acquire(1_000L)).isInstanceOf(RateLimitExceededException.class);
+    }
+}
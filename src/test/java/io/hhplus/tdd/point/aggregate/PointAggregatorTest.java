@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.aggregate;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PointAggregatorTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    private final PointAggregator aggregator = new PointAggregator(2, 2);
+
+    @Test
+    @DisplayName("내역을 기록하면 사용자별 충전/사용 합계와 횟수에 더해진다")
+    void recordHistory_userTotals() {
+        // given
+        aggregator.recordHistory(1L, TransactionType.CHARGE, 100L, 0L);
+        aggregator.recordHistory(1L, TransactionType.CHARGE, 50L, 0L);
+        aggregator.recordHistory(1L, TransactionType.USE, 30L, 0L);
+        aggregator.recordHistory(2L, TransactionType.CHARGE, 10L, 0L);
+
+        // when
+        UserPointAggregate aggregate = aggregator.aggregate(1L);
+
+        // then
+        assertThat(aggregate).isEqualTo(new UserPointAggregate(1L, 150L, 2L, 30L, 1L));
+        assertThat(aggregator.aggregate(3L)).isEqualTo(UserPointAggregate.empty(3L));
+    }
+
+    @Test
+    @DisplayName("구간별 집계는 최근 구간부터 반환하고, 보관 구간 수를 넘은 오래된 구간은 지운다")
+    void recordHistory_rollups() {
+        // given
+        aggregator.recordHistory(1L, TransactionType.CHARGE, 100L, 10L);
+        aggregator.recordHistory(2L, TransactionType.USE, 20L, HOUR + 10L);
+        aggregator.recordHistory(1L, TransactionType.CHARGE, 30L, HOUR + 20L);
+
+        // when
+        aggregator.recordHistory(3L, TransactionType.CHARGE, 5L, 2 * HOUR);
+
+        // then
+        assertThat(aggregator.rollups(RollupWindow.HOUR, 10))
+                .extracting(PointRollup::startMillis, PointRollup::chargeAmount, PointRollup::chargeCount,
+                        PointRollup::useAmount, PointRollup::useCount)
+                .containsExactly(
+                        tuple(2 * HOUR, 5L, 1L, 0L, 0L),
+                        tuple(HOUR, 30L, 1L, 20L, 1L));
+        assertThat(aggregator.rollups(RollupWindow.DAY, 10))
+                .extracting(PointRollup::startMillis, PointRollup::chargeAmount, PointRollup::chargeCount)
+                .containsExactly(tuple(0L, 135L, 3L));
+        assertThat(aggregator.rollups(RollupWindow.HOUR, 1)).hasSize(1);
+
+        aggregator.recordHistory(3L, TransactionType.USE, 5L, DAY);
+        assertThat(aggregator.rollups(RollupWindow.DAY, 10)).extracting(PointRollup::startMillis).containsExactly(DAY, 0L);
+    }
+
+    @Test
+    @DisplayName("포인트 순위는 마지막으로 저장한 포인트가 많은 순서이고, 같으면 사용자 ID 가 작은 순서이다")
+    void recordBalance_leaderboard() {
+        // given
+        aggregator.recordBalance(new UserPoint(1L, 100L, 0L));
+        aggregator.recordBalance(new UserPoint(2L, 300L, 0L));
+        aggregator.recordBalance(new UserPoint(3L, 200L, 0L));
+
+        // when - 2번은 포인트를 사용해 3번과 같아지고, 1번은 충전해 1위가 됩니다
+        aggregator.recordBalance(new UserPoint(2L, 200L, 1L));
+        aggregator.recordBalance(new UserPoint(1L, 500L, 1L));
+
+        // then
+        assertThat(aggregator.leaderboard(10))
+                .extracting(UserPoint::id, UserPoint::point)
+                .containsExactly(tuple(1L, 500L), tuple(2L, 200L), tuple(3L, 200L));
+        assertThat(aggregator.leaderboard(1)).extracting(UserPoint::id).containsExactly(1L);
+    }
+}
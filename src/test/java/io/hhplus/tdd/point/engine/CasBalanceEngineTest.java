@@ -0,0 +1,214 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CasBalanceEngineTest {
+
+    private final Map<Long, List<BalanceChange>> published = new ConcurrentHashMap<>();
+
+    private final CasBalanceEngine engine = new CasBalanceEngine(
+            4,
+            100_000,
+            UserPoint::empty,
+            (userId, changes) -> published.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(changes)
+    );
+
+    @Test
+    @DisplayName("동시에 충전/사용해도 포인트가 정확히 반영되고, 변경은 순번 순서대로 반영된다")
+    void update_concurrency_publishesInOrder() throws InterruptedException {
+        // given
+        long id = 1L;
+        int threadCount = 1000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        // 사용이 충전보다 먼저 실행되어도 잔고가 부족하지 않도록 미리 충전
+        engine.update(id, TransactionType.CHARGE, 2_500L, point -> point + 2_500L);
+
+        // when - 10 포인트 충전과 5 포인트 사용을 번갈아 동시에 실행
+        for (int i = 0; i < threadCount; i++) {
+            boolean charge = i % 2 == 0;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    if (charge) {
+                        engine.update(id, TransactionType.CHARGE, 10L, point -> point + 10L);
+                    } else {
+                        engine.update(id, TransactionType.USE, 5L, point -> point >= 5L ? point - 5L : point);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+        executor.shutdown();
+
+        // then - 반영된 변경을 순서대로 적용하면 각 변경의 포인트와 일치한다
+        List<BalanceChange> changes = published.get(id);
+        assertThat(changes).hasSize(threadCount + 1);
+        long balance = 0;
+        for (BalanceChange change : changes) {
+            long expected = change.type() == TransactionType.CHARGE
+                    ? balance + change.amount()
+                    : balance >= change.amount() ? balance - change.amount() : balance;
+            assertThat(change.balance()).isEqualTo(expected);
+            balance = expected;
+        }
+        assertThat(engine.get(id).point()).isEqualTo(balance).isEqualTo(2_500L + 500L * 10L - 500L * 5L);
+        assertThat(engine.stats().updateCount()).isEqualTo(threadCount + 1);
+    }
+
+    @Test
+    @DisplayName("변경 함수가 예외를 던지면 포인트와 순번이 바뀌지 않는다")
+    void update_rejected_keepsBalance() {
+        // given
+        long id = 1L;
+        engine.update(id, TransactionType.CHARGE, 100L, point -> point + 100L);
+
+        // when & then
+        assertThatThrownBy(() -> engine.update(id, TransactionType.USE, 200L, point -> {
+            throw new IllegalArgumentException("잔고가 부족합니다.");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(engine.get(id).point()).isEqualTo(100L);
+        engine.update(id, TransactionType.USE, 30L, point -> point - 30L);
+        assertThat(published.get(id)).extracting(BalanceChange::balance).containsExactly(100L, 70L);
+    }
+
+    @Test
+    @DisplayName("반영이 실패하면 요청한 스레드에 실패를 알리고, 다음 요청은 테이블에서 다시 읽은 포인트에서 시작한다")
+    void publish_failure_reloadsCell() {
+        // given
+        Map<Long, Long> table = new ConcurrentHashMap<>();
+        AtomicInteger failures = new AtomicInteger(1);
+        CasBalanceEngine engine = new CasBalanceEngine(4, 100_000, id -> new UserPoint(id, table.getOrDefault(id, 0L), 0L),
+                (userId, changes) -> {
+                    if (changes.get(0).amount() == 50L && failures.getAndDecrement() > 0) {
+                        throw new IllegalStateException("WAL 이 닫혔습니다.");
+                    }
+                    table.put(userId, changes.get(changes.size() - 1).balance());
+                });
+        engine.update(1L, TransactionType.CHARGE, 100L, point -> point + 100L);
+
+        // when & then
+        assertThatThrownBy(() -> engine.update(1L, TransactionType.CHARGE, 50L, point -> point + 50L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("WAL 이 닫혔습니다.");
+        engine.awaitPublished(1L);
+
+        assertThat(engine.get(1L).point()).isEqualTo(100L);
+        assertThat(engine.update(1L, TransactionType.USE, 30L, point -> point - 30L).point()).isEqualTo(70L);
+        assertThat(table).containsEntry(1L, 70L);
+    }
+
+    @Test
+    @DisplayName("처음 사용하는 사용자는 loader 로 읽은 포인트에서 시작한다")
+    void get_loadsOnce() {
+        // given
+        AtomicInteger loadCount = new AtomicInteger();
+        CasBalanceEngine engine = new CasBalanceEngine(4, 100_000, id -> {
+            loadCount.incrementAndGet();
+            return new UserPoint(id, 1_000L, 0L);
+        }, (userId, changes) -> {
+        });
+
+        // when
+        engine.get(1L);
+        UserPoint result = engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L);
+
+        // then
+        assertThat(result.point()).isEqualTo(1_010L);
+        assertThat(loadCount).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("초기 용량보다 많은 사용자가 올라와도 모든 사용자의 포인트가 유지된다")
+    void cells_resize() {
+        // given
+        int userCount = 10_000;
+
+        // when
+        for (long id = 1; id <= userCount; id++) {
+            engine.update(id, TransactionType.CHARGE, id, point -> point + 1L);
+        }
+
+        // then
+        assertThat(engine.stats().userCount()).isEqualTo(userCount);
+        for (long id = 1; id <= userCount; id++) {
+            assertThat(engine.get(id).point()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("최대 사용자 수를 넘으면 사용하지 않은 사용자를 버리고, 다시 사용하면 테이블에서 읽은 포인트에서 시작한다")
+    void cells_evictIdleUsers() {
+        // given
+        int maxUsers = 100;
+        Map<Long, Long> table = new ConcurrentHashMap<>();
+        CasBalanceEngine engine = new CasBalanceEngine(4, maxUsers, id -> new UserPoint(id, table.getOrDefault(id, 0L), 0L),
+                (userId, changes) -> table.put(userId, changes.get(changes.size() - 1).balance()));
+
+        // when
+        for (long id = 1; id <= maxUsers * 3; id++) {
+            engine.update(id, TransactionType.CHARGE, id, point -> point + 1L);
+        }
+
+        // then
+        CasBalanceEngine.Stats stats = engine.stats();
+        assertThat(stats.userCount()).isLessThanOrEqualTo(maxUsers * 2);
+        assertThat(stats.evictionCount()).isEqualTo(maxUsers * 3L - stats.userCount());
+        assertThat(engine.update(1L, TransactionType.CHARGE, 1L, point -> point + 1L).point()).isEqualTo(2L);
+        assertThat(table).containsEntry(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("동시에 변경하는 중에 사용자를 버려도 변경이 유실되지 않는다")
+    void cells_evictConcurrently_keepsUpdates() throws InterruptedException {
+        // given
+        int userCount = 64;
+        int updateCount = 200;
+        Map<Long, Long> table = new ConcurrentHashMap<>();
+        CasBalanceEngine engine = new CasBalanceEngine(4, 8, id -> new UserPoint(id, table.getOrDefault(id, 0L), 0L),
+                (userId, changes) -> table.put(userId, changes.get(changes.size() - 1).balance()));
+        CountDownLatch latch = new CountDownLatch(userCount * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when - 사용자마다 두 스레드가 번갈아 충전하며, 사용자 수가 최대를 넘어 계속 버려집니다
+        for (int i = 0; i < userCount * 2; i++) {
+            long id = i % userCount + 1;
+            executor.execute(() -> {
+                try {
+                    for (int n = 0; n < updateCount; n++) {
+                        engine.update(id, TransactionType.CHARGE, 1L, point -> point + 1L);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+
+        // then
+        assertThat(engine.stats().evictionCount()).isPositive();
+        for (long id = 1; id <= userCount; id++) {
+            assertThat(table).containsEntry(id, updateCount * 2L);
+            assertThat(engine.get(id).point()).isEqualTo(updateCount * 2L);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package io.hhplus.tdd.point.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedBalanceEngineTest {
+
+    private final Map<Long, List<BalanceChange>> published = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> publishThreads = new ConcurrentHashMap<>();
+
+    // 샤드 스레드만 호출하므로 사용자별 목록은 동기화하지 않습니다
+    private final ShardedBalanceEngine engine = new ShardedBalanceEngine(
+            4,
+            UserPoint::empty,
+            (userId, changes) -> {
+                published.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(changes);
+                publishThreads.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+            }
+    );
+
+    @BeforeEach
+    void setUp() {
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 충전/사용해도 사용자마다 한 샤드 스레드에서 요청 순서대로 반영된다")
+    void update_concurrency_singleThreadPerUser() throws InterruptedException {
+        // given
+        int userCount = 8;
+        int threadCount = 1000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (long id = 0; id < userCount; id++) {
+            engine.update(id, TransactionType.CHARGE, 1_000L, point -> point + 1_000L).join();
+        }
+
+        // when - 10 포인트 충전과 5 포인트 사용을 번갈아 동시에 실행
+        for (int i = 0; i < threadCount; i++) {
+            long id = i % userCount;
+            boolean charge = (i / userCount) % 2 == 0;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    if (charge) {
+                        engine.update(id, TransactionType.CHARGE, 10L, point -> point + 10L).join();
+                    } else {
+                        engine.update(id, TransactionType.USE, 5L, point -> point - 5L).join();
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+        executor.shutdown();
+
+        // then - 반영된 변경을 순서대로 적용하면 각 변경의 포인트와 일치한다
+        for (long id = 0; id < userCount; id++) {
+            List<BalanceChange> changes = published.get(id);
+            assertThat(changes).hasSize(threadCount / userCount + 1);
+            long balance = 0;
+            for (BalanceChange change : changes) {
+                balance += change.type() == TransactionType.CHARGE ? change.amount() : -change.amount();
+                assertThat(change.balance()).isEqualTo(balance);
+            }
+            assertThat(engine.get(id).join().point()).isEqualTo(balance).isEqualTo(1_000L + 63 * 10L - 62 * 5L);
+            assertThat(publishThreads.get(id)).hasSize(1);
+        }
+        assertThat(engine.stats().updateCount()).isEqualTo(threadCount + userCount);
+    }
+
+    @Test
+    @DisplayName("변경 함수가 예외를 던지면 결과가 그 예외로 완료되고 포인트는 바뀌지 않는다")
+    void update_rejected_keepsBalance() {
+        // given
+        long id = 1L;
+        engine.update(id, TransactionType.CHARGE, 100L, point -> point + 100L).join();
+
+        // when
+        CompletableFuture<UserPoint> rejected = engine.update(id, TransactionType.USE, 200L, point -> {
+            throw new IllegalArgumentException("잔고가 부족합니다.");
+        });
+
+        // then
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(engine.get(id).join().point()).isEqualTo(100L);
+        assertThat(published.get(id)).extracting(BalanceChange::balance).containsExactly(100L);
+    }
+
+    @Test
+    @DisplayName("테이블 반영이 실패하면 샤드의 포인트를 버리고 다음 요청에서 다시 읽는다")
+    void update_publishFailure_reloads() {
+        // given
+        AtomicInteger loadCount = new AtomicInteger();
+        AtomicInteger publishCount = new AtomicInteger();
+        try (ShardedBalanceEngine engine = new ShardedBalanceEngine(2, id -> {
+            loadCount.incrementAndGet();
+            return new UserPoint(id, 1_000L, 0L);
+        }, (userId, changes) -> {
+            if (publishCount.incrementAndGet() == 2) {
+                throw new IllegalStateException("저장에 실패했습니다.");
+            }
+        })) {
+            engine.start();
+            engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L).join();
+
+            // when
+            CompletableFuture<UserPoint> failed = engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L);
+
+            // then
+            assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(engine.get(1L).join().point()).isEqualTo(1_000L);
+            assertThat(loadCount).hasValue(2);
+            assertThat(engine.stats().publishFailureCount()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("작업이 Error 를 던져도 결과가 그 오류로 완료되고 샤드는 다음 요청을 처리한다")
+    void update_error_completesExceptionally() {
+        // given
+        CompletableFuture<UserPoint> failed = engine.update(1L, TransactionType.CHARGE, 10L, point -> {
+            throw new AssertionError("변경 함수 오류");
+        });
+
+        // when
+        UserPoint result = engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L).join();
+
+        // then
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(AssertionError.class);
+        assertThat(result.point()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("샤드의 최대 사용자 수를 넘으면 가장 오래 사용하지 않은 사용자를 버리고 다음 사용 때 다시 읽는다")
+    void balances_evictsLeastRecentlyUsed() {
+        // given
+        Map<Long, Long> table = new ConcurrentHashMap<>();
+        AtomicInteger loadCount = new AtomicInteger();
+        try (ShardedBalanceEngine engine = new ShardedBalanceEngine(1, 2, id -> {
+            loadCount.incrementAndGet();
+            return new UserPoint(id, table.getOrDefault(id, 0L), 0L);
+        }, (userId, changes) -> table.put(userId, changes.get(changes.size() - 1).balance()))) {
+            engine.start();
+            engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L).join();
+            engine.update(2L, TransactionType.CHARGE, 20L, point -> point + 20L).join();
+
+            // when
+            engine.update(3L, TransactionType.CHARGE, 30L, point -> point + 30L).join();
+
+            // then
+            assertThat(engine.stats().userCount()).isEqualTo(2);
+            assertThat(engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L).join().point()).isEqualTo(20L);
+            assertThat(loadCount).hasValue(4);
+        }
+    }
+
+    @Test
+    @DisplayName("시작하기 전에 받은 요청은 대기열에 남아 있다가 샤드 스레드를 시작하면 처리된다")
+    void start_processesQueuedRequests() {
+        // given
+        try (ShardedBalanceEngine engine = new ShardedBalanceEngine(1, UserPoint::empty, (userId, changes) -> {
+        })) {
+            CompletableFuture<UserPoint> queued = engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L);
+            assertThat(queued).isNotDone();
+            assertThat(engine.stats().queued()).isEqualTo(1);
+
+            // when
+            engine.start();
+
+            // then
+            assertThat(queued.join().point()).isEqualTo(10L);
+        }
+    }
+
+    @Test
+    @DisplayName("시작하지 않고 종료해도 받은 요청을 처리한 뒤 종료한다")
+    void close_withoutStart_drainsQueue() {
+        // given
+        ShardedBalanceEngine engine = new ShardedBalanceEngine(1, UserPoint::empty, (userId, changes) -> {
+        });
+        CompletableFuture<UserPoint> queued = engine.update(1L, TransactionType.CHARGE, 10L, point -> point + 10L);
+
+        // when
+        engine.close();
+
+        // then
+        assertThat(queued).isDone();
+        assertThat(queued.join().point()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("샤드의 대기열이 가득 차면 기다리지 않고 거절한다")
+    void update_queueFull_rejected() throws Exception {
+        // given - 반영을 막아 샤드 스레드가 첫 요청에 머무르게 한다
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ShardedBalanceEngine engine = new ShardedBalanceEngine(1, 100, 2, UserPoint::empty, (userId, changes) -> {
+            publishing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            engine.start();
+            CompletableFuture<UserPoint> running = engine.update(1L, TransactionType.CHARGE, 1L, point -> point + 1L);
+            publishing.await();
+            List<CompletableFuture<UserPoint>> queued = List.of(
+                    engine.update(1L, TransactionType.CHARGE, 1L, point -> point + 1L),
+                    engine.update(2L, TransactionType.CHARGE, 1L, point -> point + 1L));
+
+            // when
+            CompletableFuture<UserPoint> rejected = engine.update(1L, TransactionType.CHARGE, 1L, point -> point + 1L);
+
+            // then
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(engine.stats().rejectedCount()).isEqualTo(1L);
+            release.countDown();
+            assertThat(running.join().point()).isEqualTo(1L);
+            assertThat(queued.get(0).join().point()).isEqualTo(2L);
+            assertThat(queued.get(1).join().point()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("종료와 동시에 들어온 요청도 처리되거나 거절되어 결과가 모두 완료된다")
+    void close_concurrentSubmit_completesAll() throws Exception {
+        // given
+        int threadCount = 8;
+        List<CompletableFuture<UserPoint>> results = new CopyOnWriteArrayList<>();
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            executor.submit(() -> {
+                ready.countDown();
+                for (int j = 0; j < 2_000; j++) {
+                    results.add(engine.update(userId, TransactionType.CHARGE, 1L, point -> point + 1L));
+                }
+            });
+        }
+        ready.await();
+
+        // when
+        engine.close();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(results).hasSize(threadCount * 2_000);
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).exceptionally(e -> null).get(5, TimeUnit.SECONDS);
+        assertThat(results).allMatch(CompletableFuture::isDone);
+    }
+
+    @Test
+    @DisplayName("종료하면 대기열에 남은 요청을 모두 처리하고, 이후의 요청은 거절한다")
+    void close_drainsQueue() {
+        // given
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            results.add(engine.update(1L, TransactionType.CHARGE, 1L, point -> point + 1L));
+        }
+
+        // when
+        engine.close();
+
+        // then
+        assertThat(results).allMatch(CompletableFuture::isDone);
+        assertThat(results.get(results.size() - 1).join().point()).isEqualTo(1000L);
+        assertThatThrownBy(() -> engine.get(1L).join()).hasMessageContaining("종료");
+    }
+}
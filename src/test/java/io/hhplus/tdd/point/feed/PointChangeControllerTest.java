@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.feed;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 애플리케이션을 띄워 변경 이벤트 구독을 HTTP 로 확인합니다.
+ */
+class PointChangeControllerTest {
+
+    private static final int CAPACITY = 4;
+    private static final int MAX_SUBSCRIBERS = 1;
+
+    private ConfigurableApplicationContext context;
+    private PointChangeFeed feed;
+    private HttpClient client;
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        context = new SpringApplicationBuilder(TddApplication.class).run(
+                "--server.port=0",
+                "--point.feed.enabled=true",
+                "--point.feed.capacity=" + CAPACITY,
+                "--point.feed.max-subscribers=" + MAX_SUBSCRIBERS,
+                "--point.feed.heartbeat-interval=1s"
+        );
+        port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        feed = context.getBean(PointService.class).getPointChangeFeed();
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 로 다시 연결하면 마지막으로 받은 이벤트 다음부터 받는다")
+    void changes_resumeFromLastEventId() throws IOException, InterruptedException {
+        // given
+        PointChangeEvent first = feed.publish(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L), 100L);
+        PointChangeEvent second = feed.publish(new PointHistory(2L, 1L, 30L, TransactionType.USE, 0L), 70L);
+
+        // when
+        HttpResponse<Stream<String>> response = client.send(request()
+                .header("Last-Event-ID", first.cursor().value())
+                .build(), HttpResponse.BodyHandlers.ofLines());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        try (Stream<String> lines = response.body()) {
+            Iterator<String> iterator = lines.iterator();
+            assertThat(iterator.next()).isEqualTo("id:" + second.cursor().value());
+            assertThat(iterator.next()).isEqualTo("event:point");
+            assertThat(iterator.next()).startsWith("data:").contains("\"historyId\":2");
+        }
+    }
+
+    @Test
+    @DisplayName("링 버퍼에서 밀려났거나 다른 세대의 커서로 구독하면 410 으로 응답한다")
+    void changes_expiredCursor_gone() throws IOException, InterruptedException {
+        // given
+        ChangeCursor start = feed.cursor();
+        for (long id = 1; id <= CAPACITY + 2; id++) {
+            feed.publish(new PointHistory(id, 1L, 1L, TransactionType.CHARGE, 0L), id);
+        }
+        ChangeCursor otherEpoch = new ChangeCursor(start.epoch() + 1, CAPACITY + 2);
+
+        // when
+        HttpResponse<String> evicted = client.send(request("?cursor=" + start.value()).build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> restarted = client.send(request("?cursor=" + otherEpoch.value()).build(), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(evicted.statusCode()).isEqualTo(410);
+        assertThat(restarted.statusCode()).isEqualTo(410);
+    }
+
+    @Test
+    @DisplayName("구독자 수가 최대에 도달하면 503 으로 응답한다")
+    void changes_maxSubscribers_serviceUnavailable() throws IOException, InterruptedException {
+        // given - 첫 이벤트를 받은 구독자가 연결을 유지합니다
+        ChangeCursor start = feed.cursor();
+        feed.publish(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L), 100L);
+        HttpResponse<Stream<String>> subscribed = client.send(request("?cursor=" + start.value()).build(), HttpResponse.BodyHandlers.ofLines());
+
+        try (Stream<String> lines = subscribed.body()) {
+            assertThat(lines.iterator().next()).startsWith("id:");
+
+            // when
+            HttpResponse<String> rejected = client.send(request().build(), HttpResponse.BodyHandlers.ofString());
+
+            // then
+            assertThat(subscribed.statusCode()).isEqualTo(200);
+            assertThat(rejected.statusCode()).isEqualTo(503);
+            assertThat(rejected.headers().firstValue("Retry-After")).hasValue("1");
+        }
+    }
+
+    private HttpRequest.Builder request() {
+        return request("");
+    }
+
+    private HttpRequest.Builder request(String query) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/changes" + query))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(10));
+    }
+}
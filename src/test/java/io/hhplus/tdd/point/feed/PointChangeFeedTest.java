@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point.feed;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointChangeFeedTest {
+
+    @Test
+    @DisplayName("커서 다음 이벤트부터 순번 순서대로 읽고, 충전은 양수 사용은 음수 변화량으로 담는다")
+    void read_fromCursor() {
+        // given
+        PointChangeFeed feed = new PointChangeFeed(8);
+        ChangeCursor start = feed.cursor();
+        PointChangeEvent first = feed.publish(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L), 100L);
+        feed.publish(new PointHistory(2L, 1L, 30L, TransactionType.USE, 0L), 70L);
+        feed.publish(new PointHistory(3L, 2L, 10L, TransactionType.CHARGE, 0L), 10L);
+        long epoch = start.epoch();
+
+        // when
+        List<PointChangeEvent> events = feed.read(first.cursor(), 10);
+
+        // then
+        assertThat(events).containsExactly(
+                new PointChangeEvent(epoch, 2L, 1L, TransactionType.USE, -30L, 70L, 2L, 0L),
+                new PointChangeEvent(epoch, 3L, 2L, TransactionType.CHARGE, 10L, 10L, 3L, 0L));
+        assertThat(feed.read(start, 2)).extracting(PointChangeEvent::sequence).containsExactly(1L, 2L);
+        assertThat(feed.read(feed.cursor(), 10)).isEmpty();
+        assertThat(ChangeCursor.parse(first.cursor().value())).isEqualTo(first.cursor());
+    }
+
+    @Test
+    @DisplayName("구독자가 버퍼 크기보다 많이 뒤처지거나 다른 버퍼의 커서를 넘기면 커서가 만료된다")
+    void read_expiredCursor() {
+        // given
+        PointChangeFeed feed = new PointChangeFeed(4);
+        long epoch = feed.cursor().epoch();
+        for (long id = 1; id <= 6; id++) {
+            feed.publish(new PointHistory(id, 1L, 1L, TransactionType.CHARGE, 0L), id);
+        }
+
+        // when & then - 3번부터 6번까지만 남아 있습니다
+        assertThat(feed.read(new ChangeCursor(epoch, 2L), 10)).extracting(PointChangeEvent::sequence).containsExactly(3L, 4L, 5L, 6L);
+        assertThatThrownBy(() -> feed.read(new ChangeCursor(epoch, 1L), 10))
+                .isInstanceOf(ChangeCursorExpiredException.class)
+                .extracting(e -> ((ChangeCursorExpiredException) e).getOldestSequence())
+                .isEqualTo(3L);
+        assertThatThrownBy(() -> feed.read(new ChangeCursor(epoch, 7L), 10)).isInstanceOf(ChangeCursorExpiredException.class);
+        assertThatThrownBy(() -> feed.read(new PointChangeFeed(4).cursor(), 10)).isInstanceOf(ChangeCursorExpiredException.class);
+        assertThatThrownBy(() -> ChangeCursor.parse("6")).isInstanceOf(ChangeCursorExpiredException.class);
+    }
+
+    @Test
+    @DisplayName("보내지 못한 변경이 생겨 세대를 새로 정하면 이전 세대의 커서는 만료되고, 기다리던 구독자는 깨어난다")
+    void restart_expiresPreviousEpoch() throws InterruptedException {
+        // given
+        PointChangeFeed feed = new PointChangeFeed(8);
+        ChangeCursor before = feed.cursor();
+        PointChangeEvent delivered = feed.publish(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L), 100L);
+        CompletableFuture<Boolean> awaited = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.await(delivered.cursor(), Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // when
+        feed.restart();
+        boolean woken = awaited.join();
+        ChangeCursor after = feed.cursor();
+        feed.publish(new PointHistory(3L, 1L, 30L, TransactionType.USE, 0L), 70L);
+
+        // then
+        assertThat(woken).isTrue();
+        assertThatThrownBy(() -> feed.read(delivered.cursor(), 10)).isInstanceOf(ChangeCursorExpiredException.class);
+        assertThat(after.epoch()).isNotEqualTo(before.epoch());
+        assertThatThrownBy(() -> feed.read(before, 10)).isInstanceOf(ChangeCursorExpiredException.class);
+        assertThat(feed.read(after, 10)).extracting(PointChangeEvent::historyId).containsExactly(3L);
+        assertThat(feed.stats().restartCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 추가해도 순번은 빠짐없이 이어지고, 기다리던 구독자는 새 이벤트가 추가되면 깨어난다")
+    void publish_concurrency() throws InterruptedException {
+        // given
+        PointChangeFeed feed = new PointChangeFeed(1024);
+        ChangeCursor start = feed.cursor();
+        int threadCount = 1000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CompletableFuture<Boolean> awaited = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.await(start, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long id = i;
+            CompletableFuture.runAsync(() -> {
+                try {
+                    feed.publish(new PointHistory(id, id % 10, 1L, TransactionType.CHARGE, 0L), 1L);
+                } finally {
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+        executor.shutdown();
+
+        // then
+        assertThat(awaited.join()).isTrue();
+        assertThat(feed.read(start, threadCount)).extracting(PointChangeEvent::sequence)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, threadCount).boxed().toList());
+        assertThat(feed.stats()).isEqualTo(new PointChangeFeed.Stats(1024, threadCount, 1L, 0L));
+    }
+}
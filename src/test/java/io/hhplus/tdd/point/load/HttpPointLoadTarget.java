@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 실행 중인 서버의 포인트 API 를 HTTP 로 호출합니다.
+ * 200 이 아닌 응답은 {@link StatusException} 으로 완료됩니다.
+ */
+public class HttpPointLoadTarget implements PointLoadTarget {
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JavaType historiesType = objectMapper.getTypeFactory().constructCollectionType(List.class, PointHistory.class);
+
+    /**
+     * @param baseUri 서버 주소, 예) http://localhost:8080
+     */
+    public HttpPointLoadTarget(HttpClient httpClient, URI baseUri) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> point(long id) {
+        return send(HttpRequest.newBuilder(uri("/point/" + id)).GET().build(), objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> charge(long id, long amount) {
+        return send(patch("/point/" + id + "/charge", amount), objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> use(long id, long amount) {
+        return send(patch("/point/" + id + "/use", amount), objectMapper.constructType(UserPoint.class));
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> histories(long id) {
+        return send(HttpRequest.newBuilder(uri("/point/" + id + "/histories")).GET().build(), historiesType);
+    }
+
+    private HttpRequest patch(String path, long amount) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest request, JavaType type) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new StatusException(response.statusCode(), response.body());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), type);
+                    } catch (JsonProcessingException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * 200 이 아닌 응답
+     */
+    public static class StatusException extends RuntimeException {
+
+        private final int statusCode;
+
+        public StatusException(int statusCode, String body) {
+            super("HTTP " + statusCode + " " + body);
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP 없이 같은 프로세스의 {@link PointController} 를 직접 호출합니다.
+ * 컨트롤러는 처리 방식에 따라 요청 스레드에서 처리를 마칠 수 있으므로, 호출하는 쪽에서 요청마다 스레드를 나눠야 합니다.
+ */
+public class InProcessPointLoadTarget implements PointLoadTarget {
+
+    private final PointController pointController;
+
+    public InProcessPointLoadTarget(PointController pointController) {
+        this.pointController = pointController;
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> point(long id) {
+        return pointController.point(id);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> charge(long id, long amount) {
+        return pointController.charge(id, amount, null);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> use(long id, long amount) {
+        return pointController.use(id, amount, null);
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> histories(long id) {
+        return pointController.history(id);
+    }
+}
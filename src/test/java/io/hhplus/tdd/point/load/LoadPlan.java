@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 조건의 seed 로 미리 만든 요청 목록
+ * 요청 순서, 사용자, 금액이 seed 로만 정해지므로 같은 조건으로 다시 실행하면 같은 요청을 같은 간격으로 보냅니다.
+ */
+public final class LoadPlan {
+
+    private final LoadProfile profile;
+    private final RequestType[] types;
+    private final long[] userIds;
+    private final long[] amounts;
+
+    private LoadPlan(LoadProfile profile, RequestType[] types, long[] userIds, long[] amounts) {
+        this.profile = profile;
+        this.types = types;
+        this.userIds = userIds;
+        this.amounts = amounts;
+    }
+
+    public static LoadPlan create(LoadProfile profile) {
+        int count = profile.requestCount();
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        double[] cdf = profile.distribution() == LoadProfile.Distribution.ZIPF ? zipfCdf(profile) : null;
+
+        RequestType[] types = new RequestType[count];
+        long[] userIds = new long[count];
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            double mix = random.nextDouble();
+            types[i] = mix < profile.chargeRatio() ? RequestType.CHARGE
+                    : mix < profile.chargeRatio() + profile.useRatio() ? RequestType.USE
+                    : RequestType.READ;
+            int index = cdf == null ? random.nextInt(profile.userCount()) : sample(cdf, random.nextDouble());
+            userIds[i] = profile.firstUserId() + index;
+            amounts[i] = types[i] == RequestType.READ ? 0 : 1 + random.nextLong(profile.maxAmount());
+        }
+        return new LoadPlan(profile, types, userIds, amounts);
+    }
+
+    public LoadProfile profile() {
+        return profile;
+    }
+
+    public int size() {
+        return types.length;
+    }
+
+    public RequestType type(int index) {
+        return types[index];
+    }
+
+    public long userId(int index) {
+        return userIds[index];
+    }
+
+    public long amount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * 요청 목록에 한 번이라도 나오는 사용자 ID 를 오름차순으로 반환합니다.
+     */
+    public long[] distinctUserIds() {
+        return Arrays.stream(userIds).distinct().sorted().toArray();
+    }
+
+    /**
+     * k 번째 사용자까지의 누적 확률, k 번째 사용자의 가중치는 1/k^s 입니다.
+     */
+    private static double[] zipfCdf(LoadProfile profile) {
+        double[] cdf = new double[profile.userCount()];
+        double sum = 0;
+        for (int k = 0; k < cdf.length; k++) {
+            sum += 1 / Math.pow(k + 1, profile.zipfExponent());
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < cdf.length; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, cdf.length - 1);
+    }
+
+    public enum RequestType {
+        CHARGE, USE, READ
+    }
+}
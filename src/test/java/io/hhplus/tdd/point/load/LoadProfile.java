@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.load;
+
+import java.time.Duration;
+
+/**
+ * 부하 생성 조건
+ * 같은 조건과 seed 로 만든 요청 계획은 항상 같습니다.
+ *
+ * @param userCount 요청을 보낼 사용자 수, 사용자 ID 는 firstUserId 부터 이어집니다
+ * @param firstUserId 첫 사용자 ID
+ * @param distribution 사용자 선택 분포
+ * @param zipfExponent ZIPF 분포의 지수, 클수록 앞쪽 사용자에게 요청이 몰립니다
+ * @param chargeRatio 전체 요청 중 충전 비율
+ * @param useRatio 전체 요청 중 사용 비율, 나머지는 포인트 조회입니다
+ * @param maxAmount 충전/사용 금액의 최댓값, 금액은 1 ~ maxAmount 에서 고릅니다
+ * @param targetRps 초당 보낼 요청 수
+ * @param duration 부하를 보낼 시간
+ * @param seed 요청 계획을 만드는 난수 seed
+ */
+public record LoadProfile(
+        int userCount,
+        long firstUserId,
+        Distribution distribution,
+        double zipfExponent,
+        double chargeRatio,
+        double useRatio,
+        long maxAmount,
+        int targetRps,
+        Duration duration,
+        long seed
+) {
+
+    public LoadProfile {
+        if (userCount <= 0) {
+            throw new IllegalArgumentException("사용자 수는 0보다 커야 합니다.");
+        }
+        if (chargeRatio < 0 || useRatio < 0 || chargeRatio + useRatio > 1) {
+            throw new IllegalArgumentException("충전/사용 비율은 0 이상이고 합이 1 이하여야 합니다.");
+        }
+        if (maxAmount <= 0 || targetRps <= 0 || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("금액, 초당 요청 수, 시간은 0보다 커야 합니다.");
+        }
+    }
+
+    /**
+     * 사용자 1,000명에게 ZIPF(1.0) 분포로 충전 40%, 사용 30%, 조회 30% 를 초당 500개씩 10초 동안 보냅니다.
+     */
+    public static LoadProfile defaults() {
+        return new LoadProfile(1_000, 1L, Distribution.ZIPF, 1.0, 0.4, 0.3, 1_000L, 500, Duration.ofSeconds(10), 42L);
+    }
+
+    /**
+     * 시스템 속성 load.* 로 기본 조건을 바꿉니다.
+     * 예) -Dload.users=10000 -Dload.distribution=uniform -Dload.rps=2000 -Dload.duration=10m
+     */
+    public static LoadProfile fromSystemProperties() {
+        LoadProfile defaults = defaults();
+        return new LoadProfile(
+                Integer.getInteger("load.users", defaults.userCount()),
+                Long.getLong("load.first-user-id", defaults.firstUserId()),
+                Distribution.valueOf(System.getProperty("load.distribution", defaults.distribution().name()).toUpperCase()),
+                Double.parseDouble(System.getProperty("load.zipf-exponent", String.valueOf(defaults.zipfExponent()))),
+                Double.parseDouble(System.getProperty("load.charge-ratio", String.valueOf(defaults.chargeRatio()))),
+                Double.parseDouble(System.getProperty("load.use-ratio", String.valueOf(defaults.useRatio()))),
+                Long.getLong("load.max-amount", defaults.maxAmount()),
+                Integer.getInteger("load.rps", defaults.targetRps()),
+                Duration.parse("PT" + System.getProperty("load.duration", "10s").toUpperCase()),
+                Long.getLong("load.seed", defaults.seed())
+        );
+    }
+
+    /**
+     * 전체 요청 수
+     */
+    public int requestCount() {
+        return Math.toIntExact(duration.toMillis() * targetRps / 1_000);
+    }
+
+    /**
+     * 사용자 선택 분포
+     * - UNIFORM : 모든 사용자를 같은 확률로 고릅니다.
+     * - ZIPF : k 번째 사용자를 1/k^s 에 비례하는 확률로 고르므로, 앞쪽 사용자에게 요청이 몰립니다.
+     */
+    public enum Distribution {
+        UNIFORM, ZIPF
+    }
+}
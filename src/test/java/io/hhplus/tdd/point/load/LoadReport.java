@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.load;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 부하 실행 결과
+ * 지연 시간은 요청을 보내기로 한 시각부터 응답까지의 시간이므로, 서버가 밀려 요청을 늦게 보낸 시간도 포함합니다.
+ *
+ * @param requestCount 보낸 요청 수
+ * @param okCount 성공한 요청 수
+ * @param rejectedCount 과부하로 거절된 요청 수 (요청 수 제한, 락 대기자 수 상한, 실행기 대기열 초과, 429/503)
+ * @param failedCount 그 밖의 이유로 실패한 요청 수 (한도 초과, 잔액 부족 등)
+ * @param elapsed 첫 요청을 보낸 뒤 마지막 응답까지 걸린 시간
+ * @param p50 지연 시간 50 백분위수
+ * @param p99 지연 시간 99 백분위수
+ * @param p999 지연 시간 99.9 백분위수
+ * @param max 가장 긴 지연 시간
+ * @param violations 실행 후 포인트와 내역이 성공한 요청과 맞지 않는 사용자 목록
+ */
+public record LoadReport(
+        int requestCount,
+        long okCount,
+        long rejectedCount,
+        long failedCount,
+        Duration elapsed,
+        Duration p50,
+        Duration p99,
+        Duration p999,
+        Duration max,
+        List<String> violations
+) {
+
+    /**
+     * 초당 처리한 요청 수
+     */
+    public double throughput() {
+        return requestCount / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    public String summary() {
+        return String.format("requests %d (ok %d, rejected %d, failed %d), %.1f req/s, p50 %.2f ms, p99 %.2f ms, p999 %.2f ms, max %.2f ms, violations %d",
+                requestCount, okCount, rejectedCount, failedCount, throughput(),
+                millis(p50), millis(p99), millis(p999), millis(max), violations.size());
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,201 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.admission.RateLimitExceededException;
+import io.hhplus.tdd.point.lock.UserLockBusyException;
+import io.hhplus.tdd.point.lock.UserLockTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+import static io.hhplus.tdd.point.PointPolicy.MAX_POINT;
+
+/**
+ * 요청 계획을 목표 초당 요청 수에 맞춰 보내고, 지연 시간과 처리량을 측정한 뒤 포인트와 내역을 검증합니다.
+ * i 번째 요청은 시작 시각 + i / targetRps 에 보내며(open loop), 응답을 기다리지 않고 요청마다 가상 스레드에서 보냅니다.
+ * 실행 전과 후에 계획에 나온 사용자의 포인트와 내역을 읽어, 성공한 충전/사용만큼 포인트와 내역이 늘었는지 확인합니다.
+ * 실행하는 동안 다른 곳에서 같은 사용자의 포인트를 바꾸지 않아야 합니다.
+ */
+public class PointLoadGenerator {
+
+    private static final int CHARGE_AMOUNT = 0;
+    private static final int CHARGE_COUNT = 1;
+    private static final int USE_AMOUNT = 2;
+    private static final int USE_COUNT = 3;
+
+    private final PointLoadTarget target;
+
+    public PointLoadGenerator(PointLoadTarget target) {
+        this.target = target;
+    }
+
+    public LoadReport run(LoadPlan plan) throws InterruptedException {
+        LoadProfile profile = plan.profile();
+        long[] userIds = plan.distinctUserIds();
+        List<UserPoint> beforePoints = fetchAll(userIds, target::point);
+        List<List<PointHistory>> beforeHistories = fetchAll(userIds, target::histories);
+
+        int count = plan.size();
+        long[] latencies = new long[count];
+        AtomicLongArray succeeded = new AtomicLongArray(profile.userCount() * 4);
+        LongAdder okCount = new LongAdder();
+        LongAdder rejectedCount = new LongAdder();
+        LongAdder failedCount = new LongAdder();
+        CountDownLatch done = new CountDownLatch(count);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.targetRps();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                long scheduled = start + i * intervalNanos;
+                for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.execute(() -> send(plan, index).whenComplete((userPoint, e) -> {
+                    latencies[index] = System.nanoTime() - scheduled;
+                    if (e == null) {
+                        okCount.increment();
+                        record(plan, index, succeeded);
+                    } else if (isRejected(e)) {
+                        rejectedCount.increment();
+                    } else {
+                        failedCount.increment();
+                    }
+                    done.countDown();
+                }));
+            }
+            done.await();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<String> violations = verify(plan, userIds, beforePoints, beforeHistories, succeeded);
+        Arrays.sort(latencies);
+        return new LoadReport(count, okCount.sum(), rejectedCount.sum(), failedCount.sum(), Duration.ofNanos(elapsed),
+                percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                percentile(latencies, 1.0), violations);
+    }
+
+    private CompletableFuture<UserPoint> send(LoadPlan plan, int index) {
+        long userId = plan.userId(index);
+        try {
+            return switch (plan.type(index)) {
+                case CHARGE -> target.charge(userId, plan.amount(index));
+                case USE -> target.use(userId, plan.amount(index));
+                case READ -> target.point(userId);
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static void record(LoadPlan plan, int index, AtomicLongArray succeeded) {
+        int offset = (int) (plan.userId(index) - plan.profile().firstUserId()) * 4;
+        switch (plan.type(index)) {
+            case CHARGE -> {
+                succeeded.addAndGet(offset + CHARGE_AMOUNT, plan.amount(index));
+                succeeded.incrementAndGet(offset + CHARGE_COUNT);
+            }
+            case USE -> {
+                succeeded.addAndGet(offset + USE_AMOUNT, plan.amount(index));
+                succeeded.incrementAndGet(offset + USE_COUNT);
+            }
+            case READ -> {
+            }
+        }
+    }
+
+    /**
+     * 사용자마다 다음을 확인합니다.
+     * - 포인트 = 실행 전 포인트 + 성공한 충전 합계 - 성공한 사용 합계
+     * - 실행 중 늘어난 내역의 충전/사용 합계와 횟수 = 성공한 충전/사용 합계와 횟수
+     * - 0 <= 포인트 <= 최대 포인트
+     */
+    private List<String> verify(LoadPlan plan, long[] userIds, List<UserPoint> beforePoints,
+                                List<List<PointHistory>> beforeHistories, AtomicLongArray succeeded) {
+        List<UserPoint> afterPoints = fetchAll(userIds, target::point);
+        List<List<PointHistory>> afterHistories = fetchAll(userIds, target::histories);
+
+        List<String> violations = new ArrayList<>();
+        for (int i = 0; i < userIds.length; i++) {
+            long userId = userIds[i];
+            int offset = (int) (userId - plan.profile().firstUserId()) * 4;
+            long chargeAmount = succeeded.get(offset + CHARGE_AMOUNT);
+            long useAmount = succeeded.get(offset + USE_AMOUNT);
+
+            long lastHistoryId = beforeHistories.get(i).stream().mapToLong(PointHistory::id).max().orElse(0L);
+            List<PointHistory> written = afterHistories.get(i).stream().filter(history -> history.id() > lastHistoryId).toList();
+            long[] historyTotals = new long[4];
+            for (PointHistory history : written) {
+                int base = history.type() == TransactionType.CHARGE ? CHARGE_AMOUNT : USE_AMOUNT;
+                historyTotals[base] += history.amount();
+                historyTotals[base + 1]++;
+            }
+
+            long point = afterPoints.get(i).point();
+            long expected = beforePoints.get(i).point() + chargeAmount - useAmount;
+            if (point != expected) {
+                violations.add("userId=" + userId + " 포인트 " + point + ", 성공한 요청으로 계산한 포인트 " + expected);
+            }
+            if (historyTotals[CHARGE_AMOUNT] != chargeAmount || historyTotals[CHARGE_COUNT] != succeeded.get(offset + CHARGE_COUNT)
+                    || historyTotals[USE_AMOUNT] != useAmount || historyTotals[USE_COUNT] != succeeded.get(offset + USE_COUNT)) {
+                violations.add("userId=" + userId + " 내역 " + Arrays.toString(historyTotals) + ", 성공한 요청 [" + chargeAmount + ", "
+                        + succeeded.get(offset + CHARGE_COUNT) + ", " + useAmount + ", " + succeeded.get(offset + USE_COUNT) + "]");
+            }
+            if (point < 0 || point > MAX_POINT) {
+                violations.add("userId=" + userId + " 포인트 " + point + " 가 허용 범위를 벗어났습니다");
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * 사용자마다 가상 스레드에서 동시에 조회합니다.
+     */
+    private static <T> List<T> fetchAll(long[] userIds, LongFunction<CompletableFuture<T>> fetch) {
+        List<CompletableFuture<T>> results = new ArrayList<>(userIds.length);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long userId : userIds) {
+                results.add(CompletableFuture.supplyAsync(() -> fetch.apply(userId), executor).thenCompose(result -> result));
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("검증할 포인트와 내역을 읽지 못했습니다.", e.getCause());
+        }
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static boolean isRejected(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof HttpPointLoadTarget.StatusException statusException) {
+            return statusException.getStatusCode() == 429 || statusException.getStatusCode() == 503;
+        }
+        return cause instanceof RateLimitExceededException
+                || cause instanceof UserLockBusyException
+                || cause instanceof UserLockTimeoutException
+                || cause instanceof RejectedExecutionException;
+    }
+
+    private static Duration percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(index, 0)]);
+    }
+}
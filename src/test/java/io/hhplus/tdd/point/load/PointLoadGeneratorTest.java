@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.Throttle;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryExporter;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointLoadGeneratorTest {
+
+    private static final LoadProfile PROFILE = new LoadProfile(100, 1L, LoadProfile.Distribution.ZIPF, 1.0,
+            0.5, 0.3, 1_000L, 1_000, Duration.ofSeconds(1), 7L);
+
+    @Test
+    @DisplayName("같은 조건과 seed 로 만든 요청 계획은 같고, ZIPF 분포는 앞쪽 사용자에게 요청이 몰린다")
+    void create_deterministic() {
+        // given
+        LoadPlan plan = LoadPlan.create(PROFILE);
+
+        // when
+        LoadPlan replayed = LoadPlan.create(PROFILE);
+        LoadPlan uniform = LoadPlan.create(new LoadProfile(100, 1L, LoadProfile.Distribution.UNIFORM, 1.0,
+                0.5, 0.3, 1_000L, 1_000, Duration.ofSeconds(1), 7L));
+
+        // then
+        assertThat(plan.size()).isEqualTo(1_000);
+        assertThat(IntStream.range(0, plan.size()))
+                .allMatch(i -> plan.type(i) == replayed.type(i)
+                        && plan.userId(i) == replayed.userId(i)
+                        && plan.amount(i) == replayed.amount(i));
+        assertThat(countRequests(plan, 1L)).isGreaterThan(100).isGreaterThan(countRequests(uniform, 1L) * 5);
+    }
+
+    @Test
+    @DisplayName("락, CAS, SHARDED 방식 모두 부하를 보낸 뒤 포인트와 내역이 성공한 요청과 일치한다")
+    void run_inProcess_invariantsHold() throws InterruptedException {
+        for (PointProperties.EngineType type : PointProperties.EngineType.values()) {
+            // given
+            PointService pointService = pointService(type);
+            PointLoadGenerator generator = new PointLoadGenerator(new InProcessPointLoadTarget(controller(pointService)));
+
+            // when
+            LoadReport report = generator.run(LoadPlan.create(PROFILE));
+
+            // then
+            assertThat(report.requestCount()).isEqualTo(1_000);
+            assertThat(report.okCount() + report.rejectedCount() + report.failedCount()).isEqualTo(1_000L);
+            assertThat(report.violations()).isEmpty();
+            assertThat(report.p50()).isLessThanOrEqualTo(report.p99()).isLessThanOrEqualTo(report.p999());
+            pointService.close();
+        }
+    }
+
+    @Test
+    @DisplayName("성공으로 응답하고 반영하지 않은 충전이 있으면 검증에서 찾아낸다")
+    void run_detectsLostUpdate() throws InterruptedException {
+        // given - 10번째 충전마다 반영하지 않고 성공으로 응답하는 대상
+        PointService pointService = pointService(PointProperties.EngineType.LOCK);
+        InProcessPointLoadTarget delegate = new InProcessPointLoadTarget(controller(pointService));
+        PointLoadTarget lossy = new PointLoadTarget() {
+            private int chargeCount;
+
+            @Override
+            public CompletableFuture<UserPoint> point(long id) {
+                return delegate.point(id);
+            }
+
+            @Override
+            public synchronized CompletableFuture<UserPoint> charge(long id, long amount) {
+                if (++chargeCount % 10 == 0) {
+                    return CompletableFuture.completedFuture(new UserPoint(id, amount, 0L));
+                }
+                return delegate.charge(id, amount);
+            }
+
+            @Override
+            public CompletableFuture<UserPoint> use(long id, long amount) {
+                return delegate.use(id, amount);
+            }
+
+            @Override
+            public CompletableFuture<List<PointHistory>> histories(long id) {
+                return delegate.histories(id);
+            }
+        };
+
+        // when
+        LoadReport report = new PointLoadGenerator(lossy).run(LoadPlan.create(PROFILE));
+
+        // then
+        assertThat(report.violations()).isNotEmpty();
+    }
+
+    private static long countRequests(LoadPlan plan, long userId) {
+        return IntStream.range(0, plan.size()).filter(i -> plan.userId(i) == userId).count();
+    }
+
+    private static PointService pointService(PointProperties.EngineType type) {
+        PointProperties pointProperties = new PointProperties();
+        pointProperties.getEngine().setType(type);
+        pointProperties.getEngine().setShards(4);
+        PointService pointService = PointService.builder(new UserPointTable(Throttle.NONE), new PointHistoryTable(Throttle.NONE))
+                .pointProperties(pointProperties)
+                .build();
+        pointService.start();
+        return pointService;
+    }
+
+    private static PointController controller(PointService pointService) {
+        return new PointController(pointService, new PointHistoryExporter(pointService, new ObjectMapper()));
+    }
+}
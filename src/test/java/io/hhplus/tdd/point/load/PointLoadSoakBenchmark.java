@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.TddApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 포인트 API 에 HTTP 로 부하를 보내고, 지연 시간과 처리량을 출력한 뒤 포인트와 내역을 검증합니다.
+ * 성능에 영향을 주는 변경을 배포하기 전에 실행합니다.
+ * -Dload.url 을 주면 실행 중인 서버에, 주지 않으면 이 테스트가 띄운 서버에 부하를 보냅니다. 부하 조건은 {@link LoadProfile#fromSystemProperties()} 를 봐 주세요.
+ * 이 테스트가 띄우는 서버에는 -Dload.args 로 설정을 넘길 수 있습니다. 예) -Dload.args="--point.engine.type=cas --point.async.enabled=true"
+ * ./gradlew benchmark --tests '*PointLoadSoakBenchmark' -Dload.duration=10m 로 실행합니다.
+ */
+@Tag("benchmark")
+class PointLoadSoakBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLoadSoakBenchmark.class);
+
+    @Test
+    @DisplayName("목표 초당 요청 수로 부하를 보낸 뒤 포인트와 내역이 성공한 요청과 일치한다")
+    void soak() throws InterruptedException {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        LoadPlan plan = LoadPlan.create(profile);
+        log.info("profile : {}", profile);
+
+        String url = System.getProperty("load.url");
+        LoadReport report;
+        if (url != null) {
+            report = run(URI.create(url), plan);
+        } else {
+            String[] args = ("--server.port=0 " + System.getProperty("load.args", "")).trim().split("\\s+");
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class).run(args)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                report = run(URI.create("http://localhost:" + port), plan);
+            }
+        }
+
+        log.info("report  : {}", report.summary());
+        report.violations().stream().limit(20).forEach(violation -> log.warn("  {}", violation));
+        assertThat(report.violations()).isEmpty();
+    }
+
+    private static LoadReport run(URI baseUri, LoadPlan plan) throws InterruptedException {
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+            return new PointLoadGenerator(new HttpPointLoadTarget(client, baseUri)).run(plan);
+        }
+    }
+}
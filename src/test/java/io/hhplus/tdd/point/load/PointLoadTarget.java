@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.load;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 부하를 보낼 포인트 API
+ * 요청이 거절되거나 실패하면 결과는 예외로 완료됩니다.
+ */
+public interface PointLoadTarget {
+
+    CompletableFuture<UserPoint> point(long id);
+
+    CompletableFuture<UserPoint> charge(long id, long amount);
+
+    CompletableFuture<UserPoint> use(long id, long amount);
+
+    CompletableFuture<List<PointHistory>> histories(long id);
+}
@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLockManagerTest {
+
+    @Test
+    @DisplayName("참조 횟수 방식은 락을 사용하는 스레드가 없으면 락을 제거한다.")
+    void refCounted_removesUncontendedLock() throws InterruptedException {
+        // given
+        RefCountedUserLockManager lockManager = new RefCountedUserLockManager(false, Duration.ZERO);
+        int threadCount = 100;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        long[] counter = {0};
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 5;
+            CompletableFuture.runAsync(() -> {
+                UserLock lock = lockManager.lock(userId);
+                try {
+                    if (userId == 0) {
+                        counter[0]++;
+                    }
+                } finally {
+                    lock.unlock();
+                    latch.countDown();
+                }
+            }, executor);
+        }
+        latch.await();
+
+        // then
+        assertThat(counter[0]).isEqualTo(threadCount / 5);
+        assertThat(lockManager.size()).isZero();
+        assertThat(lockManager.stats().acquireCount()).isEqualTo(threadCount);
+    }
+
+    @Test
+    @DisplayName("스트라이프 방식은 사용자 수와 관계없이 정해진 개수의 락만 사용한다.")
+    void striped_boundedStripes() {
+        // given
+        StripedUserLockManager lockManager = new StripedUserLockManager(100, false, Duration.ZERO);
+
+        // when & then
+        assertThat(lockManager.stripeCount()).isEqualTo(128);
+        for (long userId = 0; userId < 10_000; userId++) {
+            assertThat(lockManager.stripeIndex(userId)).isBetween(0, 127);
+        }
+    }
+
+    @Test
+    @DisplayName("두 사용자의 락을 서로 반대 순서로 요청해도 교착 상태 없이 모두 획득한다.")
+    void lockBoth_noDeadlock() throws InterruptedException {
+        // given
+        StripedUserLockManager lockManager = new StripedUserLockManager(4, false, Duration.ZERO);
+        int threadCount = 1_000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        long[] counter = {0};
+
+        // when - 같은 락을 쓰는 사용자 쌍도 섞어서 요청
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 8;
+            long otherUserId = 7 - userId;
+            CompletableFuture.runAsync(() -> {
+                UserLock lock = lockManager.lock(userId, otherUserId);
+                try {
+                    if (userId == 0 || otherUserId == 0) {
+                        counter[0]++;
+                    }
+                } finally {
+                    lock.unlock();
+                    latch.countDown();
+                }
+            }, executor);
+        }
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(counter[0]).isEqualTo(threadCount / 4);
+    }
+
+    @Test
+    @DisplayName("제한 시간 안에 락을 획득하지 못하면 예외가 발생하고 락은 남지 않는다.")
+    void lock_timeout() throws Exception {
+        // given
+        RefCountedUserLockManager lockManager = new RefCountedUserLockManager(false, Duration.ofMillis(50));
+        UserLock lock = lockManager.lock(1L);
+
+        // when & then
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> lockManager.lock(1L));
+        assertThatThrownBy(other::join).hasCauseInstanceOf(UserLockTimeoutException.class);
+        assertThat(lockManager.stats().timeoutCount()).isEqualTo(1L);
+
+        lock.unlock();
+        assertThat(lockManager.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("락을 기다리는 스레드가 최대 대기자 수에 도달하면 기다리지 않고 바로 실패한다.")
+    void lock_maxWaiters() throws Exception {
+        // given
+        StripedUserLockManager lockManager = new StripedUserLockManager(16, false, Duration.ZERO, 2);
+        UserLock lock = lockManager.lock(1L);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch acquired = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture.runAsync(() -> {
+                lockManager.lock(1L).unlock();
+                acquired.countDown();
+            }, executor);
+        }
+        while (lockManager.obtain(1L).getQueueLength() < 2) {
+            Thread.onSpinWait();
+        }
+
+        // when & then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> CompletableFuture.runAsync(() -> lockManager.lock(1L)).join())
+                .hasCauseInstanceOf(UserLockBusyException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(lockManager.stats().busyCount()).isEqualTo(1L);
+
+        lock.unlock();
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.Throttle;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PointMetrics pointMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pointMetrics = new PointMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청 수는 사용자별로 기록되고, 처리가 끝나면 제거된다.")
+    void enterAndExit_tracksInFlightPerUser() {
+        // given
+        long first = pointMetrics.enter(1L);
+        long second = pointMetrics.enter(1L);
+        long other = pointMetrics.enter(2L);
+
+        // when & then
+        assertThat(pointMetrics.inFlight(1L)).isEqualTo(2);
+        assertThat(pointMetrics.topInFlight(1)).containsOnlyKeys(1L);
+        assertThat(registry.get("point.inflight").gauge().value()).isEqualTo(3.0);
+
+        pointMetrics.exit(PointMetrics.Operation.CHARGE, 1L, first);
+        pointMetrics.exit(PointMetrics.Operation.CHARGE, 1L, second);
+        pointMetrics.exit(PointMetrics.Operation.GET, 2L, other);
+
+        assertThat(pointMetrics.inFlight(1L)).isZero();
+        assertThat(registry.get("point.inflight.users").gauge().value()).isZero();
+        assertThat(registry.get("point.operation").tag("operation", "charge").timer().count()).isEqualTo(2L);
+        assertThat(registry.get("point.operation").tag("operation", "get").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("충전/사용 시 락, 테이블 호출 시간과 거절 사유별 횟수를 기록한다.")
+    void pointService_recordsLockTableAndRejections() {
+        // given
+        PointService pointService = PointService.builder(new UserPointTable(Throttle.NONE), new PointHistoryTable(Throttle.NONE))
+                .pointProperties(new PointProperties())
+                .pointMetrics(pointMetrics)
+                .build();
+        long id = 1L;
+
+        // when
+        pointService.chargeUserPoint(id, 100L);
+        assertThatThrownBy(() -> pointService.useUserPoint(id, 101L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pointService.chargeUserPoint(id, Long.MAX_VALUE)).isInstanceOf(IllegalArgumentException.class);
+
+        // then
+        assertThat(registry.get("point.lock.wait").timer().count()).isEqualTo(3L);
+        assertThat(registry.get("point.lock.hold").timer().count()).isEqualTo(3L);
+        assertThat(registry.get("point.table").tag("call", "user_point_select").timer().count()).isEqualTo(3L);
+        assertThat(registry.get("point.table").tag("call", "user_point_upsert").timer().count()).isEqualTo(1L);
+        assertThat(registry.get("point.table").tag("call", "history_insert").timer().count()).isEqualTo(1L);
+        assertThat(registry.get("point.rejection").tag("reason", "insufficient_balance").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("point.rejection").tag("reason", "max_point").counter().count()).isEqualTo(1.0);
+        assertThat(pointMetrics.inFlight(id)).isZero();
+    }
+}